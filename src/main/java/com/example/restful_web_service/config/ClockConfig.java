@@ -0,0 +1,20 @@
+package com.example.restful_web_service.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * The one clock the application reads "today" from. Passport expiry is decided against it, never against the
+ * database's {@code current_date}, so the flag written with a row, the nightly sweep and the date-scoped ETags
+ * agree even when the database runs in another time zone.
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.restful_web_service.config;
+
+import com.example.restful_web_service.controller.etag.ConditionalGet;
+import com.example.restful_web_service.controller.etag.ETags;
+import com.example.restful_web_service.service.TableChangeCounter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ConditionalGetInterceptor implements AsyncHandlerInterceptor {
+    private static final String PINNED_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".pinned";
+
+    private final TableChangeCounter tableChangeCounter;
+    private final Clock clock;
+    private final Logger logger = LogManager.getLogger(ConditionalGetInterceptor.class);
+
+    @Autowired
+    public ConditionalGetInterceptor(TableChangeCounter tableChangeCounter, Clock clock) {
+        this.tableChangeCounter = tableChangeCounter;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        // Bodies are negotiated between JSON, CBOR and Smile, so shared caches have to keep the encodings apart and
+        // the ETags name the encoding too. Error dispatches pass through here again with the same response.
+        if (!response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null) {
+            return true;
+        }
+        // The table counters are read from the primary, so the body they tag has to come from there as well: a
+        // lagging replica would otherwise serve an older body under a newer ETag.
+        if (!ReplicaRoutingDataSource.isPinnedToPrimary()) {
+            ReplicaRoutingDataSource.pinToPrimary();
+            request.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE);
+        }
+        String etag = ETags.ofTables(conditionalGet.value(), tableChangeCounter.getVersions(),
+                conditionalGet.daily() ? LocalDate.now(clock) : null, request.getHeader(HttpHeaders.ACCEPT));
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            logger.debug("Not modified: {} {}", request.getRequestURI(), etag);
+            unpin(request);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        unpin(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        unpin(request);
+    }
+
+    // Only releases a pin taken here; one set by ReadYourWritesFilter outlives the handler.
+    private void unpin(HttpServletRequest request) {
+        if (request.getAttribute(PINNED_ATTRIBUTE) != null) {
+            request.removeAttribute(PINNED_ATTRIBUTE);
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+}
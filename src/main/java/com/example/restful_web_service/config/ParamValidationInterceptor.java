@@ -0,0 +1,88 @@
+package com.example.restful_web_service.config;
+
+import com.example.restful_web_service.controller.validation.ValidParam;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ParamValidationInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Logger logger = LogManager.getLogger(ParamValidationInterceptor.class);
+
+    @Autowired
+    public ParamValidationInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            ValidParam validParam = parameter.getParameterAnnotation(ValidParam.class);
+            if (validParam == null) {
+                continue;
+            }
+            String name = getParameterName(parameter);
+            String value = getParameterValue(request, parameter, name);
+            if (value != null && !validParam.value().isValid(value)) {
+                Counter.builder("http.server.requests.rejected").
+                        description("Requests rejected by parameter validation before reaching a service").
+                        tag("handler", handlerMethod.getBeanType().getSimpleName() + "." +
+                                handlerMethod.getMethod().getName()).
+                        tag("param", name).
+                        register(meterRegistry).
+                        increment();
+                logger.warn("Rejected request {}: invalid {}: {}", request.getRequestURI(), name, value);
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + name + ": " + value);
+            }
+        }
+        return true;
+    }
+
+    private String getParameterName(MethodParameter parameter) {
+        PathVariable pathVariable = parameter.getParameterAnnotation(PathVariable.class);
+        if (pathVariable != null && !pathVariable.name().isEmpty()) {
+            return pathVariable.name();
+        }
+        RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+        if (requestParam != null && !requestParam.name().isEmpty()) {
+            return requestParam.name();
+        }
+        parameter.initParameterNameDiscovery(parameterNameDiscoverer);
+        return parameter.getParameterName();
+    }
+
+    @SuppressWarnings("unchecked")
+    private String getParameterValue(HttpServletRequest request, MethodParameter parameter, String name) {
+        if (parameter.hasParameterAnnotation(PathVariable.class)) {
+            Map<String, String> pathVariables = (Map<String, String>) request.
+                    getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            return pathVariables == null ? null : pathVariables.get(name);
+        }
+        return request.getParameter(name);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.restful_web_service.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the statements each request sends to the database and records them as {@code http.server.requests.queries}.
+ * Requests above {@code queries.budget} are logged, which is how a lazy association loaded once per row (N+1)
+ * shows up long before it shows up in latency. Only the request thread is counted: the NDJSON exports stream from
+ * an executor thread and are not included.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    static final String METRIC_NAME = "http.server.requests.queries";
+
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+    Logger logger = LogManager.getLogger(QueryBudgetFilter.class);
+
+    @Autowired
+    public QueryBudgetFilter(MeterRegistry meterRegistry, @Value("${queries.budget:10}") int budget) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long queries = QueryCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            DistributionSummary.builder(METRIC_NAME).
+                    description("SQL statements executed per HTTP request").
+                    tag("method", request.getMethod()).
+                    tag("uri", uri).
+                    register(meterRegistry).
+                    record(queries);
+            if (queries > budget) {
+                logger.warn("{} {} executed {} queries, budget is {}", request.getMethod(), request.getRequestURI(),
+                        queries, budget);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.restful_web_service.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()} and {@link #stop()}.
+ * Registered as the session factory's statement inspector, so every JPA query, lazy load, flush and native query
+ * passes through it; plain {@code JdbcTemplate} calls bypass Hibernate and are not counted. Outside a counting
+ * window statements are passed through untouched.
+ */
+public class QueryCounter implements StatementInspector {
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new long[1]);
+    }
+
+    public static long current() {
+        long[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    public static long stop() {
+        long count = current();
+        COUNT.remove();
+        return count;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
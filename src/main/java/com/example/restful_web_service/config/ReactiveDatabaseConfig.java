@@ -0,0 +1,47 @@
+package com.example.restful_web_service.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC access for the reactive stack. The pool is deliberately not a {@code ConnectionFactory} bean: Spring Boot
+ * backs off the JDBC DataSource when one exists, and Flyway still migrates the schema over JDBC.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDatabaseConfig {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveDatabaseConfig(@Value("${spring.r2dbc.url}") String url,
+                                  @Value("${spring.r2dbc.username}") String username,
+                                  @Value("${spring.r2dbc.password}") String password,
+                                  @Value("${spring.r2dbc.pool.max-size:10}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate().
+                option(ConnectionFactoryOptions.USER, username).
+                option(ConnectionFactoryOptions.PASSWORD, password).
+                build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.
+                builder(ConnectionFactories.get(options)).
+                maxSize(maxSize).
+                build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.restful_web_service.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Sends connections of read-only transactions to a replica and everything else to the primary. Among the
+ * replicas the one with the fewest active connections wins; ties are broken round-robin, so idle replicas share
+ * the load evenly. A thread pinned with {@link #pinToPrimary()} reads from the primary too, which is how a
+ * client sees its own writes before they reach the replicas.
+ * <p>
+ * The decision is taken when the physical connection is fetched, so this has to sit behind a
+ * {@code LazyConnectionDataSourceProxy}: the transaction manager asks for a connection before it marks the
+ * transaction read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final List<DataSource> replicas;
+    private final ToIntFunction<DataSource> activeConnections;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    ToIntFunction<DataSource> activeConnections) {
+        this.replicas = List.copyOf(replicas);
+        this.activeConnections = activeConnections;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(i, this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    /**
+     * Runs {@code read} on the primary, for results that outlive the request, such as cache entries: a lagging
+     * replica would keep serving them stale.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (isPinnedToPrimary()) {
+            return read.get();
+        }
+        pinToPrimary();
+        try {
+            return read.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    /**
+     * Carries the submitting thread's pin over to {@code task}, which runs on another thread, such as a streamed
+     * export.
+     */
+    public static Runnable propagatePin(Runnable task) {
+        if (!isPinnedToPrimary()) {
+            return task;
+        }
+        return () -> onPrimary(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || isPinnedToPrimary() ||
+                !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        return leastLoadedReplica();
+    }
+
+    private int leastLoadedReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        int best = start;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            int candidate = (start + i) % size;
+            int active = activeConnections.applyAsInt(replicas.get(candidate));
+            if (active < bestActive) {
+                best = candidate;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Closes the replica pools; the primary is a bean of its own and closed by the context.
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.restful_web_service.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ParamValidationInterceptor paramValidationInterceptor;
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Autowired
+    public WebConfig(ParamValidationInterceptor paramValidationInterceptor,
+                     ConditionalGetInterceptor conditionalGetInterceptor) {
+        this.paramValidationInterceptor = paramValidationInterceptor;
+        this.conditionalGetInterceptor = conditionalGetInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(paramValidationInterceptor);
+        registry.addInterceptor(conditionalGetInterceptor);
+    }
+
+    /**
+     * Binary alternatives to JSON for service-to-service callers, chosen by {@code Accept: application/cbor} or
+     * {@code application/x-jackson-smile}. Both are built from the same Jackson configuration as the JSON
+     * converter, so the DTO classes stay the only schema; JSON remains the default for {@code *}{@code /*}.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -1,44 +1,77 @@
 package com.example.restful_web_service.controller;
 
+import com.example.restful_web_service.controller.dto.CursorPageDto;
+import com.example.restful_web_service.controller.dto.GroupCountDto;
 import com.example.restful_web_service.controller.dto.UserCarDto;
+import com.example.restful_web_service.controller.etag.ConditionalGet;
+import com.example.restful_web_service.controller.etag.ETags;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.NdjsonMapper;
 import com.example.restful_web_service.controller.mapper.UserCarMapper;
+import com.example.restful_web_service.controller.validation.CharacterScanner;
+import com.example.restful_web_service.controller.validation.ParamRule;
+import com.example.restful_web_service.controller.validation.RequestValidator;
+import com.example.restful_web_service.controller.validation.ValidParam;
 import com.example.restful_web_service.entity.UserCar;
+import com.example.restful_web_service.service.RecordCounter;
 import com.example.restful_web_service.service.UserCarService;
-import org.apache.log4j.Logger;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/users/car")
 public class UserCarController {
 
     private final UserCarMapper userCarMapper;
+    private final CursorMapper cursorMapper;
     private final UserCarService userCarService;
-    Logger logger = Logger.getLogger(UserCarController.class);
+    private final NdjsonMapper ndjsonMapper;
+    private final RequestValidator requestValidator;
+    Logger logger = LogManager.getLogger(UserCarController.class);
 
-    public UserCarController(UserCarMapper userCarMapper, UserCarService userCarService) {
+    public UserCarController(UserCarMapper userCarMapper, CursorMapper cursorMapper, UserCarService userCarService,
+                             NdjsonMapper ndjsonMapper, RequestValidator requestValidator) {
         this.userCarMapper = userCarMapper;
+        this.cursorMapper = cursorMapper;
         this.userCarService = userCarService;
+        this.ndjsonMapper = ndjsonMapper;
+        this.requestValidator = requestValidator;
     }
 
+    @ConditionalGet(RecordCounter.Table.USER_CAR)
     @GetMapping
-    public List<UserCarDto> getAllInformationUserCar() {
+    public CursorPageDto<UserCarDto> getAllInformationUserCar(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "100") Integer limit) {
+        requestValidator.validatePageLimit(limit);
+        Integer afterId = toCursorId(cursor);
         try {
-            List<UserCar> userCars = userCarService.getAllInformationUserCar();
-            if (userCars.isEmpty()) {
+            List<UserCarDto> userCars = userCarService.getUserCarsAfterId(afterId, limit + 1);
+            if (userCars.isEmpty() && cursor == null) {
                 logger.warn("No user car information is empty");
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No user car information is empty");
             }
-            logger.info("All information retrieved from data base");
-            return userCars.
-                    stream().
-                    map(userCarMapper::toDto).
-                    collect(Collectors.toList());
+            boolean hasNextPage = userCars.size() > limit;
+            List<UserCarDto> page = hasNextPage ? userCars.subList(0, limit) : userCars;
+            String nextCursor = hasNextPage ? cursorMapper.toCursor(page.get(page.size() - 1).getId()) : null;
+            logger.info("Page of user cars retrieved from data base");
+            return new CursorPageDto<>(page, nextCursor);
         } catch (Exception e) {
             logger.error("Error get all information from data base");
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
@@ -46,40 +79,115 @@ public class UserCarController {
         }
     }
 
+    @ConditionalGet(RecordCounter.Table.USER_CAR)
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllInformationUserCar() {
+        logger.info("Streaming export of user cars started");
+        StreamingResponseBody body = outputStream -> userCarService.exportAllInformationUserCar(userCar ->
+                ndjsonMapper.writeLine(outputStream, userCarMapper.toDto(userCar)));
+        return ResponseEntity.ok().
+                contentType(MediaType.APPLICATION_NDJSON).
+                body(body);
+    }
+
+    @GetMapping("/count")
+    public Long getUserCarCount(@RequestParam(defaultValue = "false") boolean approximate) {
+        try {
+            Long count = approximate ? userCarService.getApproximateUserCarCount() :
+                    userCarService.getUserCarCount();
+            if (count == 0) {
+                logger.warn("No user cars found in the Data Base");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User cars not found");
+            }
+            logger.info("Number of user cars in the database: {}", count);
+            return count;
+        } catch (Exception e) {
+            logger.error("Error getting information by user car count: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    @ConditionalGet(RecordCounter.Table.USER_CAR)
+    @GetMapping("/stats/brand")
+    public List<GroupCountDto> getUserCarCountByBrand() {
+        try {
+            Map<String, Long> counts = userCarService.getUserCarCountByBrand();
+            if (counts.isEmpty()) {
+                logger.warn("No user cars found in the Data Base");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User cars not found");
+            }
+            logger.info("Number of user cars by brand retrieved: {} groups", counts.size());
+            return toGroupCounts(counts);
+        } catch (Exception e) {
+            logger.error("Error getting user cars by brand: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Error getting user cars by brand: " + e.getMessage());
+        }
+    }
+
+    @ConditionalGet(RecordCounter.Table.USER_CAR)
+    @GetMapping("/stats/graduationYear")
+    public List<GroupCountDto> getUserCarCountByGraduationYear() {
+        try {
+            Map<String, Long> counts = userCarService.getUserCarCountByGraduationYear();
+            if (counts.isEmpty()) {
+                logger.warn("No user cars found in the Data Base");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User cars not found");
+            }
+            logger.info("Number of user cars by graduation year retrieved: {} groups", counts.size());
+            return toGroupCounts(counts);
+        } catch (Exception e) {
+            logger.error("Error getting user cars by graduation year: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Error getting user cars by graduation year: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/{vinCode}")
-    public UserCarDto getUserCarByVinCode(@PathVariable String vinCode) {
+    public UserCarDto getUserCarByVinCode(@PathVariable @ValidParam(ParamRule.ALPHANUMERIC) String vinCode,
+                                          WebRequest webRequest) {
         try {
-            UserCar userCars = userCarService.getUserCarByVinCode(vinCode);
             if (vinCode.isEmpty()) {
                 logger.warn("No user car information is empty");
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "No user car information is empty");
             }
-            if (!vinCode.matches("^[A-Za-z0-9]+$")) {
+            if (!CharacterScanner.isAlphanumeric(vinCode)) {
                 logger.warn("VIN code contains invalid characters");
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "VIN code contains invalid characters");
             }
+            UserCar userCars = userCarService.getUserCarByVinCode(vinCode);
+            if (userCars != null &&
+                    webRequest.checkNotModified(ETags.ofEntity(userCars.getId(), userCars.getVersion(),
+                            webRequest.getHeader(HttpHeaders.ACCEPT)))) {
+                return null;
+            }
             return userCarMapper.toDto(userCars);
         } catch (Exception e) {
-            logger.error("Error getting information by vin code: " + vinCode);
+            logger.error("Error getting information by vin code: {}", vinCode);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         }
     }
 
     @GetMapping("/graduationYear/{graduationYear}")
-    public UserCarDto getUserCarByGraduationYear(@PathVariable Integer graduationYear) {
+    public UserCarDto getUserCarByGraduationYear(@PathVariable @ValidParam(ParamRule.YEAR) Integer graduationYear,
+                                                 WebRequest webRequest) {
         try {
+            if (!CharacterScanner.isFourDigits(graduationYear)) {
+                logger.warn("Graduation year has invalid format: {}", graduationYear);
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Graduation year has invalid format: " + graduationYear);
+            }
             Optional<UserCar> userCarOptional = userCarService.getUserCarByGraduationYear(graduationYear);
             UserCar userCar = userCarOptional.orElseThrow(() -> {
-                logger.warn("User car information with this graduation year: " + graduationYear + " not found");
+                logger.warn("User car information with this graduation year: {} not found", graduationYear);
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "User car information with this graduation year: " + graduationYear + " not found");
             });
-            if (!graduationYear.toString().matches("^\\d{4}$")) {
-                logger.warn("Graduation year has invalid format: " + graduationYear);
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Graduation year has invalid format: " + graduationYear);
+            if (webRequest.checkNotModified(ETags.ofEntity(userCar.getId(), userCar.getVersion(),
+                    webRequest.getHeader(HttpHeaders.ACCEPT)))) {
+                return null;
             }
             return userCarMapper.toDto(userCar);
         } catch (Exception e) {
@@ -88,59 +196,58 @@ public class UserCarController {
         }
     }
 
+    @ConditionalGet(RecordCounter.Table.USER_CAR)
     @GetMapping("/userName/{userName}/email/{email}")
-    public List<UserCarDto> getUserCarByUserNameAndEmail(@PathVariable String userName, @PathVariable String email) {
+    public List<UserCarDto> getUserCarByUserNameAndEmail(
+            @PathVariable @ValidParam(ParamRule.ALPHANUMERIC) String userName,
+            @PathVariable @ValidParam(ParamRule.EMAIL) String email) {
         try {
-            List<UserCar> userCars = userCarService.getUserByUserNameAndEmail(userName, email);
-            if (userCars.isEmpty()) {
-                logger.warn("User car information by name and email is empty");
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "User car information by name and email is empty");
-            }
-            if (!userName.matches("^[A-Za-z0-9]+$")) {
-                logger.warn("Invalid characters in user name: " + userName);
+            if (!CharacterScanner.isAlphanumeric(userName)) {
+                logger.warn("Invalid characters in user name: {}", userName);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Invalid characters in user name: " + userName);
             }
-            if (!email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")) {
-                logger.warn("Invalid email address format: " + email);
+            if (!CharacterScanner.isEmail(email)) {
+                logger.warn("Invalid email address format: {}", email);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid email address format: " + email);
             }
-            return userCars.
-                    stream().
-                    map(userCarMapper::toDto).
-                    collect(Collectors.toList());
+            List<UserCarDto> userCars = userCarService.getUserByUserNameAndEmail(userName, email);
+            if (userCars.isEmpty()) {
+                logger.warn("User car information by name and email is empty");
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "User car information by name and email is empty");
+            }
+            return userCars;
         } catch (Exception e) {
-            logger.error("Error getting information by user name and email: " + e.getMessage());
+            logger.error("Error getting information by user name and email: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error getting information by user name and email: " + e.getMessage());
         }
     }
 
+    @ConditionalGet(RecordCounter.Table.USER_CAR)
     @GetMapping("/brancCar/{brandCar}/model/{model}")
-    public List<UserCarDto> getUserCarByBrandCarAndModel(@PathVariable String brandCar, @PathVariable String model) {
+    public List<UserCarDto> getUserCarByBrandCarAndModel(@PathVariable @ValidParam(ParamRule.BRAND) String brandCar,
+                                                         @PathVariable @ValidParam(ParamRule.MODEL) String model) {
         try {
-            List<UserCar> userCars = userCarService.getUserCarByBrandCarAndModel(brandCar, model);
-            if (userCars.isEmpty()) {
-                logger.warn("User car information by brand car and model is empty");
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "User car information by brand car and model is empty");
-            }
-            if (!brandCar.matches("^[a-zA-Z\\s]+$")) {
-                logger.warn("Invalid characters in brand car: " + brandCar);
+            if (!CharacterScanner.isLettersOrWhitespace(brandCar)) {
+                logger.warn("Invalid characters in brand car: {}", brandCar);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Invalid characters in brand car: " + brandCar);
             }
-            if (!model.matches("^[a-zA-Z0-9\\s]+$")) {
-                logger.warn("Invalid characters in model car: " + model);
+            if (!CharacterScanner.isAlphanumericOrWhitespace(model)) {
+                logger.warn("Invalid characters in model car: {}", model);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid characters in model car: " + model);
             }
-            return userCars.
-                    stream().
-                    map(userCarMapper::toDto).
-                    collect(Collectors.toList());
+            List<UserCarDto> userCars = userCarService.getUserCarByBrandCarAndModel(brandCar, model);
+            if (userCars.isEmpty()) {
+                logger.warn("User car information by brand car and model is empty");
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "User car information by brand car and model is empty");
+            }
+            return userCars;
         } catch (Exception e) {
-            logger.error("Error getting user car information by brand car and model: " + e.getMessage());
+            logger.error("Error getting user car information by brand car and model: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error getting user car information by brand car and model: " + e.getMessage());
         }
@@ -149,39 +256,13 @@ public class UserCarController {
     @PostMapping
     public UserCarDto createUserCar(@RequestBody UserCarDto userCarDto) {
         try {
-            if (userCarDto.getUserName() != null && !userCarDto.getUserName().matches("^[A-Za-z0-9]+$")) {
-                logger.warn("Invalid characters in user name: " + userCarDto.getUserName());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid characters in user name: " + userCarDto.getUserName());
-            }
-            if (userCarDto.getUserEmail() != null &&
-                    !userCarDto.getUserEmail().matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")) {
-                logger.warn("Invalid email address format: " + userCarDto.getUserEmail());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid email address format: " + userCarDto.getUserEmail());
-            }
-            if (userCarDto.getGraduationYear() != null &&
-                    !userCarDto.getGraduationYear().toString().matches("^\\d{4}$")) {
-                logger.warn("Graduation year has invalid format: " + userCarDto.getGraduationYear());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Graduation year has invalid format: " + userCarDto.getGraduationYear());
-            }
-            if (userCarDto.getModel() != null && !userCarDto.getModel().matches("^[a-zA-Z0-9\\s]+$")) {
-                logger.warn("Invalid model characters: " + userCarDto.getModel());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid model characters: " + userCarDto.getModel());
-            }
-            if (userCarDto.getCarVinCode() != null && !userCarDto.getCarVinCode().matches("^[A-Za-z0-9]+$")) {
-                logger.warn("VIN code contains invalid characters");
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "VIN code contains invalid characters");
-            }
+            requestValidator.validateUserCar(userCarDto);
             UserCar userCar = userCarMapper.toEntity(userCarDto);
             UserCar createdUserCar = userCarService.createUserCar(userCar);
-            logger.info("User car with VIN code: " + userCar.getCarVinCode() + " created");
+            logger.info("User car with VIN code: {} created", userCar.getCarVinCode());
             return userCarMapper.toDto(createdUserCar);
         } catch (Exception e) {
-            logger.error("Error creating user car: " + e.getMessage());
+            logger.error("Error creating user car: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error creating user car: " + e.getMessage());
         }
@@ -189,68 +270,102 @@ public class UserCarController {
 
 
     @PutMapping("/update/{vinCode}")
-    public UserCarDto updateUserCarInformation(@PathVariable String vinCode, @RequestBody UserCarDto userCarDto) {
+    public UserCarDto updateUserCarInformation(@PathVariable @ValidParam(ParamRule.ALPHANUMERIC) String vinCode,
+                                               @RequestBody UserCarDto userCarDto,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                               String ifMatch,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                                               String accept, HttpServletResponse response) {
         try {
-            if (vinCode != null && !vinCode.matches("^[A-Za-z0-9]+$")) {
-                logger.warn("VIN code contains invalid characters: " + vinCode);
+            if (vinCode != null && !CharacterScanner.isAlphanumeric(vinCode)) {
+                logger.warn("VIN code contains invalid characters: {}", vinCode);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "VIN code contains invalid characters: " + vinCode);
             }
             if (userCarDto.getUserName() != null &&
-                    !userCarDto.getUserName().matches("^[A-Za-z0-9]+$") && userCarDto.getUserName().isEmpty()) {
-                logger.warn("Invalid characters in user name: " + userCarDto.getUserName());
+                    !CharacterScanner.isAlphanumeric(userCarDto.getUserName()) && userCarDto.getUserName().isEmpty()) {
+                logger.warn("Invalid characters in user name: {}", userCarDto.getUserName());
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Invalid characters in user name: " + userCarDto.getUserName());
             }
             if (userCarDto.getUserEmail() != null &&
-                    !userCarDto.getUserEmail().matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")
+                    !CharacterScanner.isEmail(userCarDto.getUserEmail())
                     && userCarDto.getUserEmail().isEmpty()) {
-                logger.warn("Invalid characters in user email: " + userCarDto.getUserEmail());
+                logger.warn("Invalid characters in user email: {}", userCarDto.getUserEmail());
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Invalid characters in user email: " + userCarDto.getUserEmail());
             }
-            if (userCarDto.getBrandCar() != null && !userCarDto.getBrandCar().matches("^[a-zA-Z\\s]+$")) {
-                logger.warn("Invalid characters in user email: " + userCarDto.getBrandCar());
+            if (userCarDto.getBrandCar() != null && !CharacterScanner.isLettersOrWhitespace(userCarDto.getBrandCar())) {
+                logger.warn("Invalid characters in user email: {}", userCarDto.getBrandCar());
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Invalid characters in user email: " + userCarDto.getBrandCar());
             }
-            if (userCarDto.getModel() != null && !userCarDto.getModel().matches("^[a-zA-Z0-9\\s]+$")) {
-                logger.warn("Invalid characters in model car: " + userCarDto.getModel());
+            if (userCarDto.getModel() != null && !CharacterScanner.isAlphanumericOrWhitespace(userCarDto.getModel())) {
+                logger.warn("Invalid characters in model car: {}", userCarDto.getModel());
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Invalid characters in model car: " + userCarDto.getModel());
             }
             if (userCarDto.getGraduationYear() != null &&
-                    !userCarDto.getGraduationYear().toString().matches("^\\d{4}$")) {
-                logger.warn("Graduation year has invalid format: " + userCarDto.getGraduationYear());
+                    !CharacterScanner.isFourDigits(userCarDto.getGraduationYear())) {
+                logger.warn("Graduation year has invalid format: {}", userCarDto.getGraduationYear());
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Graduation year has invalid format: " + userCarDto.getGraduationYear());
             }
-            UserCar userCar = userCarService.updateUserCarInformation(vinCode, userCarDto);
-            logger.info("Updating information with VIN Code: " + vinCode);
+            UserCar userCar = userCarService.updateUserCarInformation(vinCode, userCarDto,
+                    ETags.fromIfMatch(ifMatch)).orElseThrow(() -> {
+                logger.warn("User car with VIN Code: {} not found", vinCode);
+                return new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "User car with VIN Code: " + vinCode + " not found");
+            });
+            logger.info("Updating information with VIN Code: {}", vinCode);
+            response.setHeader(HttpHeaders.ETAG, ETags.ofEntity(userCar.getId(), userCar.getVersion(), accept));
             return userCarMapper.toDto(userCar);
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Conflicting update of user car: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage());
         } catch (Exception e) {
-            logger.error("Error updating user car information: " + e.getMessage());
+            logger.error("Error updating user car information: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error updating user car information: " + e.getMessage());
         }
     }
 
     @DeleteMapping("/delete/{vinCode}")
-    public String deleteUserCarInformation(@PathVariable String vinCode) {
+    public String deleteUserCarInformation(@PathVariable @ValidParam(ParamRule.ALPHANUMERIC) String vinCode) {
         try {
-            if (!vinCode.matches("^[A-Za-z0-9]+$")) {
-                logger.warn("VIN code contains invalid characters: " + vinCode);
+            if (!CharacterScanner.isAlphanumeric(vinCode)) {
+                logger.warn("VIN code contains invalid characters: {}", vinCode);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "VIN code contains invalid characters: " + vinCode);
             }
-            UserCar userCar = userCarService.getUserCarByVinCode(vinCode);
-            userCarService.deleteUserCarInformation(userCar);
-            logger.info("User car with VIN Code: " + vinCode + " successful deleted");
+            if (!userCarService.deleteUserCarInformation(vinCode)) {
+                logger.warn("User car with VIN Code: {} not found", vinCode);
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "User car with VIN Code: " + vinCode + " not found");
+            }
+            logger.info("User car with VIN Code: {} successful deleted", vinCode);
             return "User car with VIN Code: " + vinCode + " successful deleted";
         } catch (Exception e) {
-            logger.error("Error deleting user car information: " + e.getMessage());
+            logger.error("Error deleting user car information: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error deleting user car information: " + e.getMessage());
         }
     }
+
+    private List<GroupCountDto> toGroupCounts(Map<String, Long> counts) {
+        return counts.
+                entrySet().
+                stream().
+                map(entry -> new GroupCountDto(entry.getKey(), entry.getValue())).
+                collect(Collectors.toList());
+    }
+
+    private Integer toCursorId(String cursor) {
+        try {
+            return cursorMapper.toId(cursor);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid cursor: {}", cursor);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
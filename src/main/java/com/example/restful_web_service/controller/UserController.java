@@ -1,140 +1,296 @@
 package com.example.restful_web_service.controller;
 
+import com.example.restful_web_service.controller.dto.BulkResultDto;
+import com.example.restful_web_service.controller.dto.CursorPageDto;
 import com.example.restful_web_service.controller.dto.UserDto;
+import com.example.restful_web_service.controller.dto.UserProfileDto;
+import com.example.restful_web_service.controller.enums.BulkResultStatus;
+import com.example.restful_web_service.controller.etag.ConditionalGet;
+import com.example.restful_web_service.controller.etag.ETags;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.NdjsonMapper;
 import com.example.restful_web_service.controller.mapper.UserMapper;
+import com.example.restful_web_service.controller.mapper.UserProfileMapper;
+import com.example.restful_web_service.controller.validation.CharacterScanner;
+import com.example.restful_web_service.controller.validation.ParamRule;
+import com.example.restful_web_service.controller.validation.RequestValidator;
+import com.example.restful_web_service.controller.validation.ValidParam;
 import com.example.restful_web_service.entity.User;
+import com.example.restful_web_service.repository.specification.UserFilter;
+import com.example.restful_web_service.repository.specification.UserSortField;
+import com.example.restful_web_service.service.RecordCounter;
 import com.example.restful_web_service.service.UserService;
-import org.apache.log4j.Logger;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/users")
 public class UserController {
+    private static final int MAX_BULK_SIZE = 50000;
+
     private final UserService userService;
     private final UserMapper userMapper;
-    private final Logger logger = Logger.getLogger(UserController.class);
+    private final CursorMapper cursorMapper;
+    private final NdjsonMapper ndjsonMapper;
+    private final RequestValidator requestValidator;
+    private final UserProfileMapper userProfileMapper;
+    private final Logger logger = LogManager.getLogger(UserController.class);
 
     @Autowired
-    public UserController(UserService userService, UserMapper userMapper) {
+    public UserController(UserService userService, UserMapper userMapper, CursorMapper cursorMapper,
+                          NdjsonMapper ndjsonMapper, RequestValidator requestValidator,
+                          UserProfileMapper userProfileMapper) {
         this.userService = userService;
         this.userMapper = userMapper;
+        this.cursorMapper = cursorMapper;
+        this.ndjsonMapper = ndjsonMapper;
+        this.requestValidator = requestValidator;
+        this.userProfileMapper = userProfileMapper;
     }
 
+    @ConditionalGet(RecordCounter.Table.USERS)
     @GetMapping
-    public List<UserDto> getAllUser() {
+    public CursorPageDto<UserDto> getAllUser(@RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "100") Integer limit) {
+        requestValidator.validatePageLimit(limit);
+        Integer afterId = toCursorId(cursor);
         try {
-            List<User> userList = userService.getAllUser();
-            if (userList.isEmpty()) {
+            List<UserDto> userList = userService.getUsersAfterId(afterId, limit + 1);
+            if (userList.isEmpty() && cursor == null) {
                 logger.warn("No users found in the Data Base");
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Users not found");
             }
-            logger.info("All users retrieved from the database.");
-            return userList.
-                    stream().
-                    map(userMapper::toDto).
-                    collect(Collectors.toList());
+            boolean hasNextPage = userList.size() > limit;
+            List<UserDto> page = hasNextPage ? userList.subList(0, limit) : userList;
+            String nextCursor = hasNextPage ? cursorMapper.toCursor(page.get(page.size() - 1).getId()) : null;
+            logger.info("Page of users retrieved from the database.");
+            return new CursorPageDto<>(page, nextCursor);
         } catch (Exception e) {
-            logger.error("Error getting all user: " + e.getMessage());
+            logger.error("Error getting all user: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error getting all user: " + e.getMessage());
         }
     }
 
+    @ConditionalGet(RecordCounter.Table.USERS)
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllUser() {
+        logger.info("Streaming export of users started");
+        StreamingResponseBody body = outputStream -> userService.exportAllUser(user ->
+                ndjsonMapper.writeLine(outputStream, userMapper.toDto(user)));
+        return ResponseEntity.ok().
+                contentType(MediaType.APPLICATION_NDJSON).
+                body(body);
+    }
+
+    @ConditionalGet(RecordCounter.Table.USERS)
     @GetMapping("/sort")
-    public List<UserDto> getAllUsersSorted() {
+    public CursorPageDto<UserDto> getAllUsersSorted(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "100") Integer limit) {
+        requestValidator.validatePageLimit(limit);
+        // Same (name, id) keyset as /users/filter?sort=name, without any criteria.
+        UserFilter filter = new UserFilter();
+        filter.setSortField(UserSortField.NAME);
+        if (cursor != null) {
+            filter.setAfterId(toCursorId(cursor));
+            filter.setAfterValue(toCursorSortValue(cursor));
+        }
         try {
-            List<User> userList = userService.getAllUsersSorted();
-            if (userList.isEmpty()) {
+            List<UserDto> userList = userService.getUsersByFilter(filter, limit + 1);
+            if (userList.isEmpty() && cursor == null) {
                 logger.warn("No users found in Data Base");
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Users not found");
             }
-            logger.info("All users retrieved from the database.");
-            return userList.
-                    stream().
-                    map(userMapper::toDto).
-                    collect(Collectors.toList());
+            boolean hasNextPage = userList.size() > limit;
+            List<UserDto> page = hasNextPage ? userList.subList(0, limit) : userList;
+            String nextCursor = null;
+            if (hasNextPage) {
+                UserDto last = page.get(page.size() - 1);
+                nextCursor = cursorMapper.toCursor(last.getId(), UserSortField.NAME.valueOf(last));
+            }
+            logger.info("Page of users sorted by name retrieved from the database.");
+            return new CursorPageDto<>(page, nextCursor);
         } catch (Exception e) {
-            logger.error("Error getting information from data base: " + e.getMessage());
+            logger.error("Error getting information from data base: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error getting information from data base: " + e.getMessage());
         }
     }
 
     @GetMapping("/count")
-    public Long getUserCount() {
+    public Long getUserCount(@RequestParam(defaultValue = "false") boolean approximate) {
         try {
-            Long count = userService.getUserCount();
+            Long count = approximate ? userService.getApproximateUserCount() : userService.getUserCount();
             if (count == 0) {
                 logger.warn("No users found in the Data Base");
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Users not found");
             }
-            logger.info("Number of users in the database: " + count);
+            logger.info("Number of users in the database: {}", count);
             return count;
         } catch (Exception e) {
-            logger.error("Error getting information by user count: " + e.getMessage());
+            logger.error("Error getting information by user count: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         }
     }
 
     @GetMapping("/{id}")
-    public UserDto getUserById(@PathVariable Integer id) {
+    public UserDto getUserById(@PathVariable Integer id, WebRequest webRequest) {
         try {
             Optional<User> optionalUser = userService.getUserById(id);
             User userById = optionalUser.orElseThrow(() -> {
-                logger.warn("User with this id: " + id + " not found");
+                logger.warn("User with this id: {} not found", id);
                 return new ResponseStatusException(HttpStatus.NOT_FOUND, "User with this id: " + id + " not found");
             });
-            logger.info("Getting user with id: " + id);
+            logger.info("Getting user with id: {}", id);
+            if (webRequest.checkNotModified(ETags.ofEntity(userById.getId(), userById.getVersion(),
+                    webRequest.getHeader(HttpHeaders.ACCEPT)))) {
+                return null;
+            }
             return userMapper.toDto(userById);
         } catch (Exception e) {
-            logger.error("Error getting information from id: " + e.getMessage());
+            logger.error("Error getting information from id: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         }
     }
 
+    @ConditionalGet({RecordCounter.Table.USERS, RecordCounter.Table.USER_PASSPORT, RecordCounter.Table.USER_CAR,
+            RecordCounter.Table.USER_HOUSE})
+    @GetMapping("/{id}/profile")
+    public UserProfileDto getUserProfile(@PathVariable Integer id) {
+        try {
+            User user = userService.getUserProfile(id).orElseThrow(() -> {
+                logger.warn("User with this id: {} not found", id);
+                return new ResponseStatusException(HttpStatus.NOT_FOUND, "User with this id: " + id + " not found");
+            });
+            logger.info("Getting profile of user with id: {}", id);
+            return userProfileMapper.toDto(user);
+        } catch (Exception e) {
+            logger.error("Error getting user profile: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Error getting user profile: " + e.getMessage());
+        }
+    }
+
+    @ConditionalGet(RecordCounter.Table.USERS)
     @GetMapping("/filter")
-    public List<UserDto> getUserByFilter(@RequestParam(required = false) String name,
-                                         @RequestParam(required = false) Integer age,
-                                         @RequestParam(required = false) String email,
-                                         @RequestParam(required = false) String phone) {
+    public CursorPageDto<UserDto> getUserByFilter(
+            @RequestParam(required = false) @ValidParam(ParamRule.NAME) String name,
+            @RequestParam(required = false) @ValidParam(ParamRule.NAME) String namePrefix,
+            @RequestParam(required = false) @ValidParam(ParamRule.AGE) Integer age,
+            @RequestParam(required = false) @ValidParam(ParamRule.AGE) Integer minAge,
+            @RequestParam(required = false) @ValidParam(ParamRule.AGE) Integer maxAge,
+            @RequestParam(required = false) @ValidParam(ParamRule.EMAIL) String email,
+            @RequestParam(required = false) @ValidParam(ParamRule.PHONE) String phone,
+            @RequestParam(defaultValue = "any") String match,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") Integer limit) {
+        requestValidator.validatePageLimit(limit);
+        UserSortField sortField = UserSortField.of(sort).orElseThrow(() -> {
+            logger.warn("Invalid sort field: {}", sort);
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sort field: " + sort);
+        });
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction).orElseThrow(() -> {
+            logger.warn("Invalid sort direction: {}", direction);
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sort direction: " + direction);
+        });
+        Integer afterId = null;
+        String afterValue = null;
+        if (cursor != null) {
+            afterId = toCursorId(cursor);
+            if (sortField != UserSortField.ID) {
+                afterValue = toCursorSortValue(cursor);
+                if (!sortField.accepts(afterValue)) {
+                    logger.warn("Cursor does not continue a page sorted by {}: {}", sort, cursor);
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Cursor does not continue a page sorted by " + sort);
+                }
+            }
+        }
         try {
-            List<User> usersByFilter = userService.getUsersByFilter(name, age, email, phone);
-            if (name != null && !name.matches("[a-zA-Z\\-]+")) {
-                logger.warn("Invalid name characters: " + name);
+            if (name != null && !CharacterScanner.isLettersOrHyphen(name)) {
+                logger.warn("Invalid name characters: {}", name);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid name characters: " + name);
             }
-            if (age != null && !age.toString().matches("[0-9]+")) {
-                logger.warn("Invalid age characters: " + age);
+            if (namePrefix != null && !CharacterScanner.isLettersOrHyphen(namePrefix)) {
+                logger.warn("Invalid name prefix characters: {}", namePrefix);
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Invalid name prefix characters: " + namePrefix);
+            }
+            if (age != null && !CharacterScanner.isNonNegative(age)) {
+                logger.warn("Invalid age characters: {}", age);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid age characters: " + age);
             }
             if (age != null && age <= 0 || age != null && age >= 120) {
-                logger.warn("Age entered incorrectly: " + age);
+                logger.warn("Age entered incorrectly: {}", age);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Age entered incorrectly: " + age);
             }
-            if (email != null && !email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")) {
-                logger.warn("Invalid email characters: " + email);
+            if (minAge != null && maxAge != null && minAge > maxAge) {
+                logger.warn("Age range entered incorrectly: {}-{}", minAge, maxAge);
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Age range entered incorrectly: " + minAge + "-" + maxAge);
+            }
+            if (email != null && !CharacterScanner.isEmail(email)) {
+                logger.warn("Invalid email characters: {}", email);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid email characters: " + email);
             }
-            if (phone != null && !phone.matches("^\\+(?:[0-9] ?){6,14}[0-9]$")) {
-                logger.warn("Invalid phone number characters: " + phone);
+            if (phone != null && !CharacterScanner.isPhone(phone)) {
+                logger.warn("Invalid phone number characters: {}", phone);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Invalid phone number characters: " + phone);
             }
-            logger.info("Getting user by filter: " + "\nName: " + name + " age: " + age +
-                    " email: " + email + " phone: " + phone);
-            return usersByFilter.
-                    stream().
-                    map(userMapper::toDto).
-                    collect(Collectors.toList());
+            if (!match.equalsIgnoreCase("any") && !match.equalsIgnoreCase("all")) {
+                logger.warn("Invalid match mode: {}", match);
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid match mode: " + match);
+            }
+            UserFilter filter = new UserFilter();
+            filter.setName(name);
+            filter.setNamePrefix(namePrefix);
+            filter.setAge(age);
+            filter.setMinAge(minAge);
+            filter.setMaxAge(maxAge);
+            filter.setEmail(email);
+            filter.setPhone(phone);
+            filter.setMatchAll(match.equalsIgnoreCase("all"));
+            filter.setSortField(sortField);
+            filter.setDirection(sortDirection);
+            filter.setAfterId(afterId);
+            filter.setAfterValue(afterValue);
+            List<UserDto> userList = userService.getUsersByFilter(filter, limit + 1);
+            boolean hasNextPage = userList.size() > limit;
+            List<UserDto> page = hasNextPage ? userList.subList(0, limit) : userList;
+            String nextCursor = null;
+            if (hasNextPage) {
+                UserDto last = page.get(page.size() - 1);
+                nextCursor = sortField == UserSortField.ID ? cursorMapper.toCursor(last.getId()) :
+                        cursorMapper.toCursor(last.getId(), sortField.valueOf(last));
+            }
+            logger.info("Getting user by filter: \nName: {} prefix: {} age: {} range: {}-{} email: {} phone: {} " +
+                    "match: {}", name, namePrefix, age, minAge, maxAge, email, phone, match);
+            return new CursorPageDto<>(page, nextCursor);
         } catch (Exception e) {
-            logger.error("Error getting information by filter: " + e.getMessage());
+            logger.error("Error getting information by filter: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error getting information by filter: " + e.getMessage());
         }
@@ -143,58 +299,102 @@ public class UserController {
     @PostMapping
     public UserDto addUser(@RequestBody UserDto userDto) {
         try {
-            if (userDto.getName() != null && !userDto.getName().matches("[a-zA-Z\\-]+")) {
-                logger.warn("Invalid name characters: " + userDto.getName());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid name characters: " + userDto.getName());
-            }
-            if (userDto.getAge() != null && !userDto.getAge().toString().matches("[0-9]+")) {
-                logger.warn("Invalid age characters: " + userDto.getAge());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid age characters: " + userDto.getAge());
+            requestValidator.validateUser(userDto);
+            User user = userMapper.toEntity(userDto);
+            User savedUser = userService.saveUser(user);
+            logger.info("New user created with id: {}", savedUser.getId());
+            return userMapper.toDto(savedUser);
+        } catch (Exception e) {
+            logger.error("Error adding information: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Error adding information: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/bulk")
+    public List<BulkResultDto> addUsers(@RequestBody List<UserDto> userDtos) {
+        try {
+            if (userDtos == null || userDtos.isEmpty() || userDtos.size() > MAX_BULK_SIZE) {
+                int size = userDtos == null ? 0 : userDtos.size();
+                logger.warn("Invalid bulk size: {}", size);
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid bulk size: " + size);
             }
-            if (userDto.getAge() != null && userDto.getAge() <= 0 || userDto.getAge() != null
-                    && userDto.getAge() >= 120) {
-                logger.warn("Age entered incorrectly: " + userDto.getAge());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Age entered incorrectly: " + userDto.getAge());
+            List<BulkResultDto> results = new ArrayList<>(userDtos.size());
+            Set<String> emails = new HashSet<>();
+            Set<String> phones = new HashSet<>();
+            for (int i = 0; i < userDtos.size(); i++) {
+                UserDto userDto = userDtos.get(i);
+                String error = userDto == null ? "User is empty" : requestValidator.checkUser(userDto);
+                if (error == null && userDto.getEmail() != null && !emails.add(userDto.getEmail())) {
+                    error = "Duplicate email in request: " + userDto.getEmail();
+                }
+                if (error == null && userDto.getPhone() != null && !phones.add(userDto.getPhone())) {
+                    error = "Duplicate phone number in request: " + userDto.getPhone();
+                }
+                results.add(new BulkResultDto(i, null,
+                        error == null ? BulkResultStatus.CREATED : BulkResultStatus.REJECTED, error));
             }
-            if (userDto.getEmail() != null && !userDto.getEmail().
-                    matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")) {
-                logger.warn("Invalid email characters: " + userDto.getEmail());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid email characters: " + userDto.getEmail());
+            Set<String> existingEmails = userService.getExistingEmails(new ArrayList<>(emails));
+            Set<String> existingPhones = userService.getExistingPhones(new ArrayList<>(phones));
+            List<User> users = new ArrayList<>();
+            List<BulkResultDto> createdResults = new ArrayList<>();
+            for (BulkResultDto result : results) {
+                if (result.getStatus() == BulkResultStatus.REJECTED) {
+                    continue;
+                }
+                UserDto userDto = userDtos.get(result.getIndex());
+                if (existingEmails.contains(userDto.getEmail())) {
+                    result.setStatus(BulkResultStatus.REJECTED);
+                    result.setError("Email already exists: " + userDto.getEmail());
+                } else if (existingPhones.contains(userDto.getPhone())) {
+                    result.setStatus(BulkResultStatus.REJECTED);
+                    result.setError("Phone number already exists: " + userDto.getPhone());
+                } else {
+                    User user = userMapper.toEntity(userDto);
+                    user.setId(null);
+                    users.add(user);
+                    createdResults.add(result);
+                }
             }
-            if (userDto.getPhone() != null && !userDto.getPhone().matches("^\\+(?:[0-9] ?){6,14}[0-9]$")) {
-                logger.warn("Invalid phone number characters: " + userDto.getPhone());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid phone number characters: " + userDto.getPhone());
+            List<User> savedUsers = users.isEmpty() ? users : userService.saveAllUsers(users);
+            for (int i = 0; i < users.size(); i++) {
+                BulkResultDto result = createdResults.get(i);
+                Integer id = users.get(i).getId();
+                if (id == null) {
+                    result.setStatus(BulkResultStatus.REJECTED);
+                    result.setError("Email or phone number already exists");
+                } else {
+                    result.setId(id);
+                }
             }
-            User user = userMapper.toEntity(userDto);
-            User savedUser = userService.saveUser(user);
-            logger.info("New user created with id: " + savedUser.getId());
-            return userMapper.toDto(savedUser);
+            logger.info("Bulk created {} of {} users", savedUsers.size(), userDtos.size());
+            return results;
         } catch (Exception e) {
-            logger.error("Error adding information: " + e.getMessage());
+            logger.error("Error adding information: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error adding information: " + e.getMessage());
         }
     }
 
     @PutMapping("/{id}")
-    public UserDto updateUser(@PathVariable Integer id, @RequestBody UserDto userDto) {
+    public UserDto updateUser(@PathVariable Integer id, @RequestBody UserDto userDto,
+                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                              HttpServletResponse response) {
         try {
-            Optional<User> optionalUser = userService.getUserById(id);
-            User userById = optionalUser.orElseThrow(() -> {
-                logger.warn("User with this id for update: " + id + " not found");
+            User updateUser = userService.updateUser(id, userDto, ETags.fromIfMatch(ifMatch)).orElseThrow(() -> {
+                logger.warn("User with this id for update: {} not found", id);
                 return new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "User with this id for update: " + id + " not found");
             });
-            User updateUser = userService.updateUser(userById, userDto);
-            logger.info("User with id: " + id + " updated");
+            logger.info("User with id: {} updated", id);
+            response.setHeader(HttpHeaders.ETAG, ETags.ofEntity(updateUser.getId(), updateUser.getVersion(), accept));
             return userMapper.toDto(updateUser);
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Conflicting update of user: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage());
         } catch (Exception e) {
-            logger.error("Error updating user information: " + e.getMessage());
+            logger.error("Error updating user information: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error updating user information: " + e.getMessage());
         }
@@ -207,18 +407,35 @@ public class UserController {
                 logger.error("Error deleting user with id: null");
                 return "Error deleting user with id: null";
             }
-            Optional<User> user = userService.getUserById(id);
-            if (user.isEmpty()) {
-                logger.error("User with id" + id + " not found");
+            if (!userService.deleteById(id)) {
+                logger.error("User with id{} not found", id);
                 return "User with id " + id + " not found";
             }
-            userService.delete(user.get());
-            logger.info("User with id: " + id + " was successfully deleted");
+            logger.info("User with id: {} was successfully deleted", id);
             return "User with id " + id + " was successfully deleted";
         } catch (Exception e) {
-            logger.error("Error deleting user information: " + e.getMessage());
+            logger.error("Error deleting user information: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error deleting user information: " + e.getMessage());
         }
     }
+
+    // Paging parameters are checked before the handler's catch-all, so a bad limit or cursor is answered with 400.
+    private Integer toCursorId(String cursor) {
+        try {
+            return cursorMapper.toId(cursor);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid cursor: {}", cursor);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private String toCursorSortValue(String cursor) {
+        try {
+            return cursorMapper.toSortValue(cursor);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid cursor: {}", cursor);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
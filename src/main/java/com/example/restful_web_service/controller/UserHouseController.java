@@ -1,134 +1,228 @@
 package com.example.restful_web_service.controller;
 
+import com.example.restful_web_service.controller.dto.CursorPageDto;
+import com.example.restful_web_service.controller.dto.GroupCountDto;
 import com.example.restful_web_service.controller.dto.UserHouseDto;
 import com.example.restful_web_service.controller.enums.SupportedCountries;
+import com.example.restful_web_service.controller.etag.ConditionalGet;
+import com.example.restful_web_service.controller.etag.ETags;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.NdjsonMapper;
 import com.example.restful_web_service.controller.mapper.UserHouseMapper;
+import com.example.restful_web_service.controller.validation.CharacterScanner;
+import com.example.restful_web_service.controller.validation.ParamRule;
+import com.example.restful_web_service.controller.validation.RequestValidator;
+import com.example.restful_web_service.controller.validation.ValidParam;
 import com.example.restful_web_service.entity.UserHouse;
+import com.example.restful_web_service.service.RecordCounter;
 import com.example.restful_web_service.service.UserHouseService;
-import org.apache.log4j.Logger;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/users/house")
 public class UserHouseController {
 
     private final UserHouseService userHouseService;
     private final UserHouseMapper userHouseMapper;
-    private final Logger logger = Logger.getLogger(UserHouseController.class);
+    private final CursorMapper cursorMapper;
+    private final NdjsonMapper ndjsonMapper;
+    private final RequestValidator requestValidator;
+    private final Logger logger = LogManager.getLogger(UserHouseController.class);
 
     @Autowired
-    public UserHouseController(UserHouseService userHouseService, UserHouseMapper userHouseMapper) {
+    public UserHouseController(UserHouseService userHouseService, UserHouseMapper userHouseMapper,
+                               CursorMapper cursorMapper, NdjsonMapper ndjsonMapper,
+                               RequestValidator requestValidator) {
         this.userHouseService = userHouseService;
         this.userHouseMapper = userHouseMapper;
+        this.cursorMapper = cursorMapper;
+        this.ndjsonMapper = ndjsonMapper;
+        this.requestValidator = requestValidator;
     }
 
+    @ConditionalGet(RecordCounter.Table.USER_HOUSE)
     @GetMapping
-    public List<UserHouseDto> getAllInformationUserHouse() {
+    public CursorPageDto<UserHouseDto> getAllInformationUserHouse(@RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "100") Integer limit) {
+        requestValidator.validatePageLimit(limit);
+        Integer afterId = toCursorId(cursor);
         try {
-            List<UserHouse> userHouses = userHouseService.getAllInformationUserHouse();
-            if (userHouses.isEmpty()) {
+            List<UserHouseDto> userHouses = userHouseService.getUserHousesAfterId(afterId, limit + 1);
+            if (userHouses.isEmpty() && cursor == null) {
                 logger.warn("User house details not found");
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User house details not found");
             }
-            logger.info("User house information retrieved from data base");
-            return userHouses.
-                    stream().
-                    map(userHouseMapper::toDto).
-                    collect(Collectors.toList());
+            boolean hasNextPage = userHouses.size() > limit;
+            List<UserHouseDto> page = hasNextPage ? userHouses.subList(0, limit) : userHouses;
+            String nextCursor = hasNextPage ? cursorMapper.toCursor(page.get(page.size() - 1).getId()) : null;
+            logger.info("Page of user houses retrieved from data base");
+            return new CursorPageDto<>(page, nextCursor);
         } catch (Exception e) {
-            logger.error("Error retrieving information from data base: " + e.getMessage());
+            logger.error("Error retrieving information from data base: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error retrieving information from data base: " + e.getMessage());
         }
     }
 
+    @ConditionalGet(RecordCounter.Table.USER_HOUSE)
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllInformationUserHouse() {
+        logger.info("Streaming export of user houses started");
+        StreamingResponseBody body = outputStream -> userHouseService.exportAllInformationUserHouse(userHouse ->
+                ndjsonMapper.writeLine(outputStream, userHouseMapper.toDto(userHouse)));
+        return ResponseEntity.ok().
+                contentType(MediaType.APPLICATION_NDJSON).
+                body(body);
+    }
+
+    @GetMapping("/count")
+    public Long getUserHouseCount(@RequestParam(defaultValue = "false") boolean approximate) {
+        try {
+            Long count = approximate ? userHouseService.getApproximateUserHouseCount() :
+                    userHouseService.getUserHouseCount();
+            if (count == 0) {
+                logger.warn("No user houses found in the Data Base");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User houses not found");
+            }
+            logger.info("Number of user houses in the database: {}", count);
+            return count;
+        } catch (Exception e) {
+            logger.error("Error getting information by user house count: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    @ConditionalGet(RecordCounter.Table.USER_HOUSE)
+    @GetMapping("/stats/country")
+    public List<GroupCountDto> getUserHouseCountByCountry() {
+        try {
+            Map<String, Long> counts = userHouseService.getUserHouseCountByCountry();
+            if (counts.isEmpty()) {
+                logger.warn("No user houses found in the Data Base");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User houses not found");
+            }
+            logger.info("Number of user houses by country retrieved: {} groups", counts.size());
+            return toGroupCounts(counts);
+        } catch (Exception e) {
+            logger.error("Error getting user houses by country: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Error getting user houses by country: " + e.getMessage());
+        }
+    }
+
+    @ConditionalGet(RecordCounter.Table.USER_HOUSE)
+    @GetMapping("/stats/town")
+    public List<GroupCountDto> getUserHouseCountByTown() {
+        try {
+            Map<String, Long> counts = userHouseService.getUserHouseCountByTown();
+            if (counts.isEmpty()) {
+                logger.warn("No user houses found in the Data Base");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User houses not found");
+            }
+            logger.info("Number of user houses by town retrieved: {} groups", counts.size());
+            return toGroupCounts(counts);
+        } catch (Exception e) {
+            logger.error("Error getting user houses by town: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Error getting user houses by town: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/{houseNumber}/{flatNumber}")
-    public UserHouseDto getInformationByHouseNumberAndFlatNumber(@PathVariable Integer houseNumber,
-                                                                 @PathVariable Integer flatNumber) {
+    public UserHouseDto getInformationByHouseNumberAndFlatNumber(
+            @PathVariable @ValidParam(ParamRule.NON_NEGATIVE) Integer houseNumber,
+            @PathVariable @ValidParam(ParamRule.NON_NEGATIVE) Integer flatNumber, WebRequest webRequest) {
         try {
-            Optional<UserHouse> userHouseOptional = userHouseService.
-                    getInformationByHouseNumberAndFlatNumber(houseNumber, flatNumber);
-            UserHouse userHouse = userHouseOptional.orElseThrow(() -> {
-                logger.warn("House number not found in data base: " + houseNumber + "/" + flatNumber);
-                return new ResponseStatusException(HttpStatus.NOT_FOUND,
-                        "House number not found in data base: " + houseNumber + "/" + flatNumber);
-            });
             if (houseNumber == null || flatNumber == null) {
-                logger.warn("House number: " + houseNumber + " or flat number: " + flatNumber + " is null");
+                logger.warn("House number: {} or flat number: {} is null", houseNumber, flatNumber);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "House number: " + houseNumber + " or flat number: " + flatNumber + " is null");
             }
             if (houseNumber < 0 || flatNumber < 0) {
-                logger.warn("House number: " + houseNumber + " or flat number: " + flatNumber + " less then 0");
+                logger.warn("House number: {} or flat number: {} less then 0", houseNumber, flatNumber);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "House number: " + houseNumber + " or flat number: " + flatNumber + " less then 0");
             }
-            logger.info("Getting information by house number and flat number: " + houseNumber + "/" + flatNumber);
+            Optional<UserHouse> userHouseOptional = userHouseService.
+                    getInformationByHouseNumberAndFlatNumber(houseNumber, flatNumber);
+            UserHouse userHouse = userHouseOptional.orElseThrow(() -> {
+                logger.warn("House number not found in data base: {}/{}", houseNumber, flatNumber);
+                return new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "House number not found in data base: " + houseNumber + "/" + flatNumber);
+            });
+            logger.info("Getting information by house number and flat number: {}/{}", houseNumber, flatNumber);
+            if (webRequest.checkNotModified(ETags.ofEntity(userHouse.getId(), userHouse.getVersion(),
+                    webRequest.getHeader(HttpHeaders.ACCEPT)))) {
+                return null;
+            }
             return userHouseMapper.toDto(userHouse);
         } catch (Exception e) {
-            logger.error("Error getting information by house number and flat number: "
-                    + houseNumber + "/" + flatNumber);
+            logger.error("Error getting information by house number and flat number: {}/{}", houseNumber, flatNumber);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         }
     }
 
+    @ConditionalGet(RecordCounter.Table.USER_HOUSE)
     @GetMapping("/town/{town}")
-    public List<UserHouseDto> getHouseInTown(@PathVariable String town) {
+    public List<UserHouseDto> getHouseInTown(@PathVariable @ValidParam(ParamRule.TOWN) String town) {
         try {
-            List<UserHouse> userHouses = userHouseService.getHouseInTown(town);
+            if (town != null && !CharacterScanner.isLettersHyphenOrWhitespace(town)) {
+                logger.warn("Town: {} has invalid characters", town);
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Town: " + town + " is null");
+            }
+            List<UserHouseDto> userHouses = userHouseService.getHouseInTown(town);
             if (userHouses.isEmpty()) {
-                logger.warn("User House in this town not found in data base: " + town);
+                logger.warn("User House in this town not found in data base: {}", town);
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "User House in this town not found in data base: " + town);
             }
-            if (town != null && !town.matches("[A-Za-z\\-\\s]*$")) {
-                logger.warn("Town: " + town + " has invalid characters");
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Town: " + town + " is null");
-            }
-            logger.info("User house in this town retrieved from data base: " + town);
-            return userHouses.
-                    stream().
-                    map(userHouseMapper::toDto).
-                    collect(Collectors.toList());
+            logger.info("User house in this town retrieved from data base: {}", town);
+            return userHouses;
         } catch (Exception e) {
-            logger.error("Error getting information user house by town: " + town);
+            logger.error("Error getting information user house by town: {}", town);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error getting information user house by town: " + e.getMessage());
         }
     }
 
+    @ConditionalGet(RecordCounter.Table.USER_HOUSE)
     @GetMapping("/country/{country}")
-    public List<UserHouseDto> getHouseInCountry(@PathVariable String country) {
+    public List<UserHouseDto> getHouseInCountry(@PathVariable @ValidParam(ParamRule.COUNTRY) String country) {
         try {
-            List<UserHouse> userHouses = userHouseService.getUserHousesInCountry(country);
-            if (!Arrays.stream(SupportedCountries.values()).
-                    map(Enum::name).
-                    toList().
-                    contains(country.toUpperCase())) {
-                logger.warn("Unsupported country requested: " + country);
+            if (!SupportedCountries.isSupported(country)) {
+                logger.warn("Unsupported country requested: {}", country);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Unsupported country requested: " + country);
             }
+            List<UserHouseDto> userHouses = userHouseService.getUserHousesInCountry(country);
             if (userHouses.isEmpty()) {
-                logger.warn("User house in this country not found in data base: " + country);
+                logger.warn("User house in this country not found in data base: {}", country);
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "User house in this country not found in data base: " + country);
             }
-            logger.info("User house in this country retrieved from data base: " + country);
-            return userHouses.
-                    stream().
-                    map(userHouseMapper::toDto).
-                    collect(Collectors.toList());
+            logger.info("User house in this country retrieved from data base: {}", country);
+            return userHouses;
         } catch (Exception e) {
-            logger.error("Error getting information user house by country: " + country);
+            logger.error("Error getting information user house by country: {}", country);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error getting information user house by country: " + e.getMessage());
         }
@@ -137,101 +231,63 @@ public class UserHouseController {
     @PostMapping("/add")
     public UserHouseDto addUserHouse(@RequestBody UserHouseDto userHouseDto) {
         try {
-            if (userHouseDto.getUserName() != null && !userHouseDto.getUserName().matches("[a-zA-Z0-9_]+$")) {
-                logger.warn("Invalid user name format: " + userHouseDto.getUserName());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid user name format: " + userHouseDto.getUserName());
-            }
-            if (userHouseDto.getUserPhone() != null &&
-                    !userHouseDto.getUserPhone().matches("^\\+(?:[0-9] ?){6,14}[0-9]$")) {
-                logger.warn("Invalid phone number format: " + userHouseDto.getUserPhone());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid phone number format: " + userHouseDto.getUserPhone());
-            }
-            if (!Arrays.stream(SupportedCountries.values()).
-                    map(Enum::name).
-                    toList().
-                    contains(userHouseDto.getCountry().toUpperCase())) {
-                logger.warn("Unsupported country request: " + userHouseDto.getCountry());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Unsupported country request: " + userHouseDto.getCountry());
-            }
-            if (userHouseDto.getTown() != null && !userHouseDto.getTown().matches("[A-Za-z\\-\\s]*$")) {
-                logger.warn("Invalid town name characters: " + userHouseDto.getTown());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid town name characters: " + userHouseDto.getTown());
-            }
-            if (userHouseDto.getAddress() != null && !userHouseDto.getAddress().matches("^[A-Za-z-]+$")) {
-                logger.warn("Invalid address name characters: " + userHouseDto.getAddress());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid address name characters: " + userHouseDto.getAddress());
-            }
-            if (userHouseDto.getHouseNumber() != null && !userHouseDto.getHouseNumber().toString().matches("\\d+")
-                    && userHouseDto.getHouseNumber() < 0) {
-                logger.warn("House number has invalid characters or less then 0: " + userHouseDto.getHouseNumber());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "House number has invalid characters or less then 0: " + userHouseDto.getHouseNumber());
-            }
-            if (userHouseDto.getFlatNumber() != null && !userHouseDto.getFlatNumber().toString().matches("\\d+")
-                    && userHouseDto.getFlatNumber() < 0) {
-                logger.warn("Flat number has invalid characters or less then 0: " + userHouseDto.getFlatNumber());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Flat number has invalid characters or less then 0: " + userHouseDto.getFlatNumber());
-            }
+            requestValidator.validateUserHouse(userHouseDto);
             UserHouse userHouse = userHouseMapper.toEntity(userHouseDto);
             UserHouse userSave = userHouseService.save(userHouse);
-            logger.info("New user created with id: " + userHouseDto.getId());
+            logger.info("New user created with id: {}", userHouseDto.getId());
             return userHouseMapper.toDto(userSave);
         } catch (Exception e) {
-            logger.error("Error save user house to data base: " + e.getMessage());
+            logger.error("Error save user house to data base: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error save user house to data base: " + e.getMessage());
         }
     }
 
     @PutMapping("/update/houseNumber/{houseNumber}/flatNumber/{flatNumber}")
-    public UserHouseDto updateUserHouse(@PathVariable Integer houseNumber,
-                                        @PathVariable Integer flatNumber, @RequestBody UserHouseDto userHouseDto) {
+    public UserHouseDto updateUserHouse(@PathVariable @ValidParam(ParamRule.NON_NEGATIVE) Integer houseNumber,
+                                        @PathVariable @ValidParam(ParamRule.NON_NEGATIVE) Integer flatNumber,
+                                        @RequestBody UserHouseDto userHouseDto,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                        HttpServletResponse response) {
         try {
-            Optional<UserHouse> userHouseOptional = userHouseService.
-                    getInformationByHouseNumberAndFlatNumber(houseNumber, flatNumber);
-            UserHouse userHouse = userHouseOptional.orElseThrow(() -> {
-                logger.warn("House number: " + houseNumber + " or flat number: " + flatNumber +
-                        " not found in data base");
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "House number: " + houseNumber +
-                        " or flat number: " + flatNumber +
-                        " not found in data base");
-            });
             if (houseNumber < 0 || flatNumber < 0) {
-                logger.warn("House number: " + houseNumber + " or flat number: " + flatNumber + " less then 0");
+                logger.warn("House number: {} or flat number: {} less then 0", houseNumber, flatNumber);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "House number: " + houseNumber + " or flat number: " + flatNumber + " less then 0");
             }
-            if (!userHouseDto.getUserName().matches("[a-zA-Z0-9_]+$")) {
-                logger.warn("Invalid user name format: " + userHouseDto.getUserName());
+            if (!CharacterScanner.isWordCharacters(userHouseDto.getUserName())) {
+                logger.warn("Invalid user name format: {}", userHouseDto.getUserName());
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Invalid user name format: " + userHouseDto.getUserName());
             }
-            if (!userHouseDto.getUserPhone().matches("^\\+(?:[0-9] ?){6,14}[0-9]$")) {
-                logger.warn("Invalid phone format: " + userHouseDto.getUserPhone());
+            if (!CharacterScanner.isPhone(userHouseDto.getUserPhone())) {
+                logger.warn("Invalid phone format: {}", userHouseDto.getUserPhone());
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Invalid phone format: " + userHouseDto.getUserPhone());
             }
-            if (!Arrays.stream(SupportedCountries.
-                            values()).
-                    map(Enum::name).
-                    toList().
-                    contains(userHouseDto.getCountry().toUpperCase())) {
-                logger.warn("Unsupported country request to update: " + userHouseDto.getCountry());
+            if (!SupportedCountries.isSupported(userHouseDto.getCountry())) {
+                logger.warn("Unsupported country request to update: {}", userHouseDto.getCountry());
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Unsupported country request to update: " + userHouseDto.getCountry());
             }
-            UserHouse userHouseUpdate = userHouseService.updateUserHouse(userHouse, userHouseDto);
-            logger.info("Updating information with house number and flat number: "
-                    + houseNumber + "/" + flatNumber);
+            UserHouse userHouseUpdate = userHouseService.updateUserHouse(houseNumber, flatNumber, userHouseDto,
+                    ETags.fromIfMatch(ifMatch)).orElseThrow(() -> {
+                        logger.warn("House number: {} or flat number: {} not found in data base",
+                                houseNumber, flatNumber);
+                        return new ResponseStatusException(HttpStatus.NOT_FOUND, "House number: " + houseNumber +
+                                " or flat number: " + flatNumber +
+                                " not found in data base");
+                    });
+            logger.info("Updating information with house number and flat number: {}/{}", houseNumber, flatNumber);
+            response.setHeader(HttpHeaders.ETAG,
+                    ETags.ofEntity(userHouseUpdate.getId(), userHouseUpdate.getVersion(), accept));
             return userHouseMapper.toDto(userHouseUpdate);
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Conflicting update of user house: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage());
         } catch (Exception e) {
-            logger.warn("Error updating user house: " + e.getMessage());
+            logger.warn("Error updating user house: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error updating user house: " + e.getMessage());
         }
@@ -241,27 +297,40 @@ public class UserHouseController {
     public String deleteUserHouse(@PathVariable Integer houseNumber, @PathVariable Integer flatNumber) {
         try {
             if (houseNumber < 0 && flatNumber < 0) {
-                logger.warn("House number: " + houseNumber + " or flat number: " + flatNumber + " less then 0");
+                logger.warn("House number: {} or flat number: {} less then 0", houseNumber, flatNumber);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "House number: " + houseNumber + " or flat number: " + flatNumber + " less then 0");
             }
-            Optional<UserHouse> userHouse = userHouseService.
-                    getInformationByHouseNumberAndFlatNumber(houseNumber, flatNumber);
-            if (userHouse.isEmpty()) {
-                logger.warn("User house with house number: " + houseNumber + " or flat number: " + flatNumber
-                        + " is empty");
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User house with house number: "
+            if (!userHouseService.deleteUserHouse(houseNumber, flatNumber)) {
+                logger.warn("User house with house number: {} or flat number: {} is empty", houseNumber, flatNumber);
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User house with house number: "
                         + houseNumber + " or flat number: " + flatNumber + " is empty");
             }
-            userHouseService.deleteUserHouse(userHouse.get());
-            logger.info("User house with house number: " + houseNumber + " and flat number: " + flatNumber
-                    + " was successful deleted");
+            logger.info("User house with house number: {} and flat number: {} was successful deleted",
+                    houseNumber, flatNumber);
             return "User house with house number: " + houseNumber + " and flat number: " + flatNumber
                     + " was successful deleted";
         } catch (Exception e) {
-            logger.error("Error delete user house from data base: " + e.getMessage());
+            logger.error("Error delete user house from data base: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error delete user house from data base: " + e.getMessage());
         }
     }
+
+    private List<GroupCountDto> toGroupCounts(Map<String, Long> counts) {
+        return counts.
+                entrySet().
+                stream().
+                map(entry -> new GroupCountDto(entry.getKey(), entry.getValue())).
+                collect(Collectors.toList());
+    }
+
+    private Integer toCursorId(String cursor) {
+        try {
+            return cursorMapper.toId(cursor);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid cursor: {}", cursor);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
@@ -1,206 +1,242 @@
 package com.example.restful_web_service.controller;
 
+import com.example.restful_web_service.controller.dto.CursorPageDto;
 import com.example.restful_web_service.controller.dto.UserPassportDto;
+import com.example.restful_web_service.controller.etag.ConditionalGet;
+import com.example.restful_web_service.controller.etag.ETags;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.NdjsonMapper;
 import com.example.restful_web_service.controller.mapper.UserPassportMapper;
+import com.example.restful_web_service.controller.validation.CharacterScanner;
+import com.example.restful_web_service.controller.validation.ParamRule;
+import com.example.restful_web_service.controller.validation.RequestValidator;
+import com.example.restful_web_service.controller.validation.ValidParam;
 import com.example.restful_web_service.entity.UserPassport;
+import com.example.restful_web_service.service.RecordCounter;
 import com.example.restful_web_service.service.UserPassportService;
-import org.apache.log4j.Logger;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/users/passport")
 public class UserPassportController {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_EXPIRING_DAYS = 3650;
 
     private final UserPassportMapper userPassportMapper;
+    private final CursorMapper cursorMapper;
     private final UserPassportService userPassportService;
-    private final Logger logger = Logger.getLogger(UserPassportController.class);
+    private final NdjsonMapper ndjsonMapper;
+    private final RequestValidator requestValidator;
+    private final Logger logger = LogManager.getLogger(UserPassportController.class);
 
     @Autowired
-    public UserPassportController(UserPassportMapper userPassportMapper, UserPassportService userPassportService) {
+    public UserPassportController(UserPassportMapper userPassportMapper, CursorMapper cursorMapper,
+                                  UserPassportService userPassportService, NdjsonMapper ndjsonMapper,
+                                  RequestValidator requestValidator) {
         this.userPassportMapper = userPassportMapper;
+        this.cursorMapper = cursorMapper;
         this.userPassportService = userPassportService;
+        this.ndjsonMapper = ndjsonMapper;
+        this.requestValidator = requestValidator;
     }
 
+    @ConditionalGet(RecordCounter.Table.USER_PASSPORT)
     @GetMapping
-    public List<UserPassportDto> getAllInformation() {
+    public CursorPageDto<UserPassportDto> getAllInformation(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "100") Integer limit) {
+        requestValidator.validatePageLimit(limit);
+        Integer afterId = toCursorId(cursor);
         try {
-            List<UserPassport> userPassports = userPassportService.getAllInformation();
-            if (userPassports.isEmpty()) {
+            List<UserPassportDto> userPassports = userPassportService.getPassportsAfterId(afterId, limit + 1);
+            if (userPassports.isEmpty() && cursor == null) {
                 logger.warn("Passport details not found");
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Passport details not found");
             }
-            logger.info("Passport information retrieved from data base");
-            return userPassports.
-                    stream().
-                    map(userPassportMapper::toDto).
-                    collect(Collectors.toList());
+            boolean hasNextPage = userPassports.size() > limit;
+            List<UserPassportDto> page = hasNextPage ? userPassports.subList(0, limit) : userPassports;
+            String nextCursor = hasNextPage ? cursorMapper.toCursor(page.get(page.size() - 1).getId()) : null;
+            logger.info("Page of passports retrieved from data base");
+            return new CursorPageDto<>(page, nextCursor);
         } catch (Exception e) {
-            logger.error("Error retrieving passport information from data base: " + e.getMessage());
+            logger.error("Error retrieving passport information from data base: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    @ConditionalGet(RecordCounter.Table.USER_PASSPORT)
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllInformation() {
+        logger.info("Streaming export of user passports started");
+        StreamingResponseBody body = outputStream -> userPassportService.exportAllInformation(userPassport ->
+                ndjsonMapper.writeLine(outputStream, userPassportMapper.toDto(userPassport)));
+        return ResponseEntity.ok().
+                contentType(MediaType.APPLICATION_NDJSON).
+                body(body);
+    }
+
+    @GetMapping("/count")
+    public Long getUserPassportCount(@RequestParam(defaultValue = "false") boolean approximate) {
+        try {
+            Long count = approximate ? userPassportService.getApproximateUserPassportCount() :
+                    userPassportService.getUserPassportCount();
+            if (count == 0) {
+                logger.warn("No user passports found in the Data Base");
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User passports not found");
+            }
+            logger.info("Number of user passports in the database: {}", count);
+            return count;
+        } catch (Exception e) {
+            logger.error("Error getting information by user passport count: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
     @GetMapping("/{passportNumber}")
-    public UserPassportDto getPassportInformationByNumber(@PathVariable Integer passportNumber) {
+    public UserPassportDto getPassportInformationByNumber(@PathVariable Integer passportNumber,
+                                                          WebRequest webRequest) {
         try {
             Optional<UserPassport> userOptional = userPassportService.getPassportInformationByNumber(passportNumber);
             UserPassport user = userOptional.orElseThrow(() -> {
-                logger.warn("Passport number not found in data base: " + passportNumber);
+                logger.warn("Passport number not found in data base: {}", passportNumber);
                 return new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Passport number not found in data base: " + passportNumber);
             });
-            logger.info("Getting passport information by passport number: " + passportNumber);
+            logger.info("Getting passport information by passport number: {}", passportNumber);
+            if (webRequest.checkNotModified(ETags.ofEntity(user.getId(), user.getVersion(),
+                    webRequest.getHeader(HttpHeaders.ACCEPT)))) {
+                return null;
+            }
             return userPassportMapper.toDto(user);
         } catch (Exception e) {
-            logger.error("Error getting passport information by passport number from data base: " + e.getMessage());
+            logger.error("Error getting passport information by passport number from data base: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error getting passport information by passport number from data base: " + e.getMessage());
         }
     }
 
+    @ConditionalGet(RecordCounter.Table.USER_PASSPORT)
     @GetMapping("/nationality")
-    public List<UserPassportDto> getPassportInformationByNationality(@RequestParam String nationality) {
+    public List<UserPassportDto> getPassportInformationByNationality(
+            @RequestParam @ValidParam(ParamRule.NATIONALITY) String nationality) {
         try {
-            List<UserPassport> userPassports = userPassportService.getPassportInformationByNationality(nationality);
-            if (userPassports.isEmpty()) {
-                logger.warn("Passport details by nationality not found: " + nationality);
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
-                        "Passport details by nationality not found: " + nationality);
-            }
-            if (!nationality.matches("^[\\p{L} -]+$")) {
+            if (!CharacterScanner.isNationality(nationality)) {
                 logger.warn("Invalid parameter value: nationality contains invalid characters");
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Invalid parameter value: nationality contains invalid characters");
             }
             if (nationality.length() < 2 || nationality.length() > 90) {
-                logger.warn("Your nationality lenght less 2 or more 90: " + nationality);
+                logger.warn("Your nationality lenght less 2 or more 90: {}", nationality);
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "Your nationality lenght less 2 or more 90: " + nationality);
             }
-            logger.info("Passport details by nationality retrieved from data base: " + nationality);
-            return userPassports.
-                    stream().
-                    map(userPassportMapper::toDto).
-                    collect(Collectors.toList());
+            List<UserPassportDto> userPassports = userPassportService.getPassportInformationByNationality(nationality);
+            if (userPassports.isEmpty()) {
+                logger.warn("Passport details by nationality not found: {}", nationality);
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Passport details by nationality not found: " + nationality);
+            }
+            logger.info("Passport details by nationality retrieved from data base: {}", nationality);
+            return userPassports;
         } catch (Exception e) {
-            logger.error("Error getting passport information by nationality from data base: " + e.getMessage());
+            logger.error("Error getting passport information by nationality from data base: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error getting passport information by nationality from data base: " + e.getMessage());
         }
     }
 
+    @ConditionalGet(RecordCounter.Table.USER_PASSPORT)
     @GetMapping("/valid")
-    public List<UserPassportDto> getValidPassport() {
+    public List<UserPassportDto> getValidPassport(@RequestParam(defaultValue = "0") Integer page,
+                                                  @RequestParam(defaultValue = "100") Integer size) {
         try {
-            LocalDate localDate = LocalDate.now();
-            List<UserPassport> userPassports = userPassportService.getAllInformation().stream().
-                    filter(userPassport -> userPassport.getDateOfExpire() == null
-                            || LocalDate.parse(userPassport.getDateOfExpire(),
-                            DateTimeFormatter.ofPattern("dd.MM.yyyy")).isAfter(localDate)).toList();
+            validatePage(page, size);
+            List<UserPassportDto> userPassports = userPassportService.getValidPassports(page, size);
             if (userPassports.isEmpty()) {
                 logger.warn("Valid passport details not found");
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Valid passport details not found");
             }
             logger.info("Valid passport information retrieved from data base");
-            return userPassports.
-                    stream().
-                    map(userPassportMapper::toDto).
-                    collect(Collectors.toList());
+            return userPassports;
         } catch (Exception e) {
-            logger.error("Error getting valid user passport from data base: " + e.getMessage());
+            logger.error("Error getting valid user passport from data base: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error getting valid user passport from data base: " + e.getMessage());
         }
     }
 
+    @ConditionalGet(RecordCounter.Table.USER_PASSPORT)
     @GetMapping("/expired")
-    public List<UserPassportDto> getExpiredPassport() {
+    public List<UserPassportDto> getExpiredPassport(@RequestParam(defaultValue = "0") Integer page,
+                                                    @RequestParam(defaultValue = "100") Integer size) {
         try {
-            LocalDate localDate = LocalDate.now();
-            List<UserPassport> userPassports = userPassportService.getAllInformation().
-                    stream().filter(userPassport -> userPassport.getDateOfExpire() != null
-                            && LocalDate.parse(userPassport.getDateOfExpire(),
-                            DateTimeFormatter.ofPattern("dd.MM.yyyy")).isBefore(localDate)).toList();
+            validatePage(page, size);
+            List<UserPassportDto> userPassports = userPassportService.getExpiredPassports(page, size);
             if (userPassports.isEmpty()) {
                 logger.warn("Expired passport details not found");
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Expired passport details not found");
             }
             logger.info("Expired passport retrieved from data base");
-            return userPassports.
-                    stream().
-                    map(userPassportMapper::toDto).
-                    collect(Collectors.toList());
+            return userPassports;
         } catch (Exception e) {
-            logger.error("Error getting expired user passport from database: " + e.getMessage());
+            logger.error("Error getting expired user passport from database: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error getting expired user passport from database: " + e.getMessage());
         }
     }
 
-    @PostMapping
-    public UserPassportDto addUserPassport(@RequestBody UserPassportDto userPassportDto) {
+    @ConditionalGet(value = RecordCounter.Table.USER_PASSPORT, daily = true)
+    @GetMapping("/expiring")
+    public List<UserPassportDto> getExpiringPassport(@RequestParam Integer days,
+                                                     @RequestParam(defaultValue = "0") Integer page,
+                                                     @RequestParam(defaultValue = "100") Integer size) {
         try {
-            if(userPassportDto.getName() != null && !userPassportDto.getName().matches("[a-zA-Z\\-]+")) {
-                logger.warn("Invalid name characters: " + userPassportDto.getName());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid name characters: " + userPassportDto.getName());
-            }
-            if (userPassportDto.getSurname() != null && !userPassportDto.getSurname().matches("[a-zA-Z\\-]+")) {
-                logger.warn("Invalid surname characters: " + userPassportDto.getSurname());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid surname characters: " + userPassportDto.getSurname());
-            }
-            if (!userPassportDto.getSex().equals("Male") && !userPassportDto.getSex().equals("Female")) {
-                logger.warn("Gender not specified");
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Gender not specified");
-            }
-            if (userPassportDto.getDateOfBirth() != null &&
-                    !userPassportDto.getDateOfBirth().matches("\\d{2}/\\d{2}/\\d{4}")) {
-                logger.warn("Invalid date of birth characters: " + userPassportDto.getDateOfBirth());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid date of birth characters: " + userPassportDto.getDateOfBirth());
+            if (days < 0 || days > MAX_EXPIRING_DAYS) {
+                logger.warn("Invalid number of days: {}", days);
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid number of days: " + days);
             }
-            if (userPassportDto.getNationality() != null &&
-                    !userPassportDto.getNationality().matches("^[\\p{L} -]+$")) {
-                logger.warn("Invalid nationality characters: " + userPassportDto.getNationality());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid nationality characters: " + userPassportDto.getNationality());
-            }
-            if (userPassportDto.getDateOfIssue() != null &&
-                    !userPassportDto.getDateOfIssue().matches("\\d{2}/\\d{2}/\\d{4}")) {
-                logger.warn("Invalid date of issue characters: " + userPassportDto.getDateOfIssue());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid date of issue characters: " + userPassportDto.getDateOfIssue());
-            }
-            if (userPassportDto.getDateOfExpire() != null &&
-                    !userPassportDto.getDateOfExpire().matches("\\d{2}/\\d{2}/\\d{4}")) {
-                logger.warn("Invalid date of expire characters: " + userPassportDto.getDateOfExpire());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Invalid date of expire characters: " + userPassportDto.getDateOfExpire());
-            }
-            if (userPassportDto.getPassportNumber() != null &&
-                    !userPassportDto.getPassportNumber().toString().matches("\\d{9}")) {
-                logger.warn("Passport number more or less than 9 or invalid passport number characters: "
-                        + userPassportDto.getPassportNumber());
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Passport number more or less than 9 or invalid passport number characters: "
-                                + userPassportDto.getPassportNumber());
+            validatePage(page, size);
+            List<UserPassportDto> userPassports = userPassportService.getExpiringPassports(days, page, size);
+            if (userPassports.isEmpty()) {
+                logger.warn("Passports expiring within {} days not found", days);
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Passports expiring within " + days + " days not found");
             }
+            logger.info("Passports expiring within {} days retrieved from data base", days);
+            return userPassports;
+        } catch (Exception e) {
+            logger.error("Error getting expiring user passport from database: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Error getting expiring user passport from database: " + e.getMessage());
+        }
+    }
+
+    @PostMapping
+    public UserPassportDto addUserPassport(@RequestBody UserPassportDto userPassportDto) {
+        try {
+            requestValidator.validateUserPassport(userPassportDto);
             UserPassport userPassport = userPassportMapper.toEntity(userPassportDto);
             UserPassport userSave = userPassportService.save(userPassport);
-            logger.info("New user created with id: " + userSave.getId());
+            logger.info("New user created with id: {}", userSave.getId());
             return userPassportMapper.toDto(userSave);
         } catch (Exception e) {
-            logger.error("Error save user passport information to data base: " + e.getMessage());
+            logger.error("Error save user passport information to data base: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error save user passport information to data base: " + e.getMessage());
         }
@@ -208,21 +244,27 @@ public class UserPassportController {
 
     @PutMapping("/{passportNumber}")
     public UserPassportDto updateUserPassport(@PathVariable Integer passportNumber,
-                                              @RequestBody UserPassportDto userPassportDto) {
+                                              @RequestBody UserPassportDto userPassportDto,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                              String ifMatch,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                                              String accept, HttpServletResponse response) {
         try {
-            Optional<UserPassport> userPassportOptional = userPassportService.
-                    getPassportInformationByNumber(passportNumber);
-            UserPassport userPassportByNumber = userPassportOptional.orElseThrow(() -> {
-                logger.warn("Passport user with this passport number: " + passportNumber + " not found");
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+            UserPassport userPassportUpdate = userPassportService.updateUserPassport(passportNumber,
+                    userPassportMapper.toEntity(userPassportDto), ETags.fromIfMatch(ifMatch)).orElseThrow(() -> {
+                logger.warn("Passport user with this passport number: {} not found", passportNumber);
+                return new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Passport user with this passport number: " + passportNumber + " not found");
             });
-            UserPassport userPassportUpdate = userPassportService.
-                    updateUserPassport(userPassportByNumber, userPassportDto);
-            logger.info("User with passport number: " + passportNumber + " updated");
+            logger.info("User with passport number: {} updated", passportNumber);
+            response.setHeader(HttpHeaders.ETAG,
+                    ETags.ofEntity(userPassportUpdate.getId(), userPassportUpdate.getVersion(), accept));
             return userPassportMapper.toDto(userPassportUpdate);
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Conflicting update of user passport: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage());
         } catch (Exception e) {
-            logger.error("Error update user passport to data base: " + e.getMessage());
+            logger.error("Error update user passport to data base: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error update user passport to data base: " + e.getMessage());
         }
@@ -237,16 +279,33 @@ public class UserPassportController {
             }
             Optional<UserPassport> userPassport = userPassportService.getPassportInformationByNumber(passportNumber);
             if (userPassport.isEmpty()) {
-                logger.warn("User passport with passport number: " + passportNumber + " not found in data base");
+                logger.warn("User passport with passport number: {} not found in data base", passportNumber);
                 return "User passport with passport number: " + passportNumber + " not found in data base";
             }
             userPassportService.delete(userPassport.get());
-            logger.info("User passport with passport number: " + passportNumber + " was successfully deleted");
+            logger.info("User passport with passport number: {} was successfully deleted", passportNumber);
             return "User passport with passport number: " + passportNumber + " was successfully deleted";
         } catch (Exception e) {
-            logger.error("Error delete user passport from data base: " + e.getMessage());
+            logger.error("Error delete user passport from data base: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error delete user passport from data base: " + e.getMessage());
         }
     }
+
+    private void validatePage(Integer page, Integer size) {
+        if (page < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            logger.warn("Invalid page: {} or page size: {}", page, size);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid page: " + page + " or page size: " + size);
+        }
+    }
+
+    private Integer toCursorId(String cursor) {
+        try {
+            return cursorMapper.toId(cursor);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid cursor: {}", cursor);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
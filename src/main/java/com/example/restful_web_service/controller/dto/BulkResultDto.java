@@ -0,0 +1,18 @@
+package com.example.restful_web_service.controller.dto;
+
+import com.example.restful_web_service.controller.enums.BulkResultStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkResultDto {
+    private Integer index;
+    private Integer id;
+    private BulkResultStatus status;
+    private String error;
+}
@@ -0,0 +1,23 @@
+package com.example.restful_web_service.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserProfileDto {
+    private Integer id;
+    private String name;
+    private Integer age;
+    private String email;
+    private String phone;
+    private UserPassportDto userPassport;
+    private List<UserCarDto> userCars;
+    private List<UserHouseDto> userHouses;
+}
@@ -0,0 +1,7 @@
+package com.example.restful_web_service.controller.enums;
+
+public enum BulkResultStatus {
+
+    CREATED,
+    REJECTED
+}
@@ -1,5 +1,10 @@
 package com.example.restful_web_service.controller.enums;
 
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 public enum SupportedCountries {
 
     UKRAINE,
@@ -28,6 +33,13 @@ public enum SupportedCountries {
     FINLAND,
     SWEDEN,
     NORWAY,
-    PORTUGAL,
+    PORTUGAL;
+
+    private static final Set<String> NAMES = Arrays.stream(values()).
+            map(Enum::name).
+            collect(Collectors.toUnmodifiableSet());
 
+    public static boolean isSupported(String country) {
+        return country != null && NAMES.contains(country.toUpperCase(Locale.ROOT));
+    }
 }
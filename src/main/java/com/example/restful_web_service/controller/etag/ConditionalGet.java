@@ -0,0 +1,25 @@
+package com.example.restful_web_service.controller.etag;
+
+import com.example.restful_web_service.service.RecordCounter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read endpoint whose response depends only on the listed tables (and its own request parameters). Its
+ * ETag is derived from their change counters and {@code If-None-Match} is answered with 304 before the handler
+ * runs, so neither the query nor the serialisation happens for an unchanged collection.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    RecordCounter.Table[] value();
+
+    /**
+     * The response also depends on the current date, e.g. a window relative to today.
+     */
+    boolean daily() default false;
+}
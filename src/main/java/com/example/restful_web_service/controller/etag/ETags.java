@@ -0,0 +1,97 @@
+package com.example.restful_web_service.controller.etag;
+
+import com.example.restful_web_service.service.RecordCounter;
+import com.example.restful_web_service.service.VersionTag;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+public final class ETags {
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    private static final String CBOR_SUFFIX = "-cbor";
+    private static final String SMILE_SUFFIX = "-smile";
+
+    private ETags() {
+    }
+
+    /**
+     * Strong validator of a single row. The id is part of it because some resources are addressed by mutable
+     * natural keys, so the same URL can point to a different row with the same version.
+     */
+    public static String ofEntity(Integer id, long version, String accept) {
+        return "\"" + VersionTag.of(id, version) + representation(accept) + "\"";
+    }
+
+    /**
+     * Version tag an {@code If-Match} header asks for; {@link VersionTag#ANY} when the header is absent. The
+     * encoding suffix is dropped, so a tag received as CBOR or Smile guards the update like the JSON one. Weak or
+     * multiple validators are passed through unchanged and never match, which answers them with 412.
+     */
+    public static String fromIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return VersionTag.ANY;
+        }
+        String value = ifMatch.trim();
+        if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+            String tag = value.substring(1, value.length() - 1);
+            for (String suffix : List.of(CBOR_SUFFIX, SMILE_SUFFIX)) {
+                if (tag.endsWith(suffix)) {
+                    return tag.substring(0, tag.length() - suffix.length());
+                }
+            }
+            return tag;
+        }
+        return value;
+    }
+
+    public static String ofTables(RecordCounter.Table[] tables, Map<RecordCounter.Table, Long> versions,
+                                  LocalDate date, String accept) {
+        StringJoiner etag = new StringJoiner("-");
+        for (RecordCounter.Table table : tables) {
+            etag.add(table.getTableName() + "." + versions.get(table));
+        }
+        if (date != null) {
+            etag.add(date.toString());
+        }
+        return "\"" + etag + representation(accept) + "\"";
+    }
+
+    /**
+     * Suffix of the encoding the {@code Accept} header negotiates: none for JSON, {@code -cbor} or {@code -smile}
+     * for the binary converters. The bodies differ byte for byte, so they must not share a strong validator or a
+     * cache could update a stored CBOR response from a JSON 304. Types are tried by quality and specificity, and
+     * JSON wins wildcards as it does in content negotiation.
+     */
+    static String representation(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return CBOR_SUFFIX;
+            }
+            if (mediaType.isCompatibleWith(SMILE)) {
+                return SMILE_SUFFIX;
+            }
+        }
+        return "";
+    }
+}
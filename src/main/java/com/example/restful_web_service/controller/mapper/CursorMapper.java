@@ -0,0 +1,60 @@
+package com.example.restful_web_service.controller.mapper;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Component
+public class CursorMapper {
+
+    private static final char SEPARATOR = ':';
+
+    public String toCursor(Integer id) {
+        return encode(id.toString());
+    }
+
+    /**
+     * Cursor for a page ordered by another column first: the id is followed by that column's value, so
+     * {@link #toId} still reads it.
+     */
+    public String toCursor(Integer id, Object sortValue) {
+        return encode(id.toString() + SEPARATOR + sortValue);
+    }
+
+    public Integer toId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        String decoded = decode(cursor);
+        int separator = decoded.indexOf(SEPARATOR);
+        try {
+            return Integer.valueOf(separator < 0 ? decoded : decoded.substring(0, separator));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String toSortValue(String cursor) {
+        String decoded = decode(cursor);
+        int separator = decoded.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return decoded.substring(separator + 1);
+    }
+
+    private String encode(String value) {
+        return Base64.getUrlEncoder().
+                withoutPadding().
+                encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
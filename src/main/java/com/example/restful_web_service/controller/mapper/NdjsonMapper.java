@@ -0,0 +1,32 @@
+package com.example.restful_web_service.controller.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@Component
+public class NdjsonMapper {
+
+    private final ObjectWriter objectWriter;
+
+    public NdjsonMapper(ObjectMapper objectMapper) {
+        this.objectWriter = objectMapper.writer().
+                without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).
+                without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void writeLine(OutputStream outputStream, Object dto) {
+        try {
+            objectWriter.writeValue(outputStream, dto);
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
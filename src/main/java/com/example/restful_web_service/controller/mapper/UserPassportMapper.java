@@ -4,19 +4,24 @@ import com.example.restful_web_service.controller.dto.UserPassportDto;
 import com.example.restful_web_service.entity.UserPassport;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
 @Component
 public class UserPassportMapper {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
     public UserPassportDto toDto(UserPassport userPassport) {
         return new UserPassportDto(
                 userPassport.getId(),
                 userPassport.getName(),
                 userPassport.getSurname(),
                 userPassport.getSex(),
-                userPassport.getDateOfBirth(),
+                toDate(userPassport.getDateOfBirth()),
                 userPassport.getNationality(),
-                userPassport.getDateOfIssue(),
-                userPassport.getDateOfExpire(),
+                toDate(userPassport.getDateOfIssue()),
+                toDate(userPassport.getDateOfExpire()),
                 userPassport.getPassportNumber()
         );
     }
@@ -27,11 +32,19 @@ public class UserPassportMapper {
                 userPassportDto.getName(),
                 userPassportDto.getSurname(),
                 userPassportDto.getSex(),
-                userPassportDto.getDateOfBirth(),
+                toLocalDate(userPassportDto.getDateOfBirth()),
                 userPassportDto.getNationality(),
-                userPassportDto.getDateOfIssue(),
-                userPassportDto.getDateOfExpire(),
+                toLocalDate(userPassportDto.getDateOfIssue()),
+                toLocalDate(userPassportDto.getDateOfExpire()),
                 userPassportDto.getPassportNumber()
         );
     }
+
+    private String toDate(LocalDate localDate) {
+        return localDate == null ? null : localDate.format(DATE_FORMATTER);
+    }
+
+    private LocalDate toLocalDate(String date) {
+        return date == null ? null : LocalDate.parse(date, DATE_FORMATTER);
+    }
 }
@@ -0,0 +1,44 @@
+package com.example.restful_web_service.controller.mapper;
+
+import com.example.restful_web_service.controller.dto.UserProfileDto;
+import com.example.restful_web_service.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class UserProfileMapper {
+
+    private final UserPassportMapper userPassportMapper;
+    private final UserCarMapper userCarMapper;
+    private final UserHouseMapper userHouseMapper;
+
+    @Autowired
+    public UserProfileMapper(UserPassportMapper userPassportMapper, UserCarMapper userCarMapper,
+                             UserHouseMapper userHouseMapper) {
+        this.userPassportMapper = userPassportMapper;
+        this.userCarMapper = userCarMapper;
+        this.userHouseMapper = userHouseMapper;
+    }
+
+    public UserProfileDto toDto(User user) {
+        return new UserProfileDto(
+                user.getId(),
+                user.getName(),
+                user.getAge(),
+                user.getEmail(),
+                user.getPhone(),
+                user.getUserPassport() == null ? null : userPassportMapper.toDto(user.getUserPassport()),
+                user.getUserCars() == null ? List.of() : user.getUserCars().
+                        stream().
+                        map(userCarMapper::toDto).
+                        collect(Collectors.toList()),
+                user.getUserHouses() == null ? List.of() : user.getUserHouses().
+                        stream().
+                        map(userHouseMapper::toDto).
+                        collect(Collectors.toList())
+        );
+    }
+}
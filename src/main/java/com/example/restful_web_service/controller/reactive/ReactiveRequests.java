@@ -0,0 +1,94 @@
+package com.example.restful_web_service.controller.reactive;
+
+import com.example.restful_web_service.controller.dto.CursorPageDto;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.validation.ParamRule;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Parameter checks and streaming responses shared by the functional handlers. Parameters go through the same
+ * {@link ParamRule}s as the {@code @ValidParam} annotations on the MVC controllers.
+ */
+final class ReactiveRequests {
+
+    private ReactiveRequests() {
+    }
+
+    static String pathVariable(ServerRequest request, String name, ParamRule rule) {
+        return checked(name, request.pathVariable(name), rule);
+    }
+
+    static Integer pathInteger(ServerRequest request, String name) {
+        return Integer.valueOf(pathVariable(request, name, ParamRule.NON_NEGATIVE));
+    }
+
+    static Optional<String> queryParam(ServerRequest request, String name, ParamRule rule) {
+        return request.queryParam(name).map(value -> checked(name, value, rule));
+    }
+
+    static Integer queryInteger(ServerRequest request, String name, Integer defaultValue) {
+        return queryParam(request, name, ParamRule.NON_NEGATIVE).map(Integer::valueOf).orElse(defaultValue);
+    }
+
+    /**
+     * Streams the rows as they arrive from R2DBC: as NDJSON when the client accepts it, otherwise as a JSON array.
+     * Demand from the connection propagates to the database cursor, so a slow client slows the fetch instead of
+     * buffering the table. An empty result is a 404, as in the MVC controllers.
+     */
+    static <T> Mono<ServerResponse> stream(ServerRequest request, Flux<T> body, Class<T> type,
+                                           String notFoundMessage) {
+        MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON) ?
+                MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().
+                contentType(mediaType).
+                body(body.switchIfEmpty(notFound(notFoundMessage)), type);
+    }
+
+    static Integer cursorId(CursorMapper cursorMapper, Optional<String> cursor) {
+        try {
+            return cursorMapper.toId(cursor.orElse(null));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Answers one page ordered by id. The rows are fetched with {@code limit + 1}, so the extra row tells whether a
+     * next cursor is needed. An empty first page is a 404, as in the MVC controllers.
+     */
+    static <T> Mono<ServerResponse> page(Flux<T> rows, Integer limit, boolean firstPage, Function<T, Integer> id,
+                                         CursorMapper cursorMapper, String notFoundMessage) {
+        return rows.collectList().
+                flatMap(list -> {
+                    if (list.isEmpty() && firstPage) {
+                        return ReactiveRequests.<CursorPageDto<T>>notFound(notFoundMessage);
+                    }
+                    boolean hasNextPage = list.size() > limit;
+                    List<T> page = hasNextPage ? list.subList(0, limit) : list;
+                    String nextCursor = hasNextPage ? cursorMapper.toCursor(id.apply(page.get(page.size() - 1))) : null;
+                    return Mono.just(new CursorPageDto<>(page, nextCursor));
+                }).
+                flatMap(page -> ServerResponse.ok().bodyValue(page));
+    }
+
+    static <T> Mono<T> notFound(String message) {
+        return Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, message));
+    }
+
+    private static String checked(String name, String value, ParamRule rule) {
+        if (!rule.isValid(value)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + name + ": " + value);
+        }
+        return value;
+    }
+}
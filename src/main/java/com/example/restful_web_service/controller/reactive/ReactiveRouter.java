@@ -0,0 +1,68 @@
+package com.example.restful_web_service.controller.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * WebFlux counterpart of the MVC controllers, selected with the {@code reactive} profile. Routes match first to
+ * last, so the fixed segments are listed before the path-variable ones and the nested resources before
+ * {@code /users/{id}}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveRoutes(UserHandler userHandler, UserCarHandler userCarHandler,
+                                                         UserHouseHandler userHouseHandler,
+                                                         UserPassportHandler userPassportHandler) {
+        return RouterFunctions.route().
+                path("/users/car", builder -> builder.
+                        GET("", userCarHandler::getAllInformationUserCar).
+                        GET("/export", userCarHandler::exportAllInformationUserCar).
+                        GET("/graduationYear/{graduationYear}", userCarHandler::getUserCarByGraduationYear).
+                        GET("/userName/{userName}/email/{email}", userCarHandler::getUserCarByUserNameAndEmail).
+                        GET("/brancCar/{brandCar}/model/{model}", userCarHandler::getUserCarByBrandCarAndModel).
+                        GET("/{vinCode}", userCarHandler::getUserCarByVinCode).
+                        POST("", userCarHandler::createUserCar).
+                        PUT("/update/{vinCode}", userCarHandler::updateUserCarInformation).
+                        DELETE("/delete/{vinCode}", userCarHandler::deleteUserCarInformation)).
+                path("/users/house", builder -> builder.
+                        GET("", userHouseHandler::getAllInformationUserHouse).
+                        GET("/export", userHouseHandler::exportAllInformationUserHouse).
+                        GET("/town/{town}", userHouseHandler::getHouseInTown).
+                        GET("/country/{country}", userHouseHandler::getHouseInCountry).
+                        GET("/{houseNumber}/{flatNumber}", userHouseHandler::getInformationByHouseNumberAndFlatNumber).
+                        POST("/add", userHouseHandler::addUserHouse).
+                        PUT("/update/houseNumber/{houseNumber}/flatNumber/{flatNumber}",
+                                userHouseHandler::updateUserHouse).
+                        DELETE("/{houseNumber}/{flatNumber}", userHouseHandler::deleteUserHouse)).
+                path("/users/passport", builder -> builder.
+                        GET("", userPassportHandler::getAllInformation).
+                        GET("/export", userPassportHandler::exportAllInformation).
+                        GET("/nationality", userPassportHandler::getPassportInformationByNationality).
+                        GET("/valid", userPassportHandler::getValidPassport).
+                        GET("/expired", userPassportHandler::getExpiredPassport).
+                        GET("/expiring", userPassportHandler::getExpiringPassport).
+                        GET("/{passportNumber}", userPassportHandler::getPassportInformationByNumber).
+                        POST("", userPassportHandler::addUserPassport).
+                        PUT("/{passportNumber}", userPassportHandler::updateUserPassport).
+                        DELETE("", userPassportHandler::delete)).
+                path("/users", builder -> builder.
+                        GET("", userHandler::getAllUser).
+                        GET("/export", userHandler::exportAllUser).
+                        GET("/sort", userHandler::getAllUsersSorted).
+                        GET("/count", userHandler::getUserCount).
+                        GET("/filter", userHandler::getUserByFilter).
+                        GET("/{id}/profile", userHandler::getUserProfile).
+                        GET("/{id}", userHandler::getUserById).
+                        POST("", userHandler::addUser).
+                        PUT("/{id}", userHandler::updateUser).
+                        DELETE("", userHandler::delete)).
+                build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.restful_web_service.controller.reactive;
+
+import com.example.restful_web_service.controller.dto.UserCarDto;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.UserCarMapper;
+import com.example.restful_web_service.controller.validation.ParamRule;
+import com.example.restful_web_service.controller.validation.RequestValidator;
+import com.example.restful_web_service.repository.reactive.ReactiveUserCarRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class UserCarHandler {
+
+    private final ReactiveUserCarRepository userCarRepository;
+    private final UserCarMapper userCarMapper;
+    private final CursorMapper cursorMapper;
+    private final RequestValidator requestValidator;
+    private final Logger logger = LogManager.getLogger(UserCarHandler.class);
+
+    @Autowired
+    public UserCarHandler(ReactiveUserCarRepository userCarRepository, UserCarMapper userCarMapper,
+                          CursorMapper cursorMapper, RequestValidator requestValidator) {
+        this.userCarRepository = userCarRepository;
+        this.userCarMapper = userCarMapper;
+        this.cursorMapper = cursorMapper;
+        this.requestValidator = requestValidator;
+    }
+
+    public Mono<ServerResponse> getAllInformationUserCar(ServerRequest request) {
+        Optional<String> cursor = request.queryParam("cursor");
+        Integer limit = ReactiveRequests.queryInteger(request, "limit", 100);
+        requestValidator.validatePageLimit(limit);
+        Integer afterId = ReactiveRequests.cursorId(cursorMapper, cursor);
+        return ReactiveRequests.page(userCarRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit + 1).
+                map(userCarMapper::toDto), limit, cursor.isEmpty(), UserCarDto::getId, cursorMapper,
+                "User car details not found");
+    }
+
+    public Mono<ServerResponse> exportAllInformationUserCar(ServerRequest request) {
+        logger.info("Streaming export of user cars started");
+        return ServerResponse.ok().
+                contentType(MediaType.APPLICATION_NDJSON).
+                body(userCarRepository.streamAll().map(userCarMapper::toDto), UserCarDto.class);
+    }
+
+    public Mono<ServerResponse> getUserCarByVinCode(ServerRequest request) {
+        String vinCode = ReactiveRequests.pathVariable(request, "vinCode", ParamRule.ALPHANUMERIC);
+        return userCarRepository.getUserCarByCarVinCode(vinCode).
+                switchIfEmpty(ReactiveRequests.notFound("User car with VIN Code: " + vinCode + " not found")).
+                flatMap(userCar -> ServerResponse.ok().bodyValue(userCarMapper.toDto(userCar)));
+    }
+
+    public Mono<ServerResponse> getUserCarByGraduationYear(ServerRequest request) {
+        Integer graduationYear = Integer.valueOf(
+                ReactiveRequests.pathVariable(request, "graduationYear", ParamRule.YEAR));
+        return userCarRepository.getUserCarByGraduationYear(graduationYear).
+                switchIfEmpty(ReactiveRequests.notFound("User car with graduation year: " + graduationYear +
+                        " not found")).
+                flatMap(userCar -> ServerResponse.ok().bodyValue(userCarMapper.toDto(userCar)));
+    }
+
+    public Mono<ServerResponse> getUserCarByUserNameAndEmail(ServerRequest request) {
+        String userName = ReactiveRequests.pathVariable(request, "userName", ParamRule.ALPHANUMERIC);
+        String email = ReactiveRequests.pathVariable(request, "email", ParamRule.EMAIL);
+        return ReactiveRequests.stream(request, userCarRepository.getUserCarByUserNameAndUserEmail(userName, email).
+                map(userCarMapper::toDto), UserCarDto.class, "User car information by name and email is empty");
+    }
+
+    public Mono<ServerResponse> getUserCarByBrandCarAndModel(ServerRequest request) {
+        String brandCar = ReactiveRequests.pathVariable(request, "brandCar", ParamRule.BRAND);
+        String model = ReactiveRequests.pathVariable(request, "model", ParamRule.MODEL);
+        return ReactiveRequests.stream(request, userCarRepository.getUserCarByBrandCarAndModel(brandCar, model).
+                map(userCarMapper::toDto), UserCarDto.class, "User car information by brand and model is empty");
+    }
+
+    public Mono<ServerResponse> createUserCar(ServerRequest request) {
+        return request.bodyToMono(UserCarDto.class).
+                doOnNext(requestValidator::validateUserCar).
+                map(userCarMapper::toEntity).
+                doOnNext(userCar -> userCar.setId(null)).
+                flatMap(userCarRepository::save).
+                doOnNext(userCar -> logger.info("New user car created with id: {}", userCar.getId())).
+                flatMap(userCar -> ServerResponse.ok().bodyValue(userCarMapper.toDto(userCar)));
+    }
+
+    public Mono<ServerResponse> updateUserCarInformation(ServerRequest request) {
+        String vinCode = ReactiveRequests.pathVariable(request, "vinCode", ParamRule.ALPHANUMERIC);
+        return request.bodyToMono(UserCarDto.class).
+                doOnNext(requestValidator::validateUserCar).
+                flatMap(userCarDto -> userCarRepository.updateByCarVinCode(vinCode, userCarDto.getUserName(),
+                        userCarDto.getUserEmail(), userCarDto.getBrandCar(), userCarDto.getModel(),
+                        userCarDto.getGraduationYear())).
+                switchIfEmpty(ReactiveRequests.notFound("User car with VIN Code: " + vinCode + " not found")).
+                flatMap(userCar -> ServerResponse.ok().bodyValue(userCarMapper.toDto(userCar)));
+    }
+
+    public Mono<ServerResponse> deleteUserCarInformation(ServerRequest request) {
+        String vinCode = ReactiveRequests.pathVariable(request, "vinCode", ParamRule.ALPHANUMERIC);
+        return userCarRepository.deleteByCarVinCode(vinCode).
+                filter(deleted -> deleted > 0).
+                switchIfEmpty(ReactiveRequests.notFound("User car with VIN Code: " + vinCode + " not found")).
+                flatMap(deleted -> ServerResponse.ok().
+                        bodyValue("User car with VIN Code: " + vinCode + " successful deleted"));
+    }
+}
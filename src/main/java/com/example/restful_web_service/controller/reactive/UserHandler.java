@@ -0,0 +1,177 @@
+package com.example.restful_web_service.controller.reactive;
+
+import com.example.restful_web_service.controller.dto.CursorPageDto;
+import com.example.restful_web_service.controller.dto.UserDto;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.UserMapper;
+import com.example.restful_web_service.controller.mapper.UserProfileMapper;
+import com.example.restful_web_service.controller.validation.ParamRule;
+import com.example.restful_web_service.controller.validation.RequestValidator;
+import com.example.restful_web_service.entity.User;
+import com.example.restful_web_service.repository.reactive.ReactiveUserCarRepository;
+import com.example.restful_web_service.repository.reactive.ReactiveUserHouseRepository;
+import com.example.restful_web_service.repository.reactive.ReactiveUserPassportRepository;
+import com.example.restful_web_service.repository.reactive.ReactiveUserRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class UserHandler {
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveUserCarRepository userCarRepository;
+    private final ReactiveUserHouseRepository userHouseRepository;
+    private final ReactiveUserPassportRepository userPassportRepository;
+    private final UserMapper userMapper;
+    private final CursorMapper cursorMapper;
+    private final UserProfileMapper userProfileMapper;
+    private final RequestValidator requestValidator;
+    private final Logger logger = LogManager.getLogger(UserHandler.class);
+
+    @Autowired
+    public UserHandler(ReactiveUserRepository userRepository, ReactiveUserCarRepository userCarRepository,
+                       ReactiveUserHouseRepository userHouseRepository,
+                       ReactiveUserPassportRepository userPassportRepository, UserMapper userMapper,
+                       CursorMapper cursorMapper, UserProfileMapper userProfileMapper,
+                       RequestValidator requestValidator) {
+        this.userRepository = userRepository;
+        this.userCarRepository = userCarRepository;
+        this.userHouseRepository = userHouseRepository;
+        this.userPassportRepository = userPassportRepository;
+        this.userMapper = userMapper;
+        this.cursorMapper = cursorMapper;
+        this.userProfileMapper = userProfileMapper;
+        this.requestValidator = requestValidator;
+    }
+
+    public Mono<ServerResponse> getAllUser(ServerRequest request) {
+        Optional<String> cursor = request.queryParam("cursor");
+        Integer limit = ReactiveRequests.queryInteger(request, "limit", 100);
+        requestValidator.validatePageLimit(limit);
+        Integer afterId = ReactiveRequests.cursorId(cursorMapper, cursor);
+        return ReactiveRequests.page(userRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit + 1).
+                map(userMapper::toDto), limit, cursor.isEmpty(), UserDto::getId, cursorMapper, "Users not found");
+    }
+
+    public Mono<ServerResponse> exportAllUser(ServerRequest request) {
+        logger.info("Streaming export of users started");
+        return ServerResponse.ok().
+                contentType(MediaType.APPLICATION_NDJSON).
+                body(userRepository.streamAll().map(userMapper::toDto), UserDto.class);
+    }
+
+    public Mono<ServerResponse> getAllUsersSorted(ServerRequest request) {
+        Optional<String> cursor = request.queryParam("cursor");
+        Integer limit = ReactiveRequests.queryInteger(request, "limit", 100);
+        requestValidator.validatePageLimit(limit);
+        Integer afterId = null;
+        String afterName = null;
+        try {
+            if (cursor.isPresent()) {
+                afterId = cursorMapper.toId(cursor.get());
+                afterName = cursorMapper.toSortValue(cursor.get());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return userRepository.findByNameAfterOrderByNameAsc(afterName, afterId, limit + 1).
+                collectList().
+                flatMap(users -> {
+                    if (users.isEmpty() && cursor.isEmpty()) {
+                        return ReactiveRequests.<CursorPageDto<UserDto>>notFound("Users not found");
+                    }
+                    boolean hasNextPage = users.size() > limit;
+                    List<User> page = hasNextPage ? users.subList(0, limit) : users;
+                    String nextCursor = null;
+                    if (hasNextPage) {
+                        User last = page.get(page.size() - 1);
+                        nextCursor = cursorMapper.toCursor(last.getId(), last.getName());
+                    }
+                    return Mono.just(new CursorPageDto<>(page.stream().map(userMapper::toDto).toList(), nextCursor));
+                }).
+                flatMap(page -> ServerResponse.ok().bodyValue(page));
+    }
+
+    public Mono<ServerResponse> getUserCount(ServerRequest request) {
+        return userRepository.count().
+                filter(count -> count > 0).
+                switchIfEmpty(ReactiveRequests.notFound("Users not found")).
+                flatMap(count -> ServerResponse.ok().bodyValue(count));
+    }
+
+    public Mono<ServerResponse> getUserById(ServerRequest request) {
+        Integer id = ReactiveRequests.pathInteger(request, "id");
+        return userRepository.findById(id).
+                switchIfEmpty(ReactiveRequests.notFound("User with id: " + id + " not found")).
+                flatMap(user -> ServerResponse.ok().bodyValue(userMapper.toDto(user)));
+    }
+
+    public Mono<ServerResponse> getUserProfile(ServerRequest request) {
+        Integer id = ReactiveRequests.pathInteger(request, "id");
+        return userRepository.findById(id).
+                switchIfEmpty(ReactiveRequests.notFound("User profile with id: " + id + " not found")).
+                flatMap(user -> Mono.zip(
+                        userPassportRepository.findByUserId(id).map(Optional::of).defaultIfEmpty(Optional.empty()),
+                        userCarRepository.findByUserId(id).collectList(),
+                        userHouseRepository.findByUserId(id).collectList()).
+                        map(parts -> {
+                            user.setUserPassport(parts.getT1().orElse(null));
+                            user.setUserCars(parts.getT2());
+                            user.setUserHouses(parts.getT3());
+                            return userProfileMapper.toDto(user);
+                        })).
+                flatMap(profile -> ServerResponse.ok().bodyValue(profile));
+    }
+
+    public Mono<ServerResponse> getUserByFilter(ServerRequest request) {
+        String name = ReactiveRequests.queryParam(request, "name", ParamRule.NAME).orElse(null);
+        Integer age = ReactiveRequests.queryParam(request, "age", ParamRule.AGE).map(Integer::valueOf).orElse(null);
+        String email = ReactiveRequests.queryParam(request, "email", ParamRule.EMAIL).orElse(null);
+        String phone = ReactiveRequests.queryParam(request, "phone", ParamRule.PHONE).orElse(null);
+        return ServerResponse.ok().body(userRepository.findByNameOrAgeOrEmailOrPhone(name, age, email, phone).
+                map(userMapper::toDto), UserDto.class);
+    }
+
+    public Mono<ServerResponse> addUser(ServerRequest request) {
+        return request.bodyToMono(UserDto.class).
+                doOnNext(requestValidator::validateUser).
+                map(userMapper::toEntity).
+                doOnNext(user -> user.setId(null)).
+                flatMap(userRepository::save).
+                doOnNext(user -> logger.info("New user created with id: {}", user.getId())).
+                flatMap(user -> ServerResponse.ok().bodyValue(userMapper.toDto(user)));
+    }
+
+    public Mono<ServerResponse> updateUser(ServerRequest request) {
+        Integer id = ReactiveRequests.pathInteger(request, "id");
+        return request.bodyToMono(UserDto.class).
+                doOnNext(requestValidator::validateUser).
+                flatMap(userDto -> userRepository.updateById(id, userDto.getName(), userDto.getAge(),
+                        userDto.getEmail(), userDto.getPhone())).
+                switchIfEmpty(ReactiveRequests.notFound("User with this id for update: " + id + " not found")).
+                flatMap(user -> ServerResponse.ok().bodyValue(userMapper.toDto(user)));
+    }
+
+    public Mono<ServerResponse> delete(ServerRequest request) {
+        Integer id = ReactiveRequests.queryInteger(request, "id", null);
+        if (id == null) {
+            return ServerResponse.ok().bodyValue("Error deleting user with id: null");
+        }
+        return userRepository.deleteUserById(id).
+                flatMap(deleted -> ServerResponse.ok().bodyValue(deleted > 0 ?
+                        "User with id " + id + " was successfully deleted" :
+                        "User with id " + id + " not found"));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.restful_web_service.controller.reactive;
+
+import com.example.restful_web_service.controller.dto.UserHouseDto;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.UserHouseMapper;
+import com.example.restful_web_service.controller.validation.ParamRule;
+import com.example.restful_web_service.controller.validation.RequestValidator;
+import com.example.restful_web_service.repository.reactive.ReactiveUserHouseRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class UserHouseHandler {
+
+    private final ReactiveUserHouseRepository userHouseRepository;
+    private final UserHouseMapper userHouseMapper;
+    private final CursorMapper cursorMapper;
+    private final RequestValidator requestValidator;
+    private final Logger logger = LogManager.getLogger(UserHouseHandler.class);
+
+    @Autowired
+    public UserHouseHandler(ReactiveUserHouseRepository userHouseRepository, UserHouseMapper userHouseMapper,
+                            CursorMapper cursorMapper, RequestValidator requestValidator) {
+        this.userHouseRepository = userHouseRepository;
+        this.userHouseMapper = userHouseMapper;
+        this.cursorMapper = cursorMapper;
+        this.requestValidator = requestValidator;
+    }
+
+    public Mono<ServerResponse> getAllInformationUserHouse(ServerRequest request) {
+        Optional<String> cursor = request.queryParam("cursor");
+        Integer limit = ReactiveRequests.queryInteger(request, "limit", 100);
+        requestValidator.validatePageLimit(limit);
+        Integer afterId = ReactiveRequests.cursorId(cursorMapper, cursor);
+        return ReactiveRequests.page(userHouseRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit + 1).
+                map(userHouseMapper::toDto), limit, cursor.isEmpty(), UserHouseDto::getId, cursorMapper,
+                "User house details not found");
+    }
+
+    public Mono<ServerResponse> exportAllInformationUserHouse(ServerRequest request) {
+        logger.info("Streaming export of user houses started");
+        return ServerResponse.ok().
+                contentType(MediaType.APPLICATION_NDJSON).
+                body(userHouseRepository.streamAll().map(userHouseMapper::toDto), UserHouseDto.class);
+    }
+
+    public Mono<ServerResponse> getInformationByHouseNumberAndFlatNumber(ServerRequest request) {
+        Integer houseNumber = ReactiveRequests.pathInteger(request, "houseNumber");
+        Integer flatNumber = ReactiveRequests.pathInteger(request, "flatNumber");
+        return userHouseRepository.getUserHouseByHouseNumberAndFlatNumber(houseNumber, flatNumber).
+                switchIfEmpty(ReactiveRequests.notFound("House number not found in data base: " + houseNumber +
+                        "/" + flatNumber)).
+                flatMap(userHouse -> ServerResponse.ok().bodyValue(userHouseMapper.toDto(userHouse)));
+    }
+
+    public Mono<ServerResponse> getHouseInTown(ServerRequest request) {
+        String town = ReactiveRequests.pathVariable(request, "town", ParamRule.TOWN);
+        return ReactiveRequests.stream(request, userHouseRepository.getUserHouseByTown(town).
+                map(userHouseMapper::toDto), UserHouseDto.class,
+                "User House in this town not found in data base: " + town);
+    }
+
+    public Mono<ServerResponse> getHouseInCountry(ServerRequest request) {
+        String country = ReactiveRequests.pathVariable(request, "country", ParamRule.COUNTRY);
+        return ReactiveRequests.stream(request, userHouseRepository.getUserHouseByCountry(country).
+                map(userHouseMapper::toDto), UserHouseDto.class,
+                "User house in this country not found in data base: " + country);
+    }
+
+    public Mono<ServerResponse> addUserHouse(ServerRequest request) {
+        return request.bodyToMono(UserHouseDto.class).
+                doOnNext(requestValidator::validateUserHouse).
+                map(userHouseMapper::toEntity).
+                doOnNext(userHouse -> userHouse.setId(null)).
+                flatMap(userHouseRepository::save).
+                doOnNext(userHouse -> logger.info("New user house created with id: {}", userHouse.getId())).
+                flatMap(userHouse -> ServerResponse.ok().bodyValue(userHouseMapper.toDto(userHouse)));
+    }
+
+    public Mono<ServerResponse> updateUserHouse(ServerRequest request) {
+        Integer houseNumber = ReactiveRequests.pathInteger(request, "houseNumber");
+        Integer flatNumber = ReactiveRequests.pathInteger(request, "flatNumber");
+        return request.bodyToMono(UserHouseDto.class).
+                doOnNext(requestValidator::validateUserHouse).
+                flatMap(userHouseDto -> userHouseRepository.updateByHouseNumberAndFlatNumber(houseNumber,
+                        flatNumber, userHouseMapper.toEntity(userHouseDto))).
+                switchIfEmpty(ReactiveRequests.notFound("House number: " + houseNumber + " or flat number: " +
+                        flatNumber + " not found in data base")).
+                flatMap(userHouse -> ServerResponse.ok().bodyValue(userHouseMapper.toDto(userHouse)));
+    }
+
+    public Mono<ServerResponse> deleteUserHouse(ServerRequest request) {
+        Integer houseNumber = ReactiveRequests.pathInteger(request, "houseNumber");
+        Integer flatNumber = ReactiveRequests.pathInteger(request, "flatNumber");
+        return userHouseRepository.deleteByHouseNumberAndFlatNumber(houseNumber, flatNumber).
+                filter(deleted -> deleted > 0).
+                switchIfEmpty(ReactiveRequests.notFound("User house with house number: " + houseNumber +
+                        " or flat number: " + flatNumber + " is empty")).
+                flatMap(deleted -> ServerResponse.ok().bodyValue("User house with house number: " + houseNumber +
+                        " and flat number: " + flatNumber + " was successful deleted"));
+    }
+}
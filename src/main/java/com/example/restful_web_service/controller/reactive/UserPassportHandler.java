@@ -0,0 +1,149 @@
+package com.example.restful_web_service.controller.reactive;
+
+import com.example.restful_web_service.controller.dto.UserPassportDto;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.UserPassportMapper;
+import com.example.restful_web_service.controller.validation.ParamRule;
+import com.example.restful_web_service.controller.validation.RequestValidator;
+import com.example.restful_web_service.repository.reactive.ReactiveUserPassportRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class UserPassportHandler {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_EXPIRING_DAYS = 3650;
+
+    private final ReactiveUserPassportRepository userPassportRepository;
+    private final UserPassportMapper userPassportMapper;
+    private final CursorMapper cursorMapper;
+    private final RequestValidator requestValidator;
+    private final Clock clock;
+    private final Logger logger = LogManager.getLogger(UserPassportHandler.class);
+
+    @Autowired
+    public UserPassportHandler(ReactiveUserPassportRepository userPassportRepository,
+                               UserPassportMapper userPassportMapper, CursorMapper cursorMapper,
+                               RequestValidator requestValidator, Clock clock) {
+        this.userPassportRepository = userPassportRepository;
+        this.userPassportMapper = userPassportMapper;
+        this.cursorMapper = cursorMapper;
+        this.requestValidator = requestValidator;
+        this.clock = clock;
+    }
+
+    public Mono<ServerResponse> getAllInformation(ServerRequest request) {
+        Optional<String> cursor = request.queryParam("cursor");
+        Integer limit = ReactiveRequests.queryInteger(request, "limit", 100);
+        requestValidator.validatePageLimit(limit);
+        Integer afterId = ReactiveRequests.cursorId(cursorMapper, cursor);
+        return ReactiveRequests.page(userPassportRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit + 1).
+                map(userPassportMapper::toDto), limit, cursor.isEmpty(), UserPassportDto::getId, cursorMapper,
+                "Passport details not found");
+    }
+
+    public Mono<ServerResponse> exportAllInformation(ServerRequest request) {
+        logger.info("Streaming export of user passports started");
+        return ServerResponse.ok().
+                contentType(MediaType.APPLICATION_NDJSON).
+                body(userPassportRepository.streamAll().map(userPassportMapper::toDto), UserPassportDto.class);
+    }
+
+    public Mono<ServerResponse> getPassportInformationByNumber(ServerRequest request) {
+        Integer passportNumber = ReactiveRequests.pathInteger(request, "passportNumber");
+        return userPassportRepository.getUserPassportByPassportNumber(passportNumber).
+                switchIfEmpty(ReactiveRequests.notFound("Passport number not found in data base: " +
+                        passportNumber)).
+                flatMap(userPassport -> ServerResponse.ok().bodyValue(userPassportMapper.toDto(userPassport)));
+    }
+
+    public Mono<ServerResponse> getPassportInformationByNationality(ServerRequest request) {
+        String nationality = ReactiveRequests.queryParam(request, "nationality", ParamRule.NATIONALITY).
+                orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nationality is required"));
+        return ReactiveRequests.stream(request, userPassportRepository.getUserPassportByNationality(nationality).
+                map(userPassportMapper::toDto), UserPassportDto.class,
+                "Passport details by nationality not found: " + nationality);
+    }
+
+    public Mono<ServerResponse> getValidPassport(ServerRequest request) {
+        Integer page = ReactiveRequests.queryInteger(request, "page", 0);
+        Integer size = pageSize(request);
+        return ReactiveRequests.stream(request, userPassportRepository.findValid(page, size).
+                map(userPassportMapper::toDto), UserPassportDto.class, "Valid passport details not found");
+    }
+
+    public Mono<ServerResponse> getExpiredPassport(ServerRequest request) {
+        Integer page = ReactiveRequests.queryInteger(request, "page", 0);
+        Integer size = pageSize(request);
+        return ReactiveRequests.stream(request, userPassportRepository.findExpired(page, size).
+                map(userPassportMapper::toDto), UserPassportDto.class, "Expired passport details not found");
+    }
+
+    public Mono<ServerResponse> getExpiringPassport(ServerRequest request) {
+        Integer days = ReactiveRequests.queryInteger(request, "days", null);
+        if (days == null || days < 0 || days > MAX_EXPIRING_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid number of days: " + days);
+        }
+        Integer page = ReactiveRequests.queryInteger(request, "page", 0);
+        Integer size = pageSize(request);
+        return ReactiveRequests.stream(request, userPassportRepository.
+                findExpiring(LocalDate.now(clock).plusDays(days), page, size).
+                map(userPassportMapper::toDto), UserPassportDto.class,
+                "Passports expiring within " + days + " days not found");
+    }
+
+    public Mono<ServerResponse> addUserPassport(ServerRequest request) {
+        return request.bodyToMono(UserPassportDto.class).
+                doOnNext(requestValidator::validateUserPassport).
+                map(userPassportMapper::toEntity).
+                doOnNext(userPassport -> userPassport.setId(null)).
+                flatMap(userPassport -> userPassportRepository.save(userPassport, LocalDate.now(clock))).
+                doOnNext(userPassport -> logger.info("New user passport created with id: {}", userPassport.getId())).
+                flatMap(userPassport -> ServerResponse.ok().bodyValue(userPassportMapper.toDto(userPassport)));
+    }
+
+    public Mono<ServerResponse> updateUserPassport(ServerRequest request) {
+        Integer passportNumber = ReactiveRequests.pathInteger(request, "passportNumber");
+        return request.bodyToMono(UserPassportDto.class).
+                doOnNext(requestValidator::validateUserPassport).
+                flatMap(userPassportDto -> userPassportRepository.updateByPassportNumber(passportNumber,
+                        userPassportMapper.toEntity(userPassportDto), LocalDate.now(clock))).
+                switchIfEmpty(ReactiveRequests.notFound("Passport user with this passport number: " +
+                        passportNumber + " not found")).
+                flatMap(userPassport -> ServerResponse.ok().bodyValue(userPassportMapper.toDto(userPassport)));
+    }
+
+    public Mono<ServerResponse> delete(ServerRequest request) {
+        Integer passportNumber = ReactiveRequests.queryInteger(request, "passportNumber", null);
+        if (passportNumber == null || passportNumber.toString().length() != 9) {
+            return ServerResponse.ok().
+                    bodyValue("Error deleting user passport with passport number less or more 9");
+        }
+        return userPassportRepository.deleteByPassportNumber(passportNumber).
+                flatMap(deleted -> ServerResponse.ok().bodyValue(deleted > 0 ?
+                        "User passport with passport number: " + passportNumber + " was successfully deleted" :
+                        "User passport with passport number: " + passportNumber + " not found in data base"));
+    }
+
+    private Integer pageSize(ServerRequest request) {
+        Integer size = ReactiveRequests.queryInteger(request, "size", 100);
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page size: " + size);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.restful_web_service.controller.validation;
+
+/**
+ * Single-pass replacements for the validation regexes used by the controllers. Each method accepts exactly
+ * the strings its regex accepted with {@link String#matches(String)}, without compiling a pattern per call.
+ */
+public final class CharacterScanner {
+
+    private CharacterScanner() {
+    }
+
+    /**
+     * {@code [a-zA-Z\-]+}
+     */
+    public static boolean isLettersOrHyphen(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isLatinLetter(c) && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code [A-Za-z\-\s]*}, empty allowed.
+     */
+    public static boolean isLettersHyphenOrWhitespace(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isLatinLetter(c) && c != '-' && !isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code [A-Za-z0-9]+}
+     */
+    public static boolean isAlphanumeric(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isLatinLetter(c) && !isDigit(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code [a-zA-Z0-9_]+}
+     */
+    public static boolean isWordCharacters(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isLatinLetter(c) && !isDigit(c) && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code [a-zA-Z\s]+}
+     */
+    public static boolean isLettersOrWhitespace(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isLatinLetter(c) && !isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code [a-zA-Z0-9\s]+}
+     */
+    public static boolean isAlphanumericOrWhitespace(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isLatinLetter(c) && !isDigit(c) && !isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code [A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+}
+     */
+    public static boolean isEmail(String value) {
+        int at = value.indexOf('@');
+        if (at <= 0 || at == value.length() - 1) {
+            return false;
+        }
+        for (int i = 0; i < at; i++) {
+            char c = value.charAt(i);
+            if (!isLatinLetter(c) && !isDigit(c) && c != '+' && c != '_' && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        for (int i = at + 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isLatinLetter(c) && !isDigit(c) && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code \+(?:[0-9] ?){6,14}[0-9]}: a plus sign and 7 to 15 digits, optionally separated by single spaces.
+     */
+    public static boolean isPhone(String value) {
+        int length = value.length();
+        if (length < 8 || value.charAt(0) != '+' || !isDigit(value.charAt(length - 1))) {
+            return false;
+        }
+        int digits = 0;
+        boolean previousDigit = false;
+        for (int i = 1; i < length; i++) {
+            char c = value.charAt(i);
+            if (isDigit(c)) {
+                digits++;
+                previousDigit = true;
+            } else if (c == ' ' && previousDigit) {
+                previousDigit = false;
+            } else {
+                return false;
+            }
+        }
+        return digits >= 7 && digits <= 15;
+    }
+
+    /**
+     * {@code [\p{L} -]+}
+     */
+    public static boolean isNationality(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            if (!Character.isLetter(codePoint) && codePoint != ' ' && codePoint != '-') {
+                return false;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return true;
+    }
+
+    /**
+     * {@code \d{2}/\d{2}/\d{4}}
+     */
+    public static boolean isDate(String value) {
+        if (value.length() != 10 || value.charAt(2) != '/' || value.charAt(5) != '/') {
+            return false;
+        }
+        for (int i = 0; i < 10; i++) {
+            if (i != 2 && i != 5 && !isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code value.toString().matches("[0-9]+")}
+     */
+    public static boolean isNonNegative(Integer value) {
+        return value >= 0;
+    }
+
+    /**
+     * {@code value.toString().matches("\\d{4}")}
+     */
+    public static boolean isFourDigits(Integer value) {
+        return value >= 1000 && value <= 9999;
+    }
+
+    /**
+     * {@code value.toString().matches("\\d{9}")}
+     */
+    public static boolean isNineDigits(Integer value) {
+        return value >= 100_000_000 && value <= 999_999_999;
+    }
+
+    private static boolean isLatinLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.restful_web_service.controller.validation;
+
+import com.example.restful_web_service.controller.enums.SupportedCountries;
+
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Checks applied to raw path variable and request parameter values before the handler runs.
+ */
+public enum ParamRule {
+
+    NAME(CharacterScanner::isLettersOrHyphen),
+    ALPHANUMERIC(CharacterScanner::isAlphanumeric),
+    EMAIL(CharacterScanner::isEmail),
+    PHONE(CharacterScanner::isPhone),
+    BRAND(CharacterScanner::isLettersOrWhitespace),
+    MODEL(CharacterScanner::isAlphanumericOrWhitespace),
+    TOWN(CharacterScanner::isLettersHyphenOrWhitespace),
+    COUNTRY(SupportedCountries::isSupported),
+    NATIONALITY(value -> value.length() >= 2 && value.length() <= 90 && CharacterScanner.isNationality(value)),
+    AGE(integer(value -> value > 0 && value < 120)),
+    YEAR(integer(CharacterScanner::isFourDigits)),
+    NON_NEGATIVE(integer(CharacterScanner::isNonNegative));
+
+    private final Predicate<String> check;
+
+    ParamRule(Predicate<String> check) {
+        this.check = check;
+    }
+
+    public boolean isValid(String value) {
+        return check.test(value);
+    }
+
+    private static Predicate<String> integer(IntPredicate check) {
+        return value -> {
+            try {
+                return check.test(Integer.parseInt(value));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        };
+    }
+}
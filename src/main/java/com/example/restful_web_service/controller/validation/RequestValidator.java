@@ -0,0 +1,160 @@
+package com.example.restful_web_service.controller.validation;
+
+import com.example.restful_web_service.controller.dto.UserCarDto;
+import com.example.restful_web_service.controller.dto.UserDto;
+import com.example.restful_web_service.controller.dto.UserHouseDto;
+import com.example.restful_web_service.controller.dto.UserPassportDto;
+import com.example.restful_web_service.controller.enums.SupportedCountries;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Field rules for the request bodies. The {@code check} methods return the first violation message or
+ * {@code null}; the {@code validate} methods reject the request with 400 instead.
+ */
+@Component
+public class RequestValidator {
+    private static final int MAX_PAGE_LIMIT = 1000;
+
+    private final Logger logger = LogManager.getLogger(RequestValidator.class);
+
+    public String checkUser(UserDto userDto) {
+        if (userDto.getName() == null) {
+            return "Name is required";
+        }
+        if (!CharacterScanner.isLettersOrHyphen(userDto.getName())) {
+            return "Invalid name characters: " + userDto.getName();
+        }
+        if (userDto.getAge() == null) {
+            return "Age is required";
+        }
+        if (!CharacterScanner.isNonNegative(userDto.getAge())) {
+            return "Invalid age characters: " + userDto.getAge();
+        }
+        if (userDto.getAge() <= 0 || userDto.getAge() >= 120) {
+            return "Age entered incorrectly: " + userDto.getAge();
+        }
+        if (userDto.getEmail() == null) {
+            return "Email is required";
+        }
+        if (!CharacterScanner.isEmail(userDto.getEmail())) {
+            return "Invalid email characters: " + userDto.getEmail();
+        }
+        if (userDto.getPhone() == null) {
+            return "Phone number is required";
+        }
+        if (!CharacterScanner.isPhone(userDto.getPhone())) {
+            return "Invalid phone number characters: " + userDto.getPhone();
+        }
+        return null;
+    }
+
+    public String checkUserCar(UserCarDto userCarDto) {
+        if (userCarDto.getUserName() != null && !CharacterScanner.isAlphanumeric(userCarDto.getUserName())) {
+            return "Invalid characters in user name: " + userCarDto.getUserName();
+        }
+        if (userCarDto.getUserEmail() != null && !CharacterScanner.isEmail(userCarDto.getUserEmail())) {
+            return "Invalid email address format: " + userCarDto.getUserEmail();
+        }
+        if (userCarDto.getGraduationYear() != null && !CharacterScanner.isFourDigits(userCarDto.getGraduationYear())) {
+            return "Graduation year has invalid format: " + userCarDto.getGraduationYear();
+        }
+        if (userCarDto.getModel() != null && !CharacterScanner.isAlphanumericOrWhitespace(userCarDto.getModel())) {
+            return "Invalid model characters: " + userCarDto.getModel();
+        }
+        if (userCarDto.getCarVinCode() != null && !CharacterScanner.isAlphanumeric(userCarDto.getCarVinCode())) {
+            return "VIN code contains invalid characters";
+        }
+        return null;
+    }
+
+    public String checkUserHouse(UserHouseDto userHouseDto) {
+        if (userHouseDto.getUserName() != null && !CharacterScanner.isWordCharacters(userHouseDto.getUserName())) {
+            return "Invalid user name format: " + userHouseDto.getUserName();
+        }
+        if (userHouseDto.getUserPhone() != null && !CharacterScanner.isPhone(userHouseDto.getUserPhone())) {
+            return "Invalid phone number format: " + userHouseDto.getUserPhone();
+        }
+        if (!SupportedCountries.isSupported(userHouseDto.getCountry())) {
+            return "Unsupported country request: " + userHouseDto.getCountry();
+        }
+        if (userHouseDto.getTown() != null && !CharacterScanner.isLettersHyphenOrWhitespace(userHouseDto.getTown())) {
+            return "Invalid town name characters: " + userHouseDto.getTown();
+        }
+        if (userHouseDto.getAddress() != null && !CharacterScanner.isLettersOrHyphen(userHouseDto.getAddress())) {
+            return "Invalid address name characters: " + userHouseDto.getAddress();
+        }
+        if (userHouseDto.getHouseNumber() != null && !CharacterScanner.isNonNegative(userHouseDto.getHouseNumber())) {
+            return "House number has invalid characters or less then 0: " + userHouseDto.getHouseNumber();
+        }
+        if (userHouseDto.getFlatNumber() != null && !CharacterScanner.isNonNegative(userHouseDto.getFlatNumber())) {
+            return "Flat number has invalid characters or less then 0: " + userHouseDto.getFlatNumber();
+        }
+        return null;
+    }
+
+    public String checkUserPassport(UserPassportDto userPassportDto) {
+        if (userPassportDto.getName() != null && !CharacterScanner.isLettersOrHyphen(userPassportDto.getName())) {
+            return "Invalid name characters: " + userPassportDto.getName();
+        }
+        if (userPassportDto.getSurname() != null &&
+                !CharacterScanner.isLettersOrHyphen(userPassportDto.getSurname())) {
+            return "Invalid surname characters: " + userPassportDto.getSurname();
+        }
+        if (!"Male".equals(userPassportDto.getSex()) && !"Female".equals(userPassportDto.getSex())) {
+            return "Gender not specified";
+        }
+        if (userPassportDto.getDateOfBirth() != null && !CharacterScanner.isDate(userPassportDto.getDateOfBirth())) {
+            return "Invalid date of birth characters: " + userPassportDto.getDateOfBirth();
+        }
+        if (userPassportDto.getNationality() != null &&
+                !CharacterScanner.isNationality(userPassportDto.getNationality())) {
+            return "Invalid nationality characters: " + userPassportDto.getNationality();
+        }
+        if (userPassportDto.getDateOfIssue() != null && !CharacterScanner.isDate(userPassportDto.getDateOfIssue())) {
+            return "Invalid date of issue characters: " + userPassportDto.getDateOfIssue();
+        }
+        if (userPassportDto.getDateOfExpire() != null &&
+                !CharacterScanner.isDate(userPassportDto.getDateOfExpire())) {
+            return "Invalid date of expire characters: " + userPassportDto.getDateOfExpire();
+        }
+        if (userPassportDto.getPassportNumber() != null &&
+                !CharacterScanner.isNineDigits(userPassportDto.getPassportNumber())) {
+            return "Passport number more or less than 9 or invalid passport number characters: "
+                    + userPassportDto.getPassportNumber();
+        }
+        return null;
+    }
+
+    public void validatePageLimit(Integer limit) {
+        if (limit <= 0 || limit > MAX_PAGE_LIMIT) {
+            reject("Invalid page limit: " + limit);
+        }
+    }
+
+    public void validateUser(UserDto userDto) {
+        reject(checkUser(userDto));
+    }
+
+    public void validateUserCar(UserCarDto userCarDto) {
+        reject(checkUserCar(userCarDto));
+    }
+
+    public void validateUserHouse(UserHouseDto userHouseDto) {
+        reject(checkUserHouse(userHouseDto));
+    }
+
+    public void validateUserPassport(UserPassportDto userPassportDto) {
+        reject(checkUserPassport(userPassportDto));
+    }
+
+    private void reject(String error) {
+        if (error != null) {
+            logger.warn(error);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, error);
+        }
+    }
+}
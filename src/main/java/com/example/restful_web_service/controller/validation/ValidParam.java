@@ -0,0 +1,17 @@
+package com.example.restful_web_service.controller.validation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code @PathVariable} or {@code @RequestParam} that is checked against {@link ParamRule} before the
+ * handler is invoked, so malformed values never reach the service layer.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidParam {
+
+    ParamRule value();
+}
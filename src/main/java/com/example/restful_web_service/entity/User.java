@@ -12,9 +12,11 @@ import java.util.List;
 @ToString
 @Entity
 @Table(name = "users")
+@NamedEntityGraph(name = "User.profile", attributeNodes = @NamedAttributeNode("userPassport"))
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Integer id;
     @Column(nullable = false)
     private String name;
@@ -24,14 +26,21 @@ public class User {
     private String email;
     @Column(nullable = false, unique = true)
     private String phone;
+    @Version
+    @Column(nullable = false)
+    private long version;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_passport_id")
+    @ToString.Exclude
     private UserPassport userPassport;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
+    @ToString.Exclude
     private List<UserCar> userCars;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
+    @ToString.Exclude
     private List<UserHouse> userHouses;
 
     public User(Integer id, String name, Integer age, String email, String phone) {
@@ -26,10 +26,14 @@ public class UserCar {
     private String model;
     @Column(name = "car_vin_code", nullable = false, unique = true)
     private String carVinCode;
+    @Version
+    @Column(nullable = false)
+    private long version;
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_car_id")
+    @ToString.Exclude
     private User user;
 
     public UserCar(Integer id, String userName, String userEmail,
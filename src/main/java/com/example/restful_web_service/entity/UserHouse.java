@@ -28,9 +28,13 @@ public class UserHouse {
     private Integer houseNumber;
     @Column(name = "flat_number", nullable = false)
     private Integer flatNumber;
+    @Version
+    @Column(nullable = false)
+    private long version;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_house_id")
+    @ToString.Exclude
     private User user;
 
     public UserHouse(Integer id, String userName, String userPhone, String country,
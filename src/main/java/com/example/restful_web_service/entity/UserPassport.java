@@ -3,10 +3,11 @@ package com.example.restful_web_service.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDate;
+
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 @ToString
 @Entity
 @Table(name = "user_passport")
@@ -21,22 +22,23 @@ public class UserPassport {
     @Column(nullable = false)
     private String sex;
     @Column(name = "date_of_birth", nullable = false)
-    private String dateOfBirth;
+    private LocalDate dateOfBirth;
     @Column(nullable = false)
     private String nationality;
     @Column(name = "date_of_issue", nullable = false)
-    private String dateOfIssue;
+    private LocalDate dateOfIssue;
     @Column(name = "date_of_expire")
-    private String dateOfExpire;
+    private LocalDate dateOfExpire;
     @Column(name = "passport_number", nullable = false, unique = true)
     private Integer passportNumber;
+    @Column(nullable = false)
+    private boolean expired;
+    @Version
+    @Column(nullable = false)
+    private long version;
 
-    @OneToOne(mappedBy = "userPassport")
-    @JoinColumn(name = "user_passport_id")
-    private User user;
-
-    public UserPassport(Integer id, String name, String surname, String sex, String dateOfBirth,
-                        String nationality, String dateOfIssue, String dateOfExpire, Integer passportNumber) {
+    public UserPassport(Integer id, String name, String surname, String sex, LocalDate dateOfBirth,
+                        String nationality, LocalDate dateOfIssue, LocalDate dateOfExpire, Integer passportNumber) {
         this.id = id;
         this.name = name;
         this.surname = surname;
@@ -47,4 +49,8 @@ public class UserPassport {
         this.dateOfExpire = dateOfExpire;
         this.passportNumber = passportNumber;
     }
+
+    public void updateExpired(LocalDate today) {
+        expired = dateOfExpire != null && dateOfExpire.isBefore(today);
+    }
 }
@@ -0,0 +1,6 @@
+package com.example.restful_web_service.repository;
+
+public interface GroupCount {
+    String getName();
+    Long getTotal();
+}
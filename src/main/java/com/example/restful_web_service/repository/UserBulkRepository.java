@@ -0,0 +1,21 @@
+package com.example.restful_web_service.repository;
+
+import com.example.restful_web_service.entity.User;
+
+import java.util.List;
+
+public interface UserBulkRepository {
+
+    /**
+     * Takes {@code count} ids from {@code users_seq} a whole block at a time, the way Hibernate's pooled optimizer
+     * does, so they never collide with ids handed out to entities saved through JPA.
+     */
+    List<Integer> allocateIds(int count);
+
+    /**
+     * Inserts the users, with their ids already set, in one multi-row statement. Rows that would violate a unique
+     * constraint, including ones committed by a concurrent transaction after they were checked, are skipped
+     * instead of aborting the transaction. Returns the ids of the inserted rows.
+     */
+    List<Integer> insertIgnoringConflicts(List<User> users);
+}
@@ -0,0 +1,57 @@
+package com.example.restful_web_service.repository;
+
+import com.example.restful_web_service.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserBulkRepositoryImpl implements UserBulkRepository {
+    // INCREMENT BY of users_seq and allocationSize of User.id.
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public UserBulkRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Integer> allocateIds(int count) {
+        int blocks = (count + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+        List<?> blockEnds = entityManager.createNativeQuery("select nextval('users_seq') from generate_series(1, ?)").
+                setParameter(1, blocks).
+                getResultList();
+        List<Integer> ids = new ArrayList<>(blocks * ID_BLOCK_SIZE);
+        for (Object blockEnd : blockEnds) {
+            long last = ((Number) blockEnd).longValue();
+            for (long id = last - ID_BLOCK_SIZE + 1; id <= last; id++) {
+                ids.add(Math.toIntExact(id));
+            }
+        }
+        return ids.subList(0, count);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Integer> insertIgnoringConflicts(List<User> users) {
+        StringBuilder sql = new StringBuilder("insert into users (id, name, age, email, phone) values ");
+        for (int i = 0; i < users.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+        }
+        sql.append(" on conflict do nothing returning id");
+        Query query = entityManager.createNativeQuery(sql.toString(), Integer.class);
+        int position = 1;
+        for (User user : users) {
+            query.setParameter(position++, user.getId());
+            query.setParameter(position++, user.getName());
+            query.setParameter(position++, user.getAge());
+            query.setParameter(position++, user.getEmail());
+            query.setParameter(position++, user.getPhone());
+        }
+        return query.getResultList();
+    }
+}
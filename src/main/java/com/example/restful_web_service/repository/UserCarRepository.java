@@ -1,15 +1,55 @@
 package com.example.restful_web_service.repository;
 
+import com.example.restful_web_service.controller.dto.UserCarDto;
 import com.example.restful_web_service.entity.UserCar;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserCarRepository extends JpaRepository<UserCar, Integer> {
+    String SELECT_DTO = "select new com.example.restful_web_service.controller.dto.UserCarDto(uc.id, uc.userName, " +
+            "uc.userEmail, uc.brandCar, uc.graduationYear, uc.model, uc.carVinCode) from UserCar uc";
 
     UserCar getUserCarByCarVinCode(String vinCode);
-    List<UserCar> getUserCarByUserNameAndUserEmail(String userName, String email);
-    List<UserCar> getUserCarByBrandCarAndModel(String brandCar, String model);
     Optional<UserCar> getUserCarByGraduationYear(Integer graduationYear);
+
+    @Query(SELECT_DTO + " where uc.id > :id order by uc.id")
+    List<UserCarDto> findDtosByIdGreaterThan(Integer id, Pageable pageable);
+
+    @Query(SELECT_DTO + " where uc.userName = :userName and uc.userEmail = :email")
+    List<UserCarDto> findDtosByUserNameAndUserEmail(String userName, String email);
+
+    @Query(SELECT_DTO + " where uc.brandCar = :brandCar and uc.model = :model")
+    List<UserCarDto> findDtosByBrandCarAndModel(String brandCar, String model);
+
+    @Query("select uc.brandCar as name, count(uc) as total from UserCar uc group by uc.brandCar")
+    List<GroupCount> countByBrandCar();
+
+    @Query("select str(uc.graduationYear) as name, count(uc) as total from UserCar uc group by uc.graduationYear")
+    List<GroupCount> countByGraduationYear();
+
+    @Query(value = "update user_car set user_name = :userName, user_email = :userEmail, brand_car = :brandCar, " +
+            "model = :model, graduation_year = :graduationYear, version = version + 1 where car_vin_code = :vinCode " +
+            "and (:expectedTag = '*' or concat(id, '.', version) = :expectedTag) returning *", nativeQuery = true)
+    Optional<UserCar> updateByCarVinCode(String vinCode, String userName, String userEmail, String brandCar,
+                                         String model, Integer graduationYear, String expectedTag);
+
+    boolean existsByCarVinCode(String vinCode);
+
+    @Modifying
+    @Query("delete from UserCar uc where uc.carVinCode = :vinCode")
+    int deleteByCarVinCode(String vinCode);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select uc from UserCar uc")
+    Stream<UserCar> streamAll();
 }
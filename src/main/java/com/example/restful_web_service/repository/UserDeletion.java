@@ -0,0 +1,12 @@
+package com.example.restful_web_service.repository;
+
+/**
+ * Rows removed by {@code UserRepository.deleteUserById}, including the passport and the cars and houses that
+ * go with the user.
+ */
+public interface UserDeletion {
+    long getUsers();
+    long getPassports();
+    long getCars();
+    long getHouses();
+}
@@ -0,0 +1,17 @@
+package com.example.restful_web_service.repository;
+
+import com.example.restful_web_service.controller.dto.UserDto;
+import com.example.restful_web_service.entity.User;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface UserFilterRepository {
+
+    /**
+     * Like {@code JpaSpecificationExecutor.findAll(spec, pageable)} but without the count query, which a keyset
+     * page does not need, and selecting straight into {@link UserDto} instead of managed entities.
+     */
+    List<UserDto> findAllDtos(Specification<User> specification, Sort sort, int limit);
+}
@@ -0,0 +1,42 @@
+package com.example.restful_web_service.repository;
+
+import com.example.restful_web_service.controller.dto.UserDto;
+import com.example.restful_web_service.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+public class UserFilterRepositoryImpl implements UserFilterRepository {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public UserFilterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<UserDto> findAllDtos(Specification<User> specification, Sort sort, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserDto> query = criteriaBuilder.createQuery(UserDto.class);
+        Root<User> root = query.from(User.class);
+        query.select(criteriaBuilder.construct(UserDto.class, root.get("id"), root.get("name"), root.get("age"),
+                root.get("email"), root.get("phone")));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query).
+                setMaxResults(limit).
+                getResultList();
+    }
+}
@@ -1,15 +1,57 @@
 package com.example.restful_web_service.repository;
 
+import com.example.restful_web_service.controller.dto.UserHouseDto;
 import com.example.restful_web_service.entity.UserHouse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserHouseRepository extends JpaRepository<UserHouse, Integer> {
+    String SELECT_DTO = "select new com.example.restful_web_service.controller.dto.UserHouseDto(uh.id, uh.userName, " +
+            "uh.userPhone, uh.country, uh.town, uh.address, uh.houseNumber, uh.flatNumber) from UserHouse uh";
 
     Optional<UserHouse> getUserHouseByHouseNumberAndFlatNumber(Integer houseNumber, Integer flatNumber);
 
-    List<UserHouse> getUserHouseByTown(String town);
-    List<UserHouse> getUserHouseByCountry(String country);
+    @Query(value = "update user_house set user_name = :userName, user_phone = :userPhone, country = :country, " +
+            "town = :town, address = :address, house_number = :newHouseNumber, flat_number = :newFlatNumber, " +
+            "version = version + 1 where house_number = :houseNumber and flat_number = :flatNumber " +
+            "and (:expectedTag = '*' or concat(id, '.', version) = :expectedTag) returning *", nativeQuery = true)
+    Optional<UserHouse> updateByHouseNumberAndFlatNumber(Integer houseNumber, Integer flatNumber, String userName,
+                                                         String userPhone, String country, String town,
+                                                         String address, Integer newHouseNumber,
+                                                         Integer newFlatNumber, String expectedTag);
+
+    boolean existsByHouseNumberAndFlatNumber(Integer houseNumber, Integer flatNumber);
+
+    @Modifying
+    @Query("delete from UserHouse uh where uh.houseNumber = :houseNumber and uh.flatNumber = :flatNumber")
+    int deleteByHouseNumberAndFlatNumber(Integer houseNumber, Integer flatNumber);
+
+    @Query(SELECT_DTO + " where uh.id > :id order by uh.id")
+    List<UserHouseDto> findDtosByIdGreaterThan(Integer id, Pageable pageable);
+
+    @Query(SELECT_DTO + " where uh.town = :town")
+    List<UserHouseDto> findDtosByTown(String town);
+
+    @Query(SELECT_DTO + " where uh.country = :country")
+    List<UserHouseDto> findDtosByCountry(String country);
+
+    @Query("select uh.country as name, count(uh) as total from UserHouse uh group by uh.country")
+    List<GroupCount> countByCountry();
+
+    @Query("select uh.town as name, count(uh) as total from UserHouse uh group by uh.town")
+    List<GroupCount> countByTown();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select uh from UserHouse uh")
+    Stream<UserHouse> streamAll();
 }
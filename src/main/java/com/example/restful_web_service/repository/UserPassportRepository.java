@@ -1,14 +1,63 @@
 package com.example.restful_web_service.repository;
 
+import com.example.restful_web_service.controller.dto.UserPassportDto;
 import com.example.restful_web_service.entity.UserPassport;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserPassportRepository extends JpaRepository<UserPassport, Integer> {
+    // Dates are formatted by the database in the pattern UserPassportMapper uses.
+    String SELECT_DTO = "select new com.example.restful_web_service.controller.dto.UserPassportDto(up.id, up.name, " +
+            "up.surname, up.sex, format(up.dateOfBirth as 'dd/MM/yyyy'), up.nationality, " +
+            "format(up.dateOfIssue as 'dd/MM/yyyy'), format(up.dateOfExpire as 'dd/MM/yyyy'), up.passportNumber) " +
+            "from UserPassport up";
 
     Optional<UserPassport> getUserPassportByPassportNumber(Integer passportNumber);
 
-    List<UserPassport> getUserPassportByNationality(String nationality);
+    @Query(SELECT_DTO + " where up.id > :id order by up.id")
+    List<UserPassportDto> findDtosByIdGreaterThan(Integer id, Pageable pageable);
+
+    @Query(SELECT_DTO + " where up.nationality = :nationality")
+    List<UserPassportDto> findDtosByNationality(String nationality);
+
+    @Query(SELECT_DTO + " where up.expired = false")
+    List<UserPassportDto> findValidDtos(Pageable pageable);
+
+    @Query(SELECT_DTO + " where up.expired = true")
+    List<UserPassportDto> findExpiredDtos(Pageable pageable);
+
+    @Query(SELECT_DTO + " where up.expired = false and up.dateOfExpire <= :date")
+    List<UserPassportDto> findExpiringDtos(LocalDate date, Pageable pageable);
+
+    @Modifying
+    @Query("update UserPassport up set up.expired = true, up.version = up.version + 1 " +
+            "where up.expired = false and up.dateOfExpire < :date")
+    int markExpiredBefore(LocalDate date);
+
+    @Query(value = "update user_passport set name = :name, surname = :surname, sex = :sex, " +
+            "date_of_birth = :dateOfBirth, nationality = :nationality, date_of_issue = :dateOfIssue, " +
+            "date_of_expire = :dateOfExpire, expired = coalesce(:dateOfExpire < :today, false), " +
+            "passport_number = :newPassportNumber, version = version + 1 where passport_number = :passportNumber " +
+            "and (:expectedTag = '*' or concat(id, '.', version) = :expectedTag) returning *", nativeQuery = true)
+    Optional<UserPassport> updateByPassportNumber(Integer passportNumber, String name, String surname, String sex,
+                                                  LocalDate dateOfBirth, String nationality, LocalDate dateOfIssue,
+                                                  LocalDate dateOfExpire, Integer newPassportNumber,
+                                                  LocalDate today, String expectedTag);
+
+    boolean existsByPassportNumber(Integer passportNumber);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select up from UserPassport up")
+    Stream<UserPassport> streamAll();
 }
@@ -1,11 +1,57 @@
 package com.example.restful_web_service.repository;
 
+import com.example.restful_web_service.controller.dto.UserDto;
 import com.example.restful_web_service.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface UserRepository extends JpaRepository<User, Integer>, UserFilterRepository,
+        UserBulkRepository {
+    String SELECT_DTO = "select new com.example.restful_web_service.controller.dto.UserDto(u.id, u.name, u.age, " +
+            "u.email, u.phone) from User u";
 
-public interface UserRepository extends JpaRepository<User, Integer> {
-    List<User> getUserByNameOrAgeOrEmailOrPhone(String name, Integer age, String email, String phone);
     long count();
+
+    @Query(SELECT_DTO + " where u.id > :id order by u.id")
+    List<UserDto> findDtosByIdGreaterThan(Integer id, Pageable pageable);
+
+    @EntityGraph("User.profile")
+    Optional<User> findProfileById(Integer id);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    @Query("select u.phone from User u where u.phone in :phones")
+    List<String> findExistingPhones(Collection<String> phones);
+
+    @Query(value = "update users set name = :name, age = :age, email = :email, phone = :phone, " +
+            "version = version + 1 where id = :id " +
+            "and (:expectedTag = '*' or concat(id, '.', version) = :expectedTag) returning *", nativeQuery = true)
+    Optional<User> updateById(Integer id, String name, Integer age, String email, String phone, String expectedTag);
+
+    // Cars and houses are removed by the ON DELETE CASCADE foreign keys, the passport by the second CTE.
+    // The statement snapshot still contains the cascaded rows, so they can be counted in the same query.
+    @Query(value = "with deleted as (delete from users where id = :id returning id, user_passport_id), " +
+            "passport as (delete from user_passport where id in (select user_passport_id from deleted) " +
+            "returning id) " +
+            "select (select count(*) from deleted) as users, (select count(*) from passport) as passports, " +
+            "(select count(*) from user_car where user_car_id in (select id from deleted)) as cars, " +
+            "(select count(*) from user_house where user_house_id in (select id from deleted)) as houses",
+            nativeQuery = true)
+    UserDeletion deleteUserById(Integer id);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select u from User u")
+    Stream<User> streamAll();
 }
@@ -0,0 +1,17 @@
+package com.example.restful_web_service.repository.reactive;
+
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Parameters;
+
+/**
+ * Bind values for nullable columns: a {@code null} has no class of its own, so the driver is given the column's.
+ */
+final class Bindings {
+
+    private Bindings() {
+    }
+
+    static Parameter nullable(Object value, Class<?> type) {
+        return value == null ? Parameters.in(type) : Parameters.in(value);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.restful_web_service.repository.reactive;
+
+import com.example.restful_web_service.entity.UserCar;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserCarRepository {
+    private static final String COLUMNS = "id, user_name, user_email, brand_car, graduation_year, model, car_vin_code";
+    private static final int FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveUserCarRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<UserCar> streamAll() {
+        return databaseClient.sql("select " + COLUMNS + " from user_car").
+                filter(statement -> statement.fetchSize(FETCH_SIZE)).
+                map(ReactiveUserCarRepository::toUserCar).
+                all();
+    }
+
+    public Flux<UserCar> findByIdGreaterThanOrderByIdAsc(Integer id, Integer limit) {
+        return databaseClient.sql("select " + COLUMNS + " from user_car where id > :id order by id limit :limit").
+                bind("id", id).
+                bind("limit", limit).
+                map(ReactiveUserCarRepository::toUserCar).
+                all();
+    }
+
+    public Mono<UserCar> getUserCarByCarVinCode(String vinCode) {
+        return databaseClient.sql("select " + COLUMNS + " from user_car where car_vin_code = :vinCode").
+                bind("vinCode", vinCode).
+                map(ReactiveUserCarRepository::toUserCar).
+                one();
+    }
+
+    public Flux<UserCar> getUserCarByUserNameAndUserEmail(String userName, String email) {
+        return databaseClient.sql("select " + COLUMNS + " from user_car where user_name = :userName " +
+                        "and user_email = :email").
+                bind("userName", userName).
+                bind("email", email).
+                map(ReactiveUserCarRepository::toUserCar).
+                all();
+    }
+
+    public Flux<UserCar> getUserCarByBrandCarAndModel(String brandCar, String model) {
+        return databaseClient.sql("select " + COLUMNS + " from user_car where brand_car = :brandCar " +
+                        "and model = :model").
+                bind("brandCar", brandCar).
+                bind("model", model).
+                map(ReactiveUserCarRepository::toUserCar).
+                all();
+    }
+
+    public Mono<UserCar> getUserCarByGraduationYear(Integer graduationYear) {
+        return databaseClient.sql("select " + COLUMNS + " from user_car where graduation_year = :graduationYear").
+                bind("graduationYear", graduationYear).
+                map(ReactiveUserCarRepository::toUserCar).
+                one();
+    }
+
+    public Flux<UserCar> findByUserId(Integer userId) {
+        return databaseClient.sql("select " + COLUMNS + " from user_car where user_car_id = :userId").
+                bind("userId", userId).
+                map(ReactiveUserCarRepository::toUserCar).
+                all();
+    }
+
+    public Mono<UserCar> save(UserCar userCar) {
+        return databaseClient.sql("insert into user_car (user_name, user_email, brand_car, graduation_year, model, " +
+                        "car_vin_code) values (:userName, :userEmail, :brandCar, :graduationYear, :model, " +
+                        ":carVinCode) returning " + COLUMNS).
+                bind("userName", Bindings.nullable(userCar.getUserName(), String.class)).
+                bind("userEmail", Bindings.nullable(userCar.getUserEmail(), String.class)).
+                bind("brandCar", Bindings.nullable(userCar.getBrandCar(), String.class)).
+                bind("graduationYear", Bindings.nullable(userCar.getGraduationYear(), Integer.class)).
+                bind("model", Bindings.nullable(userCar.getModel(), String.class)).
+                bind("carVinCode", Bindings.nullable(userCar.getCarVinCode(), String.class)).
+                map(ReactiveUserCarRepository::toUserCar).
+                one();
+    }
+
+    public Mono<UserCar> updateByCarVinCode(String vinCode, String userName, String userEmail, String brandCar,
+                                            String model, Integer graduationYear) {
+        return databaseClient.sql("update user_car set user_name = :userName, user_email = :userEmail, " +
+                        "brand_car = :brandCar, model = :model, graduation_year = :graduationYear, " +
+                        "version = version + 1 where car_vin_code = :vinCode returning " + COLUMNS).
+                bind("vinCode", vinCode).
+                bind("userName", Bindings.nullable(userName, String.class)).
+                bind("userEmail", Bindings.nullable(userEmail, String.class)).
+                bind("brandCar", Bindings.nullable(brandCar, String.class)).
+                bind("model", Bindings.nullable(model, String.class)).
+                bind("graduationYear", Bindings.nullable(graduationYear, Integer.class)).
+                map(ReactiveUserCarRepository::toUserCar).
+                one();
+    }
+
+    public Mono<Long> deleteByCarVinCode(String vinCode) {
+        return databaseClient.sql("delete from user_car where car_vin_code = :vinCode").
+                bind("vinCode", vinCode).
+                fetch().
+                rowsUpdated();
+    }
+
+    static UserCar toUserCar(Readable row) {
+        return new UserCar(
+                row.get("id", Integer.class),
+                row.get("user_name", String.class),
+                row.get("user_email", String.class),
+                row.get("brand_car", String.class),
+                row.get("graduation_year", Integer.class),
+                row.get("model", String.class),
+                row.get("car_vin_code", String.class));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.restful_web_service.repository.reactive;
+
+import com.example.restful_web_service.entity.UserHouse;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserHouseRepository {
+    private static final String COLUMNS =
+            "id, user_name, user_phone, country, town, address, house_number, flat_number";
+    private static final int FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveUserHouseRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<UserHouse> streamAll() {
+        return databaseClient.sql("select " + COLUMNS + " from user_house").
+                filter(statement -> statement.fetchSize(FETCH_SIZE)).
+                map(ReactiveUserHouseRepository::toUserHouse).
+                all();
+    }
+
+    public Flux<UserHouse> findByIdGreaterThanOrderByIdAsc(Integer id, Integer limit) {
+        return databaseClient.sql("select " + COLUMNS + " from user_house where id > :id order by id limit :limit").
+                bind("id", id).
+                bind("limit", limit).
+                map(ReactiveUserHouseRepository::toUserHouse).
+                all();
+    }
+
+    public Mono<UserHouse> getUserHouseByHouseNumberAndFlatNumber(Integer houseNumber, Integer flatNumber) {
+        return databaseClient.sql("select " + COLUMNS + " from user_house where house_number = :houseNumber " +
+                        "and flat_number = :flatNumber").
+                bind("houseNumber", houseNumber).
+                bind("flatNumber", flatNumber).
+                map(ReactiveUserHouseRepository::toUserHouse).
+                one();
+    }
+
+    public Flux<UserHouse> getUserHouseByTown(String town) {
+        return databaseClient.sql("select " + COLUMNS + " from user_house where town = :town").
+                bind("town", town).
+                map(ReactiveUserHouseRepository::toUserHouse).
+                all();
+    }
+
+    public Flux<UserHouse> getUserHouseByCountry(String country) {
+        return databaseClient.sql("select " + COLUMNS + " from user_house where country = :country").
+                bind("country", country).
+                map(ReactiveUserHouseRepository::toUserHouse).
+                all();
+    }
+
+    public Flux<UserHouse> findByUserId(Integer userId) {
+        return databaseClient.sql("select " + COLUMNS + " from user_house where user_house_id = :userId").
+                bind("userId", userId).
+                map(ReactiveUserHouseRepository::toUserHouse).
+                all();
+    }
+
+    public Mono<UserHouse> save(UserHouse userHouse) {
+        return databaseClient.sql("insert into user_house (user_name, user_phone, country, town, address, " +
+                        "house_number, flat_number) values (:userName, :userPhone, :country, :town, :address, " +
+                        ":houseNumber, :flatNumber) returning " + COLUMNS).
+                bind("userName", Bindings.nullable(userHouse.getUserName(), String.class)).
+                bind("userPhone", Bindings.nullable(userHouse.getUserPhone(), String.class)).
+                bind("country", Bindings.nullable(userHouse.getCountry(), String.class)).
+                bind("town", Bindings.nullable(userHouse.getTown(), String.class)).
+                bind("address", Bindings.nullable(userHouse.getAddress(), String.class)).
+                bind("houseNumber", Bindings.nullable(userHouse.getHouseNumber(), Integer.class)).
+                bind("flatNumber", Bindings.nullable(userHouse.getFlatNumber(), Integer.class)).
+                map(ReactiveUserHouseRepository::toUserHouse).
+                one();
+    }
+
+    public Mono<UserHouse> updateByHouseNumberAndFlatNumber(Integer houseNumber, Integer flatNumber,
+                                                            UserHouse userHouse) {
+        return databaseClient.sql("update user_house set user_name = :userName, user_phone = :userPhone, " +
+                        "country = :country, town = :town, address = :address, house_number = :newHouseNumber, " +
+                        "flat_number = :newFlatNumber, version = version + 1 where house_number = :houseNumber " +
+                        "and flat_number = :flatNumber returning " + COLUMNS).
+                bind("houseNumber", houseNumber).
+                bind("flatNumber", flatNumber).
+                bind("userName", Bindings.nullable(userHouse.getUserName(), String.class)).
+                bind("userPhone", Bindings.nullable(userHouse.getUserPhone(), String.class)).
+                bind("country", Bindings.nullable(userHouse.getCountry(), String.class)).
+                bind("town", Bindings.nullable(userHouse.getTown(), String.class)).
+                bind("address", Bindings.nullable(userHouse.getAddress(), String.class)).
+                bind("newHouseNumber", Bindings.nullable(userHouse.getHouseNumber(), Integer.class)).
+                bind("newFlatNumber", Bindings.nullable(userHouse.getFlatNumber(), Integer.class)).
+                map(ReactiveUserHouseRepository::toUserHouse).
+                one();
+    }
+
+    public Mono<Long> deleteByHouseNumberAndFlatNumber(Integer houseNumber, Integer flatNumber) {
+        return databaseClient.sql("delete from user_house where house_number = :houseNumber " +
+                        "and flat_number = :flatNumber").
+                bind("houseNumber", houseNumber).
+                bind("flatNumber", flatNumber).
+                fetch().
+                rowsUpdated();
+    }
+
+    static UserHouse toUserHouse(Readable row) {
+        return new UserHouse(
+                row.get("id", Integer.class),
+                row.get("user_name", String.class),
+                row.get("user_phone", String.class),
+                row.get("country", String.class),
+                row.get("town", String.class),
+                row.get("address", String.class),
+                row.get("house_number", Integer.class),
+                row.get("flat_number", Integer.class));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.restful_web_service.repository.reactive;
+
+import com.example.restful_web_service.entity.UserPassport;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserPassportRepository {
+    private static final String COLUMNS = "id, name, surname, sex, date_of_birth, nationality, date_of_issue, " +
+            "date_of_expire, passport_number";
+    private static final int FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveUserPassportRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<UserPassport> streamAll() {
+        return databaseClient.sql("select " + COLUMNS + " from user_passport").
+                filter(statement -> statement.fetchSize(FETCH_SIZE)).
+                map(ReactiveUserPassportRepository::toUserPassport).
+                all();
+    }
+
+    public Flux<UserPassport> findByIdGreaterThanOrderByIdAsc(Integer id, Integer limit) {
+        return databaseClient.sql("select " + COLUMNS + " from user_passport where id > :id order by id limit :limit").
+                bind("id", id).
+                bind("limit", limit).
+                map(ReactiveUserPassportRepository::toUserPassport).
+                all();
+    }
+
+    public Mono<UserPassport> getUserPassportByPassportNumber(Integer passportNumber) {
+        return databaseClient.sql("select " + COLUMNS + " from user_passport where passport_number = :passportNumber").
+                bind("passportNumber", passportNumber).
+                map(ReactiveUserPassportRepository::toUserPassport).
+                one();
+    }
+
+    public Flux<UserPassport> getUserPassportByNationality(String nationality) {
+        return databaseClient.sql("select " + COLUMNS + " from user_passport where nationality = :nationality").
+                bind("nationality", nationality).
+                map(ReactiveUserPassportRepository::toUserPassport).
+                all();
+    }
+
+    public Flux<UserPassport> findValid(Integer page, Integer size) {
+        return findPage("not expired", page, size);
+    }
+
+    public Flux<UserPassport> findExpired(Integer page, Integer size) {
+        return findPage("expired", page, size);
+    }
+
+    public Flux<UserPassport> findExpiring(LocalDate date, Integer page, Integer size) {
+        return databaseClient.sql("select " + COLUMNS + " from user_passport where not expired " +
+                        "and date_of_expire <= :date order by date_of_expire, id limit :size offset :offset").
+                bind("date", date).
+                bind("size", size).
+                bind("offset", (long) page * size).
+                map(ReactiveUserPassportRepository::toUserPassport).
+                all();
+    }
+
+    public Mono<UserPassport> findByUserId(Integer userId) {
+        return databaseClient.sql("select p.id, p.name, p.surname, p.sex, p.date_of_birth, p.nationality, " +
+                        "p.date_of_issue, p.date_of_expire, p.passport_number from user_passport p " +
+                        "join users u on u.user_passport_id = p.id where u.id = :userId").
+                bind("userId", userId).
+                map(ReactiveUserPassportRepository::toUserPassport).
+                one();
+    }
+
+    public Mono<UserPassport> save(UserPassport userPassport, LocalDate today) {
+        return databaseClient.sql("insert into user_passport (name, surname, sex, date_of_birth, nationality, " +
+                        "date_of_issue, date_of_expire, passport_number, expired) values (:name, :surname, :sex, " +
+                        ":dateOfBirth, :nationality, :dateOfIssue, :dateOfExpire, :passportNumber, " +
+                        "coalesce(:dateOfExpire < :today, false)) returning " + COLUMNS).
+                bind("name", Bindings.nullable(userPassport.getName(), String.class)).
+                bind("surname", Bindings.nullable(userPassport.getSurname(), String.class)).
+                bind("sex", Bindings.nullable(userPassport.getSex(), String.class)).
+                bind("dateOfBirth", Bindings.nullable(userPassport.getDateOfBirth(), LocalDate.class)).
+                bind("nationality", Bindings.nullable(userPassport.getNationality(), String.class)).
+                bind("dateOfIssue", Bindings.nullable(userPassport.getDateOfIssue(), LocalDate.class)).
+                bind("dateOfExpire", Bindings.nullable(userPassport.getDateOfExpire(), LocalDate.class)).
+                bind("passportNumber", Bindings.nullable(userPassport.getPassportNumber(), Integer.class)).
+                bind("today", today).
+                map(ReactiveUserPassportRepository::toUserPassport).
+                one();
+    }
+
+    public Mono<UserPassport> updateByPassportNumber(Integer passportNumber, UserPassport userPassport,
+                                                     LocalDate today) {
+        return databaseClient.sql("update user_passport set name = :name, surname = :surname, sex = :sex, " +
+                        "date_of_birth = :dateOfBirth, nationality = :nationality, date_of_issue = :dateOfIssue, " +
+                        "date_of_expire = :dateOfExpire, passport_number = :newPassportNumber, " +
+                        "expired = coalesce(:dateOfExpire < :today, false), version = version + 1 " +
+                        "where passport_number = :passportNumber returning " + COLUMNS).
+                bind("passportNumber", passportNumber).
+                bind("name", Bindings.nullable(userPassport.getName(), String.class)).
+                bind("surname", Bindings.nullable(userPassport.getSurname(), String.class)).
+                bind("sex", Bindings.nullable(userPassport.getSex(), String.class)).
+                bind("dateOfBirth", Bindings.nullable(userPassport.getDateOfBirth(), LocalDate.class)).
+                bind("nationality", Bindings.nullable(userPassport.getNationality(), String.class)).
+                bind("dateOfIssue", Bindings.nullable(userPassport.getDateOfIssue(), LocalDate.class)).
+                bind("dateOfExpire", Bindings.nullable(userPassport.getDateOfExpire(), LocalDate.class)).
+                bind("newPassportNumber", Bindings.nullable(userPassport.getPassportNumber(), Integer.class)).
+                bind("today", today).
+                map(ReactiveUserPassportRepository::toUserPassport).
+                one();
+    }
+
+    public Mono<Long> deleteByPassportNumber(Integer passportNumber) {
+        return databaseClient.sql("delete from user_passport where passport_number = :passportNumber").
+                bind("passportNumber", passportNumber).
+                fetch().
+                rowsUpdated();
+    }
+
+    private Flux<UserPassport> findPage(String condition, Integer page, Integer size) {
+        return databaseClient.sql("select " + COLUMNS + " from user_passport where " + condition +
+                        " order by date_of_expire, id limit :size offset :offset").
+                bind("size", size).
+                bind("offset", (long) page * size).
+                map(ReactiveUserPassportRepository::toUserPassport).
+                all();
+    }
+
+    static UserPassport toUserPassport(Readable row) {
+        return new UserPassport(
+                row.get("id", Integer.class),
+                row.get("name", String.class),
+                row.get("surname", String.class),
+                row.get("sex", String.class),
+                row.get("date_of_birth", LocalDate.class),
+                row.get("nationality", String.class),
+                row.get("date_of_issue", LocalDate.class),
+                row.get("date_of_expire", LocalDate.class),
+                row.get("passport_number", Integer.class));
+    }
+}
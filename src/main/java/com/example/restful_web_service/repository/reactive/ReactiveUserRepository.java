@@ -0,0 +1,160 @@
+package com.example.restful_web_service.repository.reactive;
+
+import com.example.restful_web_service.entity.User;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserRepository {
+    private static final String COLUMNS = "id, name, age, email, phone";
+    private static final int FETCH_SIZE = 500;
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<User> findByIdGreaterThanOrderByIdAsc(Integer id, Integer limit) {
+        return databaseClient.sql("select " + COLUMNS + " from users where id > :id order by id limit :limit").
+                bind("id", id).
+                bind("limit", limit).
+                map(ReactiveUserRepository::toUser).
+                all();
+    }
+
+    public Flux<User> streamAll() {
+        return databaseClient.sql("select " + COLUMNS + " from users").
+                filter(statement -> statement.fetchSize(FETCH_SIZE)).
+                map(ReactiveUserRepository::toUser).
+                all();
+    }
+
+    /**
+     * Page of users ordered by (name, id), continued after the given pair; a null id starts from the beginning.
+     * Same keyset as {@code UserSpecifications.after} for the name order.
+     */
+    public Flux<User> findByNameAfterOrderByNameAsc(String name, Integer id, Integer limit) {
+        if (id == null) {
+            return databaseClient.sql("select " + COLUMNS + " from users order by name, id limit :limit").
+                    bind("limit", limit).
+                    map(ReactiveUserRepository::toUser).
+                    all();
+        }
+        return databaseClient.sql("select " + COLUMNS + " from users where name >= :name " +
+                        "and (name > :name or id > :id) order by name, id limit :limit").
+                bind("name", name).
+                bind("id", id).
+                bind("limit", limit).
+                map(ReactiveUserRepository::toUser).
+                all();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("select count(*) from users").
+                map(row -> row.get(0, Long.class)).
+                one();
+    }
+
+    public Mono<User> findById(Integer id) {
+        return databaseClient.sql("select " + COLUMNS + " from users where id = :id").
+                bind("id", id).
+                map(ReactiveUserRepository::toUser).
+                one();
+    }
+
+    /**
+     * Exact-match subset of the MVC filter in {@code UserSpecifications}: only supplied arguments become
+     * predicates and they are combined with OR; no argument at all matches nothing.
+     */
+    public Flux<User> findByNameOrAgeOrEmailOrPhone(String name, Integer age, String email, String phone) {
+        List<String> conditions = new ArrayList<>();
+        if (name != null) {
+            conditions.add("name = :name");
+        }
+        if (age != null) {
+            conditions.add("age = :age");
+        }
+        if (email != null) {
+            conditions.add("email = :email");
+        }
+        if (phone != null) {
+            conditions.add("phone = :phone");
+        }
+        if (conditions.isEmpty()) {
+            return Flux.empty();
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.
+                sql("select " + COLUMNS + " from users where " + String.join(" or ", conditions));
+        if (name != null) {
+            spec = spec.bind("name", name);
+        }
+        if (age != null) {
+            spec = spec.bind("age", age);
+        }
+        if (email != null) {
+            spec = spec.bind("email", email);
+        }
+        if (phone != null) {
+            spec = spec.bind("phone", phone);
+        }
+        return spec.map(ReactiveUserRepository::toUser).all();
+    }
+
+    /**
+     * Takes a whole block from {@code users_seq}, the way Hibernate's pooled optimizer does, so ids never collide
+     * with rows written by the JPA stack against the same database.
+     */
+    public Mono<User> save(User user) {
+        return databaseClient.sql("insert into users (id, name, age, email, phone) values " +
+                        "(nextval('users_seq') - " + (ALLOCATION_SIZE - 1) + ", :name, :age, :email, :phone) " +
+                        "returning " + COLUMNS).
+                bind("name", Bindings.nullable(user.getName(), String.class)).
+                bind("age", Bindings.nullable(user.getAge(), Integer.class)).
+                bind("email", Bindings.nullable(user.getEmail(), String.class)).
+                bind("phone", Bindings.nullable(user.getPhone(), String.class)).
+                map(ReactiveUserRepository::toUser).
+                one();
+    }
+
+    public Mono<User> updateById(Integer id, String name, Integer age, String email, String phone) {
+        return databaseClient.sql("update users set name = :name, age = :age, email = :email, phone = :phone, " +
+                        "version = version + 1 where id = :id returning " + COLUMNS).
+                bind("id", id).
+                bind("name", Bindings.nullable(name, String.class)).
+                bind("age", Bindings.nullable(age, Integer.class)).
+                bind("email", Bindings.nullable(email, String.class)).
+                bind("phone", Bindings.nullable(phone, String.class)).
+                map(ReactiveUserRepository::toUser).
+                one();
+    }
+
+    public Mono<Long> deleteUserById(Integer id) {
+        return databaseClient.sql("with deleted as (delete from users where id = :id returning user_passport_id), " +
+                        "passport as (delete from user_passport where id in (select user_passport_id from deleted)) " +
+                        "select count(*) from deleted").
+                bind("id", id).
+                map(row -> row.get(0, Long.class)).
+                one();
+    }
+
+    static User toUser(Readable row) {
+        return new User(
+                row.get("id", Integer.class),
+                row.get("name", String.class),
+                row.get("age", Integer.class),
+                row.get("email", String.class),
+                row.get("phone", String.class));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.restful_web_service.repository.specification;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Criteria of {@code GET /users/filter}. Only the criteria that are set become predicates; {@code matchAll}
+ * chooses whether they are combined with AND or OR. {@code afterValue} and {@code afterId} come from the cursor
+ * and hold the sort key of the last row of the previous page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserFilter {
+    private String name;
+    private String namePrefix;
+    private Integer age;
+    private Integer minAge;
+    private Integer maxAge;
+    private String email;
+    private String phone;
+    private boolean matchAll;
+    private UserSortField sortField = UserSortField.ID;
+    private Sort.Direction direction = Sort.Direction.ASC;
+    private String afterValue;
+    private Integer afterId;
+}
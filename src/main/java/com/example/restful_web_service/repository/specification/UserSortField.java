@@ -0,0 +1,57 @@
+package com.example.restful_web_service.repository.specification;
+
+import com.example.restful_web_service.controller.dto.UserDto;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Columns the user filter can be ordered by. Each one is backed by an index ending in {@code id}, which breaks
+ * ties and makes the order total, so a page can be continued from the last row's (value, id) pair.
+ */
+public enum UserSortField {
+
+    ID("id", UserDto::getId),
+    NAME("name", UserDto::getName),
+    AGE("age", UserDto::getAge),
+    EMAIL("email", UserDto::getEmail);
+
+    private final String attribute;
+    private final Function<UserDto, Object> accessor;
+
+    UserSortField(String attribute, Function<UserDto, Object> accessor) {
+        this.attribute = attribute;
+        this.accessor = accessor;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Object valueOf(UserDto user) {
+        return accessor.apply(user);
+    }
+
+    /**
+     * Whether a cursor's sort value can be compared with this column. A cursor issued for another sort field, or
+     * a forged one, would otherwise fail only when the query is built.
+     */
+    public boolean accepts(String value) {
+        if (this != AGE) {
+            return value != null;
+        }
+        try {
+            Integer.valueOf(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public static Optional<UserSortField> of(String attribute) {
+        return Arrays.stream(values()).
+                filter(field -> field.attribute.equalsIgnoreCase(attribute)).
+                findFirst();
+    }
+}
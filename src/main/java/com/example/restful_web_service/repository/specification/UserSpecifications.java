@@ -0,0 +1,121 @@
+package com.example.restful_web_service.repository.specification;
+
+import com.example.restful_web_service.entity.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> matching(UserFilter filter) {
+        List<Specification<User>> criteria = new ArrayList<>();
+        if (filter.getName() != null) {
+            criteria.add(hasName(filter.getName()));
+        }
+        if (filter.getNamePrefix() != null) {
+            criteria.add(nameStartsWith(filter.getNamePrefix()));
+        }
+        if (filter.getAge() != null) {
+            criteria.add(hasAge(filter.getAge()));
+        }
+        if (filter.getMinAge() != null || filter.getMaxAge() != null) {
+            criteria.add(ageBetween(filter.getMinAge(), filter.getMaxAge()));
+        }
+        if (filter.getEmail() != null) {
+            criteria.add(hasEmail(filter.getEmail()));
+        }
+        if (filter.getPhone() != null) {
+            criteria.add(hasPhone(filter.getPhone()));
+        }
+        Specification<User> combined = criteria.stream().
+                reduce(filter.isMatchAll() ? Specification::and : Specification::or).
+                orElse(null);
+        return Specification.where(combined).
+                and(after(filter.getSortField(), filter.getDirection(), filter.getAfterValue(), filter.getAfterId()));
+    }
+
+    public static Sort sort(UserFilter filter) {
+        Sort byId = Sort.by(filter.getDirection(), UserSortField.ID.getAttribute());
+        if (filter.getSortField() == UserSortField.ID) {
+            return byId;
+        }
+        return Sort.by(filter.getDirection(), filter.getSortField().getAttribute()).and(byId);
+    }
+
+    public static Specification<User> hasName(String name) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("name"), name);
+    }
+
+    /**
+     * Names are validated as letters and hyphens, so the prefix never carries LIKE wildcards.
+     */
+    public static Specification<User> nameStartsWith(String prefix) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.like(root.get("name"), prefix + "%");
+    }
+
+    public static Specification<User> hasAge(Integer age) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("age"), age);
+    }
+
+    public static Specification<User> ageBetween(Integer minAge, Integer maxAge) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Integer> age = root.get("age");
+            if (minAge == null) {
+                return criteriaBuilder.lessThanOrEqualTo(age, maxAge);
+            }
+            if (maxAge == null) {
+                return criteriaBuilder.greaterThanOrEqualTo(age, minAge);
+            }
+            return criteriaBuilder.between(age, minAge, maxAge);
+        };
+    }
+
+    public static Specification<User> hasEmail(String email) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("email"), email);
+    }
+
+    public static Specification<User> hasPhone(String phone) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("phone"), phone);
+    }
+
+    /**
+     * Rows strictly after (value, id) in the given order. Written as {@code value >= :v and (value > :v or
+     * id > :id)} rather than a plain OR so the first term bounds the index range scan.
+     */
+    public static Specification<User> after(UserSortField field, Sort.Direction direction, String value,
+                                            Integer id) {
+        return (root, query, criteriaBuilder) -> {
+            if (id == null) {
+                return null;
+            }
+            boolean ascending = direction.isAscending();
+            Path<Integer> idPath = root.get(UserSortField.ID.getAttribute());
+            Predicate idAfter = ascending ? criteriaBuilder.greaterThan(idPath, id) :
+                    criteriaBuilder.lessThan(idPath, id);
+            return switch (field) {
+                case ID -> idAfter;
+                case AGE -> after(criteriaBuilder, root.get(field.getAttribute()), Integer.valueOf(value),
+                        ascending, idAfter);
+                default -> after(criteriaBuilder, root.<String>get(field.getAttribute()), value, ascending, idAfter);
+            };
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Predicate after(CriteriaBuilder criteriaBuilder, Path<T> path,
+                                                                     T value, boolean ascending,
+                                                                     Predicate idAfter) {
+        Predicate sameOrAfter = ascending ? criteriaBuilder.greaterThanOrEqualTo(path, value) :
+                criteriaBuilder.lessThanOrEqualTo(path, value);
+        Predicate strictlyAfter = ascending ? criteriaBuilder.greaterThan(path, value) :
+                criteriaBuilder.lessThan(path, value);
+        return criteriaBuilder.and(sameOrAfter, criteriaBuilder.or(strictlyAfter, idAfter));
+    }
+}
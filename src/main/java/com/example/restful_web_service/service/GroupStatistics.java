@@ -0,0 +1,131 @@
+package com.example.restful_web_service.service;
+
+import com.example.restful_web_service.repository.GroupCount;
+import com.example.restful_web_service.repository.UserCarRepository;
+import com.example.restful_web_service.repository.UserHouseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Row counts per country, town, brand and graduation year. Each one is loaded with a single GROUP BY and then
+ * kept in memory: inserts bump their group once committed, while updates and deletes, which do not tell us the
+ * old values, drop the statistic so the next read reloads it. Everything is reloaded on the counter
+ * reconciliation schedule to pick up writes made elsewhere.
+ * <p>
+ * Loads run without holding a lock and publish an immutable snapshot. A load is not published when the
+ * statistic was dropped or bumped while it ran, since it may have missed that write. An insert whose load finished
+ * after the insert was made cannot tell whether the load already saw the row, so it drops the snapshot instead of
+ * counting the row a second time.
+ */
+@Component
+public class GroupStatistics {
+
+    public enum Group {
+        HOUSE_COUNTRY,
+        HOUSE_TOWN,
+        CAR_BRAND,
+        CAR_GRADUATION_YEAR
+    }
+
+    private final Map<Group, Supplier<List<GroupCount>>> loaders = new EnumMap<>(Group.class);
+    private final Map<Group, AtomicLong> generations = new EnumMap<>(Group.class);
+    private final Map<Group, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+
+    @Autowired
+    public GroupStatistics(UserHouseRepository userHouseRepository, UserCarRepository userCarRepository) {
+        loaders.put(Group.HOUSE_COUNTRY, userHouseRepository::countByCountry);
+        loaders.put(Group.HOUSE_TOWN, userHouseRepository::countByTown);
+        loaders.put(Group.CAR_BRAND, userCarRepository::countByBrandCar);
+        loaders.put(Group.CAR_GRADUATION_YEAR, userCarRepository::countByGraduationYear);
+        for (Group group : Group.values()) {
+            generations.put(group, new AtomicLong());
+        }
+    }
+
+    /**
+     * Counts of the statistic, largest group first.
+     */
+    public Map<String, Long> get(Group group) {
+        Snapshot snapshot = snapshots.get(group);
+        Map<String, Long> groupCounts = snapshot == null ? load(group) : snapshot.counts;
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        groupCounts.entrySet().
+                stream().
+                sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).
+                        thenComparing(Map.Entry.comparingByKey())).
+                forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    public void increment(Group group, String name) {
+        long writtenAt = clock.incrementAndGet();
+        AfterCommit.run(() -> {
+            // Stops a load still in flight from publishing counts that may miss this row.
+            generations.get(group).incrementAndGet();
+            snapshots.computeIfPresent(group, (key, snapshot) -> {
+                if (snapshot.loadedAt > writtenAt) {
+                    return null;
+                }
+                Map<String, Long> groupCounts = new HashMap<>(snapshot.counts);
+                groupCounts.merge(name, 1L, Long::sum);
+                return new Snapshot(snapshot.loadedAt, Map.copyOf(groupCounts));
+            });
+        });
+    }
+
+    public void invalidate(Group... groups) {
+        AfterCommit.run(() -> {
+            for (Group group : groups) {
+                drop(group);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${counters.reconcile-interval:PT5M}",
+            initialDelayString = "${counters.reconcile-interval:PT5M}")
+    public void reload() {
+        for (Group group : Group.values()) {
+            drop(group);
+        }
+    }
+
+    private void drop(Group group) {
+        generations.get(group).incrementAndGet();
+        snapshots.remove(group);
+    }
+
+    private Map<String, Long> load(Group group) {
+        AtomicLong generation = generations.get(group);
+        long startedAt = generation.get();
+        Map<String, Long> groupCounts = new HashMap<>();
+        for (GroupCount groupCount : loaders.get(group).get()) {
+            groupCounts.put(groupCount.getName(), groupCount.getTotal());
+        }
+        Snapshot loaded = new Snapshot(clock.incrementAndGet(), Map.copyOf(groupCounts));
+        snapshots.compute(group, (key, current) ->
+                current == null && generation.get() == startedAt ? loaded : current);
+        return loaded.counts;
+    }
+
+    private static final class Snapshot {
+        private final long loadedAt;
+        private final Map<String, Long> counts;
+
+        private Snapshot(long loadedAt, Map<String, Long> counts) {
+            this.loadedAt = loadedAt;
+            this.counts = counts;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.restful_web_service.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Flips the {@code expired} flag of passports whose expiry date has passed. Runs just after midnight and once
+ * at startup, so a night the application was down is caught up. Writes keep the flag current in between.
+ */
+@Component
+public class PassportExpiryScheduler {
+
+    private final UserPassportService userPassportService;
+    private final Clock clock;
+    private final Logger logger = LogManager.getLogger(PassportExpiryScheduler.class);
+
+    @Autowired
+    public PassportExpiryScheduler(UserPassportService userPassportService, Clock clock) {
+        this.userPassportService = userPassportService;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${passports.expiry-cron:0 0 0 * * *}")
+    public void expirePassports() {
+        int expired = userPassportService.expirePassports(LocalDate.now(clock));
+        logger.info("Passports marked as expired: {}", expired);
+    }
+}
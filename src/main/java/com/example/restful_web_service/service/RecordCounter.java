@@ -0,0 +1,100 @@
+package com.example.restful_web_service.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Row counts of the main tables kept in memory, so the count endpoints do not run {@code COUNT(*)} per call.
+ * The services report every insert and delete, applied only once the surrounding transaction commits. Writes
+ * made outside this instance (other nodes, SQL consoles, the reactive stack) are picked up by the periodic
+ * reconciliation, which also absorbs the small drift a write racing with a reconciliation can leave behind.
+ */
+@Component
+public class RecordCounter {
+    private static final long UNKNOWN = -1;
+
+    public enum Table {
+        USERS("users"),
+        USER_CAR("user_car"),
+        USER_HOUSE("user_house"),
+        USER_PASSPORT("user_passport");
+
+        private final String tableName;
+
+        Table(String tableName) {
+            this.tableName = tableName;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Table, AtomicLong> counts = new EnumMap<>(Table.class);
+    private final Logger logger = LogManager.getLogger(RecordCounter.class);
+
+    @Autowired
+    public RecordCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (Table table : Table.values()) {
+            counts.put(table, new AtomicLong(UNKNOWN));
+        }
+    }
+
+    public long get(Table table) {
+        AtomicLong count = counts.get(table);
+        long value = count.get();
+        if (value == UNKNOWN) {
+            value = countRows(table);
+            count.compareAndSet(UNKNOWN, value);
+        }
+        return value;
+    }
+
+    /**
+     * Planner estimate from {@code pg_class.reltuples}, refreshed by autovacuum and ANALYZE. It does not depend on
+     * this instance having seen the writes; falls back to the exact count for a table that was never analyzed.
+     */
+    public long getApproximate(Table table) {
+        Long estimate = jdbcTemplate.queryForObject(
+                "select reltuples::bigint from pg_class where oid = to_regclass(?)", Long.class, table.tableName);
+        return estimate == null || estimate < 0 ? get(table) : estimate;
+    }
+
+    public void add(Table table, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        AfterCommit.run(() -> apply(table, delta));
+    }
+
+    @Scheduled(fixedDelayString = "${counters.reconcile-interval:PT5M}",
+            initialDelayString = "${counters.reconcile-interval:PT5M}")
+    public void reconcile() {
+        for (Table table : Table.values()) {
+            long actual = countRows(table);
+            long previous = counts.get(table).getAndSet(actual);
+            if (previous != UNKNOWN && previous != actual) {
+                logger.warn("Count of {} drifted from {} to {}", table.tableName, previous, actual);
+            }
+        }
+    }
+
+    private void apply(Table table, long delta) {
+        counts.get(table).getAndUpdate(value -> value == UNKNOWN ? UNKNOWN : value + delta);
+    }
+
+    private long countRows(Table table) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from " + table.tableName, Long.class);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.restful_web_service.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the per-table change counters maintained by the {@code table_change_log} triggers. Unlike
+ * {@link RecordCounter} nothing is kept in memory: the triggers append a log row inside the writing transaction, so a
+ * value read before the data is never newer than the data returned with it. At worst a response is tagged with an
+ * older value and downloaded once more. Writers never update a shared row; {@link #compact()} folds the log into
+ * {@code table_change_counter} so the count stays cheap.
+ */
+@Component
+public class TableChangeCounter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TableChangeCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Map<RecordCounter.Table, Long> getVersions() {
+        Map<String, Long> versions = jdbcTemplate.query("select c.table_name, c.version + " +
+                        "(select count(*) from table_change_log l where l.table_name = c.table_name) as version " +
+                        "from table_change_counter c",
+                resultSet -> {
+                    Map<String, Long> rows = new HashMap<>();
+                    while (resultSet.next()) {
+                        rows.put(resultSet.getString("table_name"), resultSet.getLong("version"));
+                    }
+                    return rows;
+                });
+        Map<RecordCounter.Table, Long> result = new EnumMap<>(RecordCounter.Table.class);
+        for (RecordCounter.Table table : RecordCounter.Table.values()) {
+            result.put(table, versions == null ? 0L : versions.getOrDefault(table.getTableName(), 0L));
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${counters.compact-interval:PT10S}",
+            initialDelayString = "${counters.compact-interval:PT10S}")
+    public void compact() {
+        jdbcTemplate.update("with compacted as (delete from table_change_log returning table_name) " +
+                "update table_change_counter c set version = c.version + d.changes " +
+                "from (select table_name, count(*) as changes from compacted group by table_name) d " +
+                "where c.table_name = d.table_name");
+    }
+}
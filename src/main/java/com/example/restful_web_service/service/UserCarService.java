@@ -1,60 +1,129 @@
 package com.example.restful_web_service.service;
 
+import com.example.restful_web_service.config.ReplicaRoutingDataSource;
 import com.example.restful_web_service.controller.dto.UserCarDto;
 import com.example.restful_web_service.entity.UserCar;
 import com.example.restful_web_service.repository.UserCarRepository;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserCarService {
 
     private final UserCarRepository userCarRepository;
+    private final EntityManager entityManager;
+    private final RecordCounter recordCounter;
+    private final GroupStatistics groupStatistics;
 
     @Autowired
-    public UserCarService(UserCarRepository userCarRepository) {
+    public UserCarService(UserCarRepository userCarRepository, EntityManager entityManager,
+                          RecordCounter recordCounter, GroupStatistics groupStatistics) {
         this.userCarRepository = userCarRepository;
+        this.entityManager = entityManager;
+        this.recordCounter = recordCounter;
+        this.groupStatistics = groupStatistics;
     }
 
-    public List<UserCar> getAllInformationUserCar() {
-        return userCarRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<UserCarDto> getUserCarsAfterId(Integer id, Integer limit) {
+        return userCarRepository.findDtosByIdGreaterThan(id, PageRequest.ofSize(limit));
     }
 
+    @Transactional(readOnly = true)
+    public void exportAllInformationUserCar(Consumer<UserCar> consumer) {
+        try (Stream<UserCar> userCars = userCarRepository.streamAll()) {
+            userCars.forEach(userCar -> {
+                consumer.accept(userCar);
+                entityManager.detach(userCar);
+            });
+        }
+    }
+
+    @Cacheable(cacheNames = "userCars", key = "#vinCode", unless = "#result == null")
     public UserCar getUserCarByVinCode(String vinCode) {
-        return userCarRepository.getUserCarByCarVinCode(vinCode);
+        return ReplicaRoutingDataSource.onPrimary(() -> userCarRepository.getUserCarByCarVinCode(vinCode));
     }
 
-    public List<UserCar> getUserByUserNameAndEmail(String userName, String email) {
-        return userCarRepository.getUserCarByUserNameAndUserEmail(userName, email);
+    @Transactional(readOnly = true)
+    public List<UserCarDto> getUserByUserNameAndEmail(String userName, String email) {
+        return userCarRepository.findDtosByUserNameAndUserEmail(userName, email);
     }
 
-    public List<UserCar> getUserCarByBrandCarAndModel(String brandCar, String model) {
-        return userCarRepository.getUserCarByBrandCarAndModel(brandCar, model);
+    @Transactional(readOnly = true)
+    public List<UserCarDto> getUserCarByBrandCarAndModel(String brandCar, String model) {
+        return userCarRepository.findDtosByBrandCarAndModel(brandCar, model);
     }
 
     public Optional<UserCar> getUserCarByGraduationYear(Integer graduationYear) {
         return userCarRepository.getUserCarByGraduationYear(graduationYear);
     }
 
+    @Transactional
+    @CachePut(cacheNames = "userCars", key = "#result.carVinCode")
     public UserCar createUserCar(UserCar userCar) {
-        return userCarRepository.save(userCar);
+        // Only creates: an id sent by the client is ignored, existing cars change through PUT with If-Match.
+        userCar.setId(null);
+        UserCar savedUserCar = userCarRepository.save(userCar);
+        recordCounter.add(RecordCounter.Table.USER_CAR, 1);
+        groupStatistics.increment(GroupStatistics.Group.CAR_BRAND, savedUserCar.getBrandCar());
+        groupStatistics.increment(GroupStatistics.Group.CAR_GRADUATION_YEAR,
+                String.valueOf(savedUserCar.getGraduationYear()));
+        return savedUserCar;
+    }
+
+    @Transactional
+    @CachePut(cacheNames = "userCars", key = "#vinCode", unless = "#result == null")
+    public Optional<UserCar> updateUserCarInformation(String vinCode, UserCarDto userCarDto, String expectedTag) {
+        Optional<UserCar> userCar = userCarRepository.updateByCarVinCode(vinCode, userCarDto.getUserName(),
+                userCarDto.getUserEmail(), userCarDto.getBrandCar(), userCarDto.getModel(),
+                userCarDto.getGraduationYear(), expectedTag);
+        if (userCar.isEmpty() && !VersionTag.ANY.equals(expectedTag) && userCarRepository.existsByCarVinCode(vinCode)) {
+            throw new OptimisticLockingFailureException("User car with VIN Code: " + vinCode +
+                    " was modified, expected version " + expectedTag);
+        }
+        userCar.ifPresent(updated -> groupStatistics.invalidate(GroupStatistics.Group.CAR_BRAND,
+                GroupStatistics.Group.CAR_GRADUATION_YEAR));
+        return userCar;
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = "userCars", key = "#vinCode")
+    public boolean deleteUserCarInformation(String vinCode) {
+        int deleted = userCarRepository.deleteByCarVinCode(vinCode);
+        recordCounter.add(RecordCounter.Table.USER_CAR, -deleted);
+        if (deleted > 0) {
+            groupStatistics.invalidate(GroupStatistics.Group.CAR_BRAND, GroupStatistics.Group.CAR_GRADUATION_YEAR);
+        }
+        return deleted > 0;
+    }
+
+    public Long getUserCarCount() {
+        return recordCounter.get(RecordCounter.Table.USER_CAR);
+    }
+
+    public Long getApproximateUserCarCount() {
+        return recordCounter.getApproximate(RecordCounter.Table.USER_CAR);
     }
 
-    public UserCar updateUserCarInformation(String vinCode, UserCarDto userCarDto) {
-        UserCar userCar = userCarRepository.getUserCarByCarVinCode(vinCode);
-        userCar.setUserName(userCarDto.getUserName());
-        userCar.setUserEmail(userCarDto.getUserEmail());
-        userCar.setBrandCar(userCarDto.getBrandCar());
-        userCar.setModel(userCarDto.getModel());
-        userCar.setGraduationYear(userCarDto.getGraduationYear());
-        return userCarRepository.save(userCar);
+    public Map<String, Long> getUserCarCountByBrand() {
+        return groupStatistics.get(GroupStatistics.Group.CAR_BRAND);
     }
 
-    public void deleteUserCarInformation(UserCar userCar) {
-        userCarRepository.delete(userCar);
+    public Map<String, Long> getUserCarCountByGraduationYear() {
+        return groupStatistics.get(GroupStatistics.Group.CAR_GRADUATION_YEAR);
     }
 }
 
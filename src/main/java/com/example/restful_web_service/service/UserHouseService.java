@@ -3,54 +3,116 @@ package com.example.restful_web_service.service;
 import com.example.restful_web_service.controller.dto.UserHouseDto;
 import com.example.restful_web_service.entity.UserHouse;
 import com.example.restful_web_service.repository.UserHouseRepository;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserHouseService {
 
     private final UserHouseRepository userHouseRepository;
+    private final EntityManager entityManager;
+    private final RecordCounter recordCounter;
+    private final GroupStatistics groupStatistics;
 
     @Autowired
-    public UserHouseService(UserHouseRepository userHouseRepository) {
+    public UserHouseService(UserHouseRepository userHouseRepository, EntityManager entityManager,
+                            RecordCounter recordCounter, GroupStatistics groupStatistics) {
         this.userHouseRepository = userHouseRepository;
+        this.entityManager = entityManager;
+        this.recordCounter = recordCounter;
+        this.groupStatistics = groupStatistics;
     }
 
-    public List<UserHouse> getAllInformationUserHouse() {
-        return userHouseRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<UserHouseDto> getUserHousesAfterId(Integer id, Integer limit) {
+        return userHouseRepository.findDtosByIdGreaterThan(id, PageRequest.ofSize(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAllInformationUserHouse(Consumer<UserHouse> consumer) {
+        try (Stream<UserHouse> userHouses = userHouseRepository.streamAll()) {
+            userHouses.forEach(userHouse -> {
+                consumer.accept(userHouse);
+                entityManager.detach(userHouse);
+            });
+        }
     }
 
     public Optional<UserHouse> getInformationByHouseNumberAndFlatNumber(Integer houseNumber, Integer flatNumber) {
         return userHouseRepository.getUserHouseByHouseNumberAndFlatNumber(houseNumber, flatNumber);
     }
 
-    public List<UserHouse> getHouseInTown(String town) {
-        return userHouseRepository.getUserHouseByTown(town);
+    @Transactional(readOnly = true)
+    public List<UserHouseDto> getHouseInTown(String town) {
+        return userHouseRepository.findDtosByTown(town);
     }
 
-    public List<UserHouse> getUserHousesInCountry(String country) {
-        return userHouseRepository.getUserHouseByCountry(country);
+    @Transactional(readOnly = true)
+    public List<UserHouseDto> getUserHousesInCountry(String country) {
+        return userHouseRepository.findDtosByCountry(country);
     }
 
+    @Transactional
     public UserHouse save(UserHouse userHouse) {
-        return userHouseRepository.save(userHouse);
+        // Only creates: an id sent by the client is ignored, existing houses change through PUT with If-Match.
+        userHouse.setId(null);
+        UserHouse savedUserHouse = userHouseRepository.save(userHouse);
+        recordCounter.add(RecordCounter.Table.USER_HOUSE, 1);
+        groupStatistics.increment(GroupStatistics.Group.HOUSE_COUNTRY, savedUserHouse.getCountry());
+        groupStatistics.increment(GroupStatistics.Group.HOUSE_TOWN, savedUserHouse.getTown());
+        return savedUserHouse;
+    }
+
+    @Transactional
+    public Optional<UserHouse> updateUserHouse(Integer houseNumber, Integer flatNumber, UserHouseDto userHouseDto,
+                                               String expectedTag) {
+        Optional<UserHouse> userHouse = userHouseRepository.updateByHouseNumberAndFlatNumber(houseNumber,
+                flatNumber, userHouseDto.getUserName(), userHouseDto.getUserPhone(), userHouseDto.getCountry(),
+                userHouseDto.getTown(), userHouseDto.getAddress(), userHouseDto.getHouseNumber(),
+                userHouseDto.getFlatNumber(), expectedTag);
+        if (userHouse.isEmpty() && !VersionTag.ANY.equals(expectedTag) &&
+                userHouseRepository.existsByHouseNumberAndFlatNumber(houseNumber, flatNumber)) {
+            throw new OptimisticLockingFailureException("User house: " + houseNumber + "/" + flatNumber +
+                    " was modified, expected version " + expectedTag);
+        }
+        userHouse.ifPresent(updated -> groupStatistics.invalidate(GroupStatistics.Group.HOUSE_COUNTRY,
+                GroupStatistics.Group.HOUSE_TOWN));
+        return userHouse;
+    }
+
+    @Transactional
+    public boolean deleteUserHouse(Integer houseNumber, Integer flatNumber) {
+        int deleted = userHouseRepository.deleteByHouseNumberAndFlatNumber(houseNumber, flatNumber);
+        recordCounter.add(RecordCounter.Table.USER_HOUSE, -deleted);
+        if (deleted > 0) {
+            groupStatistics.invalidate(GroupStatistics.Group.HOUSE_COUNTRY, GroupStatistics.Group.HOUSE_TOWN);
+        }
+        return deleted > 0;
+    }
+
+    public Long getUserHouseCount() {
+        return recordCounter.get(RecordCounter.Table.USER_HOUSE);
+    }
+
+    public Long getApproximateUserHouseCount() {
+        return recordCounter.getApproximate(RecordCounter.Table.USER_HOUSE);
     }
 
-    public UserHouse updateUserHouse(UserHouse userHouse, UserHouseDto userHouseDto) {
-        userHouse.setUserName(userHouseDto.getUserName());
-        userHouse.setUserPhone(userHouseDto.getUserPhone());
-        userHouse.setCountry(userHouseDto.getCountry());
-        userHouse.setTown(userHouseDto.getAddress());
-        userHouse.setAddress(userHouseDto.getAddress());
-        userHouse.setHouseNumber(userHouseDto.getHouseNumber());
-        userHouse.setFlatNumber(userHouseDto.getFlatNumber());
-        return userHouseRepository.save(userHouse);
+    public Map<String, Long> getUserHouseCountByCountry() {
+        return groupStatistics.get(GroupStatistics.Group.HOUSE_COUNTRY);
     }
 
-    public void deleteUserHouse(UserHouse userHouse) {
-        userHouseRepository.delete(userHouse);
+    public Map<String, Long> getUserHouseCountByTown() {
+        return groupStatistics.get(GroupStatistics.Group.HOUSE_TOWN);
     }
 }
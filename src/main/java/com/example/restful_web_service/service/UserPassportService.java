@@ -1,54 +1,134 @@
 package com.example.restful_web_service.service;
 
+import com.example.restful_web_service.config.ReplicaRoutingDataSource;
 import com.example.restful_web_service.controller.dto.UserPassportDto;
 import com.example.restful_web_service.entity.UserPassport;
 import com.example.restful_web_service.repository.UserPassportRepository;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserPassportService {
 
     private final UserPassportRepository userPassportRepository;
+    private final EntityManager entityManager;
+    private final RecordCounter recordCounter;
+    private final Clock clock;
 
     @Autowired
-    public UserPassportService(UserPassportRepository userPassportRepository) {
+    public UserPassportService(UserPassportRepository userPassportRepository, EntityManager entityManager,
+                               RecordCounter recordCounter, Clock clock) {
         this.userPassportRepository = userPassportRepository;
+        this.entityManager = entityManager;
+        this.recordCounter = recordCounter;
+        this.clock = clock;
     }
 
-    public List<UserPassport> getAllInformation() {
-        return userPassportRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<UserPassportDto> getPassportsAfterId(Integer id, Integer limit) {
+        return userPassportRepository.findDtosByIdGreaterThan(id, PageRequest.ofSize(limit));
     }
 
+    @Transactional(readOnly = true)
+    public void exportAllInformation(Consumer<UserPassport> consumer) {
+        try (Stream<UserPassport> userPassports = userPassportRepository.streamAll()) {
+            userPassports.forEach(userPassport -> {
+                consumer.accept(userPassport);
+                entityManager.detach(userPassport);
+            });
+        }
+    }
+
+    @Cacheable(cacheNames = "userPassports", key = "#passportNumber", unless = "#result == null")
     public Optional<UserPassport> getPassportInformationByNumber(Integer passportNumber) {
-        return userPassportRepository.getUserPassportByPassportNumber(passportNumber);
+        return ReplicaRoutingDataSource.onPrimary(() ->
+                userPassportRepository.getUserPassportByPassportNumber(passportNumber));
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserPassportDto> getPassportInformationByNationality(String nationality) {
+        return userPassportRepository.findDtosByNationality(nationality);
     }
 
-    public List<UserPassport> getPassportInformationByNationality(String nationality) {
-        return userPassportRepository.getUserPassportByNationality(nationality);
+    @Transactional(readOnly = true)
+    public List<UserPassportDto> getValidPassports(Integer page, Integer size) {
+        return userPassportRepository.findValidDtos(PageRequest.of(page, size, Sort.by("dateOfExpire", "id")));
     }
 
+    @Transactional(readOnly = true)
+    public List<UserPassportDto> getExpiredPassports(Integer page, Integer size) {
+        return userPassportRepository.findExpiredDtos(PageRequest.of(page, size, Sort.by("dateOfExpire", "id")));
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserPassportDto> getExpiringPassports(Integer days, Integer page, Integer size) {
+        return userPassportRepository.findExpiringDtos(LocalDate.now(clock).plusDays(days),
+                PageRequest.of(page, size, Sort.by("dateOfExpire", "id")));
+    }
 
+    @Transactional
+    @CacheEvict(cacheNames = "userPassports", allEntries = true)
+    public int expirePassports(LocalDate today) {
+        return userPassportRepository.markExpiredBefore(today);
+    }
+
+    @Transactional
+    @CachePut(cacheNames = "userPassports", key = "#result.passportNumber")
     public UserPassport save(UserPassport userPassport) {
-        return userPassportRepository.save(userPassport);
+        // Only creates: an id sent by the client is ignored, existing passports change through PUT with If-Match.
+        userPassport.setId(null);
+        userPassport.updateExpired(LocalDate.now(clock));
+        UserPassport savedUserPassport = userPassportRepository.save(userPassport);
+        recordCounter.add(RecordCounter.Table.USER_PASSPORT, 1);
+        return savedUserPassport;
     }
 
-    public UserPassport updateUserPassport (UserPassport userPassport, UserPassportDto userPassportDto) {
-        userPassport.setName(userPassportDto.getName());
-        userPassport.setSurname(userPassportDto.getSurname());
-        userPassport.setSex(userPassportDto.getSex());
-        userPassport.setDateOfBirth(userPassportDto.getDateOfBirth());
-        userPassport.setNationality(userPassportDto.getNationality());
-        userPassport.setDateOfIssue(userPassportDto.getDateOfIssue());
-        userPassport.setDateOfExpire(userPassportDto.getDateOfExpire());
-        userPassport.setPassportNumber(userPassportDto.getPassportNumber());
-        return userPassportRepository.save(userPassport);
+    // The passport number can change, so both entries are evicted and the next read caches the stored row.
+    @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = "userPassports", key = "#passportNumber"),
+            @CacheEvict(cacheNames = "userPassports", key = "#updatedUserPassport.passportNumber")})
+    public Optional<UserPassport> updateUserPassport(Integer passportNumber, UserPassport updatedUserPassport,
+                                                     String expectedTag) {
+        Optional<UserPassport> userPassport = userPassportRepository.updateByPassportNumber(passportNumber,
+                updatedUserPassport.getName(), updatedUserPassport.getSurname(), updatedUserPassport.getSex(),
+                updatedUserPassport.getDateOfBirth(), updatedUserPassport.getNationality(),
+                updatedUserPassport.getDateOfIssue(), updatedUserPassport.getDateOfExpire(),
+                updatedUserPassport.getPassportNumber(), LocalDate.now(clock), expectedTag);
+        if (userPassport.isEmpty() && !VersionTag.ANY.equals(expectedTag) &&
+                userPassportRepository.existsByPassportNumber(passportNumber)) {
+            throw new OptimisticLockingFailureException("User passport with passport number: " + passportNumber +
+                    " was modified, expected version " + expectedTag);
+        }
+        return userPassport;
     }
 
+    @CacheEvict(cacheNames = "userPassports", key = "#userPassport.passportNumber")
     public void delete(UserPassport userPassport) {
         userPassportRepository.delete(userPassport);
+        recordCounter.add(RecordCounter.Table.USER_PASSPORT, -1);
+    }
+
+    public Long getUserPassportCount() {
+        return recordCounter.get(RecordCounter.Table.USER_PASSPORT);
+    }
+
+    public Long getApproximateUserPassportCount() {
+        return recordCounter.getApproximate(RecordCounter.Table.USER_PASSPORT);
     }
 }
@@ -1,59 +1,178 @@
 package com.example.restful_web_service.service;
 
+import com.example.restful_web_service.config.ReplicaRoutingDataSource;
 import com.example.restful_web_service.controller.dto.UserDto;
 import com.example.restful_web_service.entity.User;
+import com.example.restful_web_service.repository.UserDeletion;
 import com.example.restful_web_service.repository.UserRepository;
+import com.example.restful_web_service.repository.specification.UserFilter;
+import com.example.restful_web_service.repository.specification.UserSpecifications;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
+    private static final int INSERT_CHUNK_SIZE = 500;
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final RecordCounter recordCounter;
+    private final GroupStatistics groupStatistics;
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, EntityManager entityManager, RecordCounter recordCounter,
+                       GroupStatistics groupStatistics) {
         this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.recordCounter = recordCounter;
+        this.groupStatistics = groupStatistics;
     }
 
-    public List<User> getAllUser() {
-        return userRepository.findAll();
+    @Transactional(readOnly = true)
+    public void exportAllUser(Consumer<User> consumer) {
+        try (Stream<User> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                consumer.accept(user);
+                entityManager.detach(user);
+            });
+        }
     }
 
-    public List<User> getAllUsersSorted() {
-        Sort sort = Sort.by("name").ascending();
-        return userRepository.findAll(sort);
+    @Transactional(readOnly = true)
+    public List<UserDto> getUsersAfterId(Integer id, Integer limit) {
+        return userRepository.findDtosByIdGreaterThan(id, PageRequest.ofSize(limit));
     }
 
+    @Cacheable(cacheNames = "users", key = "#id", unless = "#result == null")
     public Optional<User> getUserById(Integer id) {
-        return userRepository.findById(id);
+        // Cached for minutes, so read from the primary rather than a replica that may not have the latest write.
+        return ReplicaRoutingDataSource.onPrimary(() -> userRepository.findById(id));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<User> getUserProfile(Integer id) {
+        Optional<User> user = userRepository.findProfileById(id);
+        user.ifPresent(profile -> {
+            Hibernate.initialize(profile.getUserCars());
+            Hibernate.initialize(profile.getUserHouses());
+        });
+        return user;
     }
 
-    public List<User> getUsersByFilter(String name, Integer age, String email, String phone) {
-        return userRepository.getUserByNameOrAgeOrEmailOrPhone(name, age, email, phone);
+    @Transactional(readOnly = true)
+    public List<UserDto> getUsersByFilter(UserFilter filter, Integer limit) {
+        return userRepository.findAllDtos(UserSpecifications.matching(filter), UserSpecifications.sort(filter),
+                limit);
     }
 
     public Long getUserCount() {
-        return userRepository.count();
+        return recordCounter.get(RecordCounter.Table.USERS);
+    }
+
+    public Long getApproximateUserCount() {
+        return recordCounter.getApproximate(RecordCounter.Table.USERS);
     }
 
+    @Transactional
+    @CachePut(cacheNames = "users", key = "#result.id")
     public User saveUser(User user) {
-        return userRepository.save(user);
+        // Only creates: an id sent by the client is ignored, existing users change through PUT with If-Match.
+        user.setId(null);
+        User savedUser = userRepository.save(user);
+        recordCounter.add(RecordCounter.Table.USERS, 1);
+        return savedUser;
     }
 
-    public User updateUser(User user, UserDto userDto) {
-        user.setName(userDto.getName());
-        user.setAge(userDto.getAge());
-        user.setEmail(userDto.getEmail());
-        user.setPhone(userDto.getPhone());
-        return userRepository.save(user);
+    /**
+     * Inserts the users in chunks and returns the ones that were created. A user whose email or phone number was
+     * taken in the meantime is skipped and keeps a {@code null} id, so one conflicting row does not roll back
+     * the rest.
+     */
+    @Transactional
+    public List<User> saveAllUsers(List<User> users) {
+        List<User> savedUsers = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i += INSERT_CHUNK_SIZE) {
+            List<User> chunk = users.subList(i, Math.min(i + INSERT_CHUNK_SIZE, users.size()));
+            List<Integer> ids = userRepository.allocateIds(chunk.size());
+            for (int j = 0; j < chunk.size(); j++) {
+                chunk.get(j).setId(ids.get(j));
+            }
+            Set<Integer> insertedIds = new HashSet<>(userRepository.insertIgnoringConflicts(chunk));
+            for (User user : chunk) {
+                if (insertedIds.contains(user.getId())) {
+                    savedUsers.add(user);
+                } else {
+                    user.setId(null);
+                }
+            }
+        }
+        recordCounter.add(RecordCounter.Table.USERS, savedUsers.size());
+        return savedUsers;
     }
 
+    public Set<String> getExistingEmails(List<String> emails) {
+        Set<String> existingEmails = new HashSet<>();
+        for (int i = 0; i < emails.size(); i += LOOKUP_CHUNK_SIZE) {
+            existingEmails.addAll(userRepository.
+                    findExistingEmails(emails.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, emails.size()))));
+        }
+        return existingEmails;
+    }
+
+    public Set<String> getExistingPhones(List<String> phones) {
+        Set<String> existingPhones = new HashSet<>();
+        for (int i = 0; i < phones.size(); i += LOOKUP_CHUNK_SIZE) {
+            existingPhones.addAll(userRepository.
+                    findExistingPhones(phones.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, phones.size()))));
+        }
+        return existingPhones;
+    }
+
+    @Transactional
+    @CachePut(cacheNames = "users", key = "#id", unless = "#result == null")
+    public Optional<User> updateUser(Integer id, UserDto userDto, String expectedTag) {
+        Optional<User> user = userRepository.updateById(id, userDto.getName(), userDto.getAge(), userDto.getEmail(),
+                userDto.getPhone(), expectedTag);
+        if (user.isEmpty() && !VersionTag.ANY.equals(expectedTag) && userRepository.existsById(id)) {
+            throw new OptimisticLockingFailureException("User with id: " + id + " was modified, expected version " +
+                    expectedTag);
+        }
+        return user;
+    }
 
-    public void delete(User user) {
-        userRepository.delete(user);
+    @Transactional
+    @Caching(evict = {@CacheEvict(cacheNames = "users", key = "#id"),
+            @CacheEvict(cacheNames = {"userCars", "userPassports"}, allEntries = true)})
+    public boolean deleteById(Integer id) {
+        UserDeletion deletion = userRepository.deleteUserById(id);
+        recordCounter.add(RecordCounter.Table.USERS, -deletion.getUsers());
+        recordCounter.add(RecordCounter.Table.USER_PASSPORT, -deletion.getPassports());
+        recordCounter.add(RecordCounter.Table.USER_CAR, -deletion.getCars());
+        recordCounter.add(RecordCounter.Table.USER_HOUSE, -deletion.getHouses());
+        if (deletion.getCars() > 0) {
+            groupStatistics.invalidate(GroupStatistics.Group.CAR_BRAND, GroupStatistics.Group.CAR_GRADUATION_YEAR);
+        }
+        if (deletion.getHouses() > 0) {
+            groupStatistics.invalidate(GroupStatistics.Group.HOUSE_COUNTRY, GroupStatistics.Group.HOUSE_TOWN);
+        }
+        return deletion.getUsers() > 0;
     }
 }
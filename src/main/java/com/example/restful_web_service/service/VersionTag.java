@@ -0,0 +1,21 @@
+package com.example.restful_web_service.service;
+
+/**
+ * Identifies one version of one row as {@code id.version}, the opaque part of the entity ETags. Conditional
+ * updates take the tag the client last saw, or {@link #ANY} for an unconditional write. The native update
+ * queries build the same format in SQL, so the check happens atomically inside the UPDATE statement.
+ */
+public final class VersionTag {
+    public static final String ANY = "*";
+
+    private VersionTag() {
+    }
+
+    public static String of(Integer id, long version) {
+        return id + "." + version;
+    }
+
+    public static boolean matches(String expectedTag, Integer id, long version) {
+        return ANY.equals(expectedTag) || of(id, version).equals(expectedTag);
+    }
+}
@@ -0,0 +1,50 @@
+CREATE TABLE IF NOT EXISTS user_passport
+(
+    id              INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    date_of_birth   VARCHAR(255) NOT NULL,
+    date_of_expire  VARCHAR(255),
+    date_of_issue   VARCHAR(255) NOT NULL,
+    name            VARCHAR(255) NOT NULL,
+    nationality     VARCHAR(255) NOT NULL,
+    passport_number INTEGER      NOT NULL UNIQUE,
+    sex             VARCHAR(255) NOT NULL,
+    surname         VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS users
+(
+    id               INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    age              INTEGER      NOT NULL,
+    email            VARCHAR(255) NOT NULL UNIQUE,
+    name             VARCHAR(255) NOT NULL,
+    phone            VARCHAR(255) NOT NULL UNIQUE,
+    user_passport_id INTEGER
+        CONSTRAINT fk_users_user_passport REFERENCES user_passport (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_car
+(
+    id              INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    brand_car       VARCHAR(255) NOT NULL,
+    car_vin_code    VARCHAR(255) NOT NULL UNIQUE,
+    graduation_year INTEGER      NOT NULL,
+    model           VARCHAR(255) NOT NULL,
+    user_email      VARCHAR(255) NOT NULL UNIQUE,
+    user_name       VARCHAR(255) NOT NULL,
+    user_car_id     INTEGER
+        CONSTRAINT fk_user_car_user REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_house
+(
+    id            INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    address       VARCHAR(255) NOT NULL,
+    country       VARCHAR(255) NOT NULL,
+    flat_number   INTEGER      NOT NULL,
+    house_number  INTEGER      NOT NULL,
+    town          VARCHAR(255) NOT NULL,
+    user_name     VARCHAR(255) NOT NULL,
+    user_phone    VARCHAR(255) NOT NULL UNIQUE,
+    user_house_id INTEGER
+        CONSTRAINT fk_user_house_user REFERENCES users (id)
+);
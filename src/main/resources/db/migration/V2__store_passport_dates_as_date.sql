@@ -0,0 +1,6 @@
+ALTER TABLE user_passport
+    ALTER COLUMN date_of_birth TYPE DATE USING to_date(replace(date_of_birth, '.', '/'), 'DD/MM/YYYY'),
+    ALTER COLUMN date_of_issue TYPE DATE USING to_date(replace(date_of_issue, '.', '/'), 'DD/MM/YYYY'),
+    ALTER COLUMN date_of_expire TYPE DATE USING to_date(replace(date_of_expire, '.', '/'), 'DD/MM/YYYY');
+
+CREATE INDEX IF NOT EXISTS idx_user_passport_date_of_expire ON user_passport (date_of_expire);
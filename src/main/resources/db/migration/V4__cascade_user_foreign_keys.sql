@@ -0,0 +1,23 @@
+-- Cars and houses follow their owner, so a user can be removed with a single DELETE.
+-- Constraint names differ between schemas created by Flyway and by Hibernate, so look them up.
+DO
+$$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN SELECT conrelid::regclass AS table_name, conname
+              FROM pg_constraint
+              WHERE contype = 'f'
+                AND confrelid = 'users'::regclass
+                AND conrelid IN ('user_car'::regclass, 'user_house'::regclass)
+        LOOP
+            EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+        END LOOP;
+END
+$$;
+
+ALTER TABLE user_car
+    ADD CONSTRAINT fk_user_car_user FOREIGN KEY (user_car_id) REFERENCES users (id) ON DELETE CASCADE;
+
+ALTER TABLE user_house
+    ADD CONSTRAINT fk_user_house_user FOREIGN KEY (user_house_id) REFERENCES users (id) ON DELETE CASCADE;
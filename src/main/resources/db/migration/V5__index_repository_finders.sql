@@ -0,0 +1,16 @@
+-- One index per repository finder, column order following the equality predicates of each query.
+CREATE INDEX IF NOT EXISTS idx_users_name ON users (name);
+CREATE INDEX IF NOT EXISTS idx_users_age ON users (age);
+CREATE INDEX IF NOT EXISTS idx_users_user_passport_id ON users (user_passport_id);
+
+CREATE INDEX IF NOT EXISTS idx_user_car_brand_car_model ON user_car (brand_car, model);
+CREATE INDEX IF NOT EXISTS idx_user_car_graduation_year ON user_car (graduation_year);
+CREATE INDEX IF NOT EXISTS idx_user_car_user_name_user_email ON user_car (user_name, user_email);
+CREATE INDEX IF NOT EXISTS idx_user_car_user_car_id ON user_car (user_car_id);
+
+CREATE INDEX IF NOT EXISTS idx_user_house_house_number_flat_number ON user_house (house_number, flat_number);
+CREATE INDEX IF NOT EXISTS idx_user_house_town ON user_house (town);
+CREATE INDEX IF NOT EXISTS idx_user_house_country ON user_house (country);
+CREATE INDEX IF NOT EXISTS idx_user_house_user_house_id ON user_house (user_house_id);
+
+CREATE INDEX IF NOT EXISTS idx_user_passport_nationality ON user_passport (nationality);
@@ -0,0 +1,8 @@
+-- Keyset pages of GET /users/filter are ordered by (column, id); email is unique and needs no tie-break.
+DROP INDEX IF EXISTS idx_users_name;
+DROP INDEX IF EXISTS idx_users_age;
+CREATE INDEX IF NOT EXISTS idx_users_name_id ON users (name, id);
+CREATE INDEX IF NOT EXISTS idx_users_age_id ON users (age, id);
+
+-- LIKE 'prefix%' can only use a b-tree built with C ordering semantics, whatever the database collation.
+CREATE INDEX IF NOT EXISTS idx_users_name_pattern ON users (name varchar_pattern_ops);
@@ -0,0 +1,9 @@
+-- Validity is stored instead of being recomputed against today's date on every read. The flag is set on each
+-- write and flipped once a day by PassportExpiryScheduler.
+ALTER TABLE user_passport ADD COLUMN IF NOT EXISTS expired BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE user_passport SET expired = TRUE WHERE date_of_expire < current_date;
+
+-- Valid, expired and expiring pages are all range scans on (status, expiry date).
+DROP INDEX IF EXISTS idx_user_passport_date_of_expire;
+CREATE INDEX IF NOT EXISTS idx_user_passport_expired_date_of_expire ON user_passport (expired, date_of_expire, id);
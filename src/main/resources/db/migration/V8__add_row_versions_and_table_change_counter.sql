@@ -0,0 +1,41 @@
+-- Row versions for optimistic locking and per-resource ETags. Hibernate bumps them on entity updates, the native
+-- UPDATE ... RETURNING statements do it themselves.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE user_car ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE user_house ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE user_passport ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- One counter per table, bumped once per writing statement, so collection ETags can be derived without reading
+-- the collection. Maintained by triggers, which also catches cascaded deletes, bulk loads and manual SQL.
+CREATE TABLE IF NOT EXISTS table_change_counter
+(
+    table_name VARCHAR(64) PRIMARY KEY,
+    version    BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO table_change_counter (table_name)
+VALUES ('users'), ('user_car'), ('user_house'), ('user_passport')
+ON CONFLICT (table_name) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_table_change_counter() RETURNS TRIGGER AS
+$$
+BEGIN
+    UPDATE table_change_counter SET version = version + 1 WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DO
+$$
+DECLARE
+    changed_table TEXT;
+BEGIN
+    FOREACH changed_table IN ARRAY ARRAY ['users', 'user_car', 'user_house', 'user_passport']
+        LOOP
+            EXECUTE format('DROP TRIGGER IF EXISTS %I ON %I', changed_table || '_change_counter', changed_table);
+            EXECUTE format('CREATE TRIGGER %I AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON %I ' ||
+                           'FOR EACH STATEMENT EXECUTE FUNCTION bump_table_change_counter()',
+                           changed_table || '_change_counter', changed_table);
+        END LOOP;
+END
+$$;
@@ -0,0 +1,54 @@
+-- The V8 triggers updated one table_change_counter row per table, so every writing transaction held that row lock
+-- until commit: writers to the same table queued behind each other and a long bulk load blocked them all. Writers
+-- now only append to table_change_log, which takes no shared lock. A table's version is the compacted counter plus
+-- the number of its log rows. Both are read in one statement and change only on commit, so a version is still never
+-- newer than the data read after it. TableChangeCounter folds the log into the counter periodically.
+CREATE TABLE IF NOT EXISTS table_change_log
+(
+    id         BIGSERIAL PRIMARY KEY,
+    table_name VARCHAR(64) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_table_change_log_table_name ON table_change_log (table_name);
+
+-- Statements that touched no rows leave nothing to log. TRUNCATE triggers have no transition table, so the check
+-- is nested to keep it from being planned for them.
+CREATE OR REPLACE FUNCTION log_table_change() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP <> 'TRUNCATE' THEN
+        IF NOT EXISTS(SELECT 1 FROM changed) THEN
+            RETURN NULL;
+        END IF;
+    END IF;
+    INSERT INTO table_change_log (table_name) VALUES (TG_TABLE_NAME);
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- A trigger with a transition table can only handle one event, hence one trigger per event.
+DO
+$$
+DECLARE
+    changed_table TEXT;
+BEGIN
+    FOREACH changed_table IN ARRAY ARRAY ['users', 'user_car', 'user_house', 'user_passport']
+        LOOP
+            EXECUTE format('DROP TRIGGER IF EXISTS %I ON %I', changed_table || '_change_counter', changed_table);
+            EXECUTE format('CREATE TRIGGER %I AFTER INSERT ON %I REFERENCING NEW TABLE AS changed ' ||
+                           'FOR EACH STATEMENT EXECUTE FUNCTION log_table_change()',
+                           changed_table || '_insert_log', changed_table);
+            EXECUTE format('CREATE TRIGGER %I AFTER UPDATE ON %I REFERENCING NEW TABLE AS changed ' ||
+                           'FOR EACH STATEMENT EXECUTE FUNCTION log_table_change()',
+                           changed_table || '_update_log', changed_table);
+            EXECUTE format('CREATE TRIGGER %I AFTER DELETE ON %I REFERENCING OLD TABLE AS changed ' ||
+                           'FOR EACH STATEMENT EXECUTE FUNCTION log_table_change()',
+                           changed_table || '_delete_log', changed_table);
+            EXECUTE format('CREATE TRIGGER %I AFTER TRUNCATE ON %I ' ||
+                           'FOR EACH STATEMENT EXECUTE FUNCTION log_table_change()',
+                           changed_table || '_truncate_log', changed_table);
+        END LOOP;
+END
+$$;
+
+DROP FUNCTION IF EXISTS bump_table_change_counter();
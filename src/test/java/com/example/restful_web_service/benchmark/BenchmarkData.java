@@ -0,0 +1,66 @@
+package com.example.restful_web_service.benchmark;
+
+import com.example.restful_web_service.controller.dto.UserCarDto;
+import com.example.restful_web_service.controller.dto.UserDto;
+import com.example.restful_web_service.controller.dto.UserHouseDto;
+import com.example.restful_web_service.controller.dto.UserPassportDto;
+import com.example.restful_web_service.entity.User;
+import com.example.restful_web_service.entity.UserCar;
+import com.example.restful_web_service.entity.UserHouse;
+import com.example.restful_web_service.entity.UserPassport;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static User user(int i) {
+        return new User(i, "John", 25 + i % 50, "john" + i + "@gmail.com", "+38097" + (1000000 + i));
+    }
+
+    static UserDto userDto(int i) {
+        return new UserDto(i, "John", 25 + i % 50, "john" + i + "@gmail.com", "+38097" + (1000000 + i));
+    }
+
+    static UserCar userCar(int i) {
+        return new UserCar(i, "John", "john" + i + "@gmail.com", "Ford", 2015, "Focus", "WF0XXXGCDX" + i);
+    }
+
+    static UserCarDto userCarDto(int i) {
+        return new UserCarDto(i, "John", "john" + i + "@gmail.com", "Ford", 2015, "Focus", "WF0XXXGCDX" + i);
+    }
+
+    static UserHouse userHouse(int i) {
+        return new UserHouse(i, "John", "+38097" + (1000000 + i), "Ukraine", "Kyiv", "Khreshchatyk", 1 + i % 200,
+                1 + i % 90);
+    }
+
+    static UserHouseDto userHouseDto(int i) {
+        return new UserHouseDto(i, "John", "+38097" + (1000000 + i), "Ukraine", "Kyiv", "Khreshchatyk",
+                1 + i % 200, 1 + i % 90);
+    }
+
+    static UserPassport userPassport(int i) {
+        LocalDate dateOfIssue = LocalDate.of(2015, 1, 1).plusDays(i % 3650);
+        return new UserPassport(i, "John", "Ken", "Male", LocalDate.of(1985, 1, 15).plusDays(i % 3650),
+                "Ukrainian", dateOfIssue, dateOfIssue.plusYears(10), 100000000 + i);
+    }
+
+    static UserPassportDto userPassportDto(int i) {
+        return new UserPassportDto(i, "John", "Ken", "Male", "15/01/1985", "Ukrainian",
+                "12/01/2022", "12/01/2032", 100000000 + i);
+    }
+
+    static <T> List<T> listOf(int size, IntFunction<T> factory) {
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(factory.apply(i));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.restful_web_service.benchmark;
+
+import com.example.restful_web_service.controller.dto.UserCarDto;
+import com.example.restful_web_service.controller.dto.UserDto;
+import com.example.restful_web_service.controller.dto.UserHouseDto;
+import com.example.restful_web_service.controller.dto.UserPassportDto;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes DTO lists as JSON, CBOR and Smile, the formats the list endpoints negotiate. The encoded
+ * size of each combination is printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dorg.apache.logging.log4j.level=OFF"})
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+    @Param({"10000", "100000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"user", "userCar", "userHouse", "userPassport"})
+    private String dto;
+
+    private List<?> dtos;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = switch (format) {
+            case "json" -> new ObjectMapper();
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        Class<?> type = switch (dto) {
+            case "user" -> UserDto.class;
+            case "userCar" -> UserCarDto.class;
+            case "userHouse" -> UserHouseDto.class;
+            case "userPassport" -> UserPassportDto.class;
+            default -> throw new IllegalArgumentException("Unknown dto: " + dto);
+        };
+        dtos = switch (dto) {
+            case "user" -> BenchmarkData.listOf(size, BenchmarkData::userDto);
+            case "userCar" -> BenchmarkData.listOf(size, BenchmarkData::userCarDto);
+            case "userHouse" -> BenchmarkData.listOf(size, BenchmarkData::userHouseDto);
+            default -> BenchmarkData.listOf(size, BenchmarkData::userPassportDto);
+        };
+        JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, type);
+        writer = mapper.writerFor(listType);
+        reader = mapper.readerFor(listType);
+        payload = writer.writeValueAsBytes(dtos);
+        System.out.printf("%n%s %s x %d: %d bytes%n", format, dto, size, payload.length);
+    }
+
+    @Benchmark
+    public void encode() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), dtos);
+    }
+
+    @Benchmark
+    public List<?> decode() throws IOException {
+        return reader.readValue(payload);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.restful_web_service.benchmark;
+
+import com.example.restful_web_service.ResTfulWebServiceApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating {@code size} users with one {@code POST /users} per row, sent back to back over a kept-alive
+ * connection, against a single {@code POST /users/bulk}. Both paths go through the servlet stack, validation and
+ * the database, so the ratio of the two times is the ratio of rows per second. Starts the application on a random
+ * port against the database configured in {@code application.properties}; the users it creates are removed after
+ * every iteration:
+ * <pre>
+ * mvn -Pbenchmarks test -Djmh.args="BulkInsertBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.logging.log4j.level=OFF")
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+    private static final String EMAIL_PREFIX = "bulk.benchmark.";
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private HttpClient client;
+    private URI usersUri;
+    private URI bulkUri;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ResTfulWebServiceApplication.class).
+                web(WebApplicationType.SERVLET).
+                run("--server.port=0", "--spring.jpa.show-sql=false");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        usersUri = URI.create(baseUrl + "/users");
+        bulkUri = URI.create(baseUrl + "/users/bulk");
+        client = HttpClient.newBuilder().
+                version(HttpClient.Version.HTTP_1_1).
+                build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteUsers() {
+        jdbcTemplate.update("delete from users where email like ?", EMAIL_PREFIX + "%");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int sequential() throws IOException, InterruptedException {
+        int status = 0;
+        for (int i = 0; i < size; i++) {
+            status = post(usersUri, userJson(next++));
+        }
+        return status;
+    }
+
+    @Benchmark
+    public int bulk() throws IOException, InterruptedException {
+        StringJoiner users = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < size; i++) {
+            users.add(userJson(next++));
+        }
+        return post(bulkUri, users.toString());
+    }
+
+    private int post(URI uri, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).
+                header("Content-Type", "application/json").
+                POST(HttpRequest.BodyPublishers.ofString(body)).
+                build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 400) {
+            throw new IllegalStateException("POST " + uri + " answered " + status);
+        }
+        return status;
+    }
+
+    private static String userJson(int i) {
+        return "{\"name\":\"John\",\"age\":" + (25 + i % 50) + ",\"email\":\"" + EMAIL_PREFIX + i +
+                "@gmail.com\",\"phone\":\"+38063" + (1000000 + i) + "\"}";
+    }
+}
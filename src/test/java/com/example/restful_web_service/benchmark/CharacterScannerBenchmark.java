@@ -0,0 +1,56 @@
+package com.example.restful_web_service.benchmark;
+
+import com.example.restful_web_service.controller.dto.UserDto;
+import com.example.restful_web_service.controller.validation.CharacterScanner;
+import com.example.restful_web_service.controller.validation.RequestValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link String#matches(String)} checks the controllers used to run with {@link CharacterScanner}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.logging.log4j.level=OFF")
+@State(Scope.Benchmark)
+public class CharacterScannerBenchmark {
+    private final RequestValidator requestValidator = new RequestValidator();
+    private final UserDto userDto = BenchmarkData.userDto(1);
+
+    @Benchmark
+    public boolean emailRegex() {
+        return userDto.getEmail().matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
+    }
+
+    @Benchmark
+    public boolean emailScanner() {
+        return CharacterScanner.isEmail(userDto.getEmail());
+    }
+
+    @Benchmark
+    public boolean phoneRegex() {
+        return userDto.getPhone().matches("^\\+(?:[0-9] ?){6,14}[0-9]$");
+    }
+
+    @Benchmark
+    public boolean phoneScanner() {
+        return CharacterScanner.isPhone(userDto.getPhone());
+    }
+
+    @Benchmark
+    public boolean userRegex() {
+        return userDto.getName().matches("[a-zA-Z\\-]+")
+                && userDto.getAge().toString().matches("[0-9]+")
+                && userDto.getAge() > 0 && userDto.getAge() < 120
+                && userDto.getEmail().matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")
+                && userDto.getPhone().matches("^\\+(?:[0-9] ?){6,14}[0-9]$");
+    }
+
+    @Benchmark
+    public String userValidator() {
+        return requestValidator.checkUser(userDto);
+    }
+}
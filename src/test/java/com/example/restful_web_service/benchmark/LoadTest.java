@@ -0,0 +1,116 @@
+package com.example.restful_web_service.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator: every connection is a virtual thread that sends the next request as soon as
+ * the previous response arrives. A response counts when it completes inside the measured window, whenever it was
+ * sent, so requests queued behind a saturated server show up in the tail. Used to compare the default Tomcat
+ * pool with the {@code virtual-threads} profile against a running instance, e.g.
+ * <pre>
+ * mvn -B test-compile
+ * java -cp target/test-classes com.example.restful_web_service.benchmark.LoadTest \
+ *     http://localhost:8080/users/1/profile 1000 30 10
+ * </pre>
+ * Arguments: url, concurrent connections, measured seconds, warm-up seconds.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args[0]);
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long measureNanos = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30).toNanos();
+        long warmupNanos = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 10).toNanos();
+
+        HttpClient client = HttpClient.newBuilder().
+                version(HttpClient.Version.HTTP_1_1).
+                connectTimeout(Duration.ofSeconds(30)).
+                executor(Executors.newVirtualThreadPerTaskExecutor()).
+                build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long measureUntil = measureFrom + measureNanos;
+
+        List<Future<Worker>> futures = new ArrayList<>(connections);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                futures.add(executor.submit(() -> new Worker().run(client, request, measureFrom, measureUntil)));
+            }
+        }
+
+        Worker total = new Worker();
+        for (Future<Worker> future : futures) {
+            total.merge(future.get());
+        }
+        long[] latencies = Arrays.copyOf(total.latencies, total.count);
+        Arrays.sort(latencies);
+
+        double seconds = measureNanos / 1e9;
+        System.out.printf("url=%s connections=%d duration=%.0fs%n", uri, connections, seconds);
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n",
+                total.count, total.errors, total.count / seconds);
+        System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static final class Worker {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private Worker run(HttpClient client, HttpRequest request, long measureFrom, long measureUntil) {
+            long now;
+            while ((now = System.nanoTime()) < measureUntil) {
+                boolean ok;
+                try {
+                    ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                } catch (Exception e) {
+                    ok = false;
+                }
+                long end = System.nanoTime();
+                if (end < measureFrom || end > measureUntil) {
+                    continue;
+                }
+                if (!ok) {
+                    errors++;
+                    continue;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = end - now;
+            }
+            return this;
+        }
+
+        private void merge(Worker other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.restful_web_service.benchmark;
+
+import com.example.restful_web_service.controller.dto.UserCarDto;
+import com.example.restful_web_service.controller.dto.UserDto;
+import com.example.restful_web_service.controller.dto.UserHouseDto;
+import com.example.restful_web_service.controller.dto.UserPassportDto;
+import com.example.restful_web_service.controller.mapper.UserCarMapper;
+import com.example.restful_web_service.controller.mapper.UserHouseMapper;
+import com.example.restful_web_service.controller.mapper.UserMapper;
+import com.example.restful_web_service.controller.mapper.UserPassportMapper;
+import com.example.restful_web_service.entity.User;
+import com.example.restful_web_service.entity.UserCar;
+import com.example.restful_web_service.entity.UserHouse;
+import com.example.restful_web_service.entity.UserPassport;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.logging.log4j.level=OFF")
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private final UserMapper userMapper = new UserMapper();
+    private final UserCarMapper userCarMapper = new UserCarMapper();
+    private final UserHouseMapper userHouseMapper = new UserHouseMapper();
+    private final UserPassportMapper userPassportMapper = new UserPassportMapper();
+
+    private User user;
+    private UserDto userDto;
+    private UserCar userCar;
+    private UserCarDto userCarDto;
+    private UserHouse userHouse;
+    private UserHouseDto userHouseDto;
+    private UserPassport userPassport;
+    private UserPassportDto userPassportDto;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkData.user(1);
+        userDto = BenchmarkData.userDto(1);
+        userCar = BenchmarkData.userCar(1);
+        userCarDto = BenchmarkData.userCarDto(1);
+        userHouse = BenchmarkData.userHouse(1);
+        userHouseDto = BenchmarkData.userHouseDto(1);
+        userPassport = BenchmarkData.userPassport(1);
+        userPassportDto = BenchmarkData.userPassportDto(1);
+    }
+
+    @Benchmark
+    public UserDto userToDto() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public User userToEntity() {
+        return userMapper.toEntity(userDto);
+    }
+
+    @Benchmark
+    public UserCarDto userCarToDto() {
+        return userCarMapper.toDto(userCar);
+    }
+
+    @Benchmark
+    public UserCar userCarToEntity() {
+        return userCarMapper.toEntity(userCarDto);
+    }
+
+    @Benchmark
+    public UserHouseDto userHouseToDto() {
+        return userHouseMapper.toDto(userHouse);
+    }
+
+    @Benchmark
+    public UserHouse userHouseToEntity() {
+        return userHouseMapper.toEntity(userHouseDto);
+    }
+
+    @Benchmark
+    public UserPassportDto userPassportToDto() {
+        return userPassportMapper.toDto(userPassport);
+    }
+
+    @Benchmark
+    public UserPassport userPassportToEntity() {
+        return userPassportMapper.toEntity(userPassportDto);
+    }
+}
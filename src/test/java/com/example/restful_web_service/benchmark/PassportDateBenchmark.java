@@ -0,0 +1,92 @@
+package com.example.restful_web_service.benchmark;
+
+import com.example.restful_web_service.ResTfulWebServiceApplication;
+import com.example.restful_web_service.controller.dto.UserPassportDto;
+import com.example.restful_web_service.controller.mapper.UserPassportMapper;
+import com.example.restful_web_service.entity.UserPassport;
+import com.example.restful_web_service.service.UserPassportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares reading a page of valid passports as managed entities whose dates are formatted by
+ * {@link UserPassportMapper}, as {@code /users/passport/valid} used to, with the projection it uses now, where the
+ * database filters on the stored validity flag and formats the dates. Runs against the database configured in
+ * {@code application.properties} and seeds its own rows, removed again on tear-down:
+ * <pre>
+ * mvn -Pbenchmarks test -Djmh.args="PassportDateBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.logging.log4j.level=OFF")
+@State(Scope.Benchmark)
+public class PassportDateBenchmark {
+    private static final int FIRST_PASSPORT_NUMBER = 700_000_000;
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private EntityManagerFactory entityManagerFactory;
+    private UserPassportService userPassportService;
+    private final UserPassportMapper userPassportMapper = new UserPassportMapper();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ResTfulWebServiceApplication.class).
+                web(WebApplicationType.NONE).
+                run("--spring.jpa.show-sql=false");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        userPassportService = context.getBean(UserPassportService.class);
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = BenchmarkData.listOf(size, i -> new Object[]{"John", "Ken", "Male",
+                today.minusYears(30), "American", today.minusYears(1), today.plusDays(i % 3650 + 1),
+                FIRST_PASSPORT_NUMBER + i});
+        jdbcTemplate.batchUpdate("insert into user_passport (name, surname, sex, date_of_birth, nationality, " +
+                "date_of_issue, date_of_expire, passport_number) values (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.update("delete from user_passport where passport_number between ? and ?",
+                FIRST_PASSPORT_NUMBER, FIRST_PASSPORT_NUMBER + size - 1);
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserPassportDto> entities() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery("select up from UserPassport up where up.dateOfExpire >= :today " +
+                            "order by up.dateOfExpire, up.id", UserPassport.class).
+                    setParameter("today", LocalDate.now()).
+                    setMaxResults(size).
+                    getResultList().
+                    stream().
+                    map(userPassportMapper::toDto).
+                    collect(Collectors.toList());
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<UserPassportDto> projection() {
+        return userPassportService.getValidPassports(0, size);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.restful_web_service.benchmark;
+
+import com.example.restful_web_service.ResTfulWebServiceApplication;
+import com.example.restful_web_service.controller.dto.UserCarDto;
+import com.example.restful_web_service.controller.mapper.UserCarMapper;
+import com.example.restful_web_service.repository.UserCarRepository;
+import com.example.restful_web_service.service.UserCarService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares reading the car list as managed entities mapped by {@link UserCarMapper}, as the list endpoints used to,
+ * with the constructor-expression projection they use now. Runs against the database configured in
+ * {@code application.properties} and seeds its own rows, removed again on tear-down. Allocation per call is the
+ * {@code gc.alloc.rate.norm} column of
+ * <pre>
+ * mvn -Pbenchmarks test -Djmh.args="ProjectionBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.logging.log4j.level=OFF")
+@State(Scope.Benchmark)
+public class ProjectionBenchmark {
+    private static final String VIN_PREFIX = "JMHPROJ";
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private UserCarRepository userCarRepository;
+    private UserCarService userCarService;
+    private final UserCarMapper userCarMapper = new UserCarMapper();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ResTfulWebServiceApplication.class).
+                web(WebApplicationType.NONE).
+                run("--spring.jpa.show-sql=false");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        userCarRepository = context.getBean(UserCarRepository.class);
+        userCarService = context.getBean(UserCarService.class);
+        List<Object[]> rows = BenchmarkData.listOf(size, i -> new Object[]{"John", VIN_PREFIX + i + "@gmail.com",
+                "Ford", 2015, "Focus", VIN_PREFIX + i});
+        jdbcTemplate.batchUpdate("insert into user_car (user_name, user_email, brand_car, graduation_year, model, " +
+                "car_vin_code) values (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.update("delete from user_car where car_vin_code like ?", VIN_PREFIX + "%");
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserCarDto> entities() {
+        return userCarRepository.findAll().
+                stream().
+                map(userCarMapper::toDto).
+                collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<UserCarDto> projection() {
+        return userCarService.getUserCarsAfterId(0, size);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.restful_web_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialises DTO lists the way the list endpoints return them, writing into a discarding stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dorg.apache.logging.log4j.level=OFF"})
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"user", "userCar", "userHouse", "userPassport"})
+    private String dto;
+
+    private final ObjectWriter writer = new ObjectMapper().writer();
+    private List<?> dtos;
+
+    @Setup
+    public void setUp() {
+        dtos = switch (dto) {
+            case "user" -> BenchmarkData.listOf(size, BenchmarkData::userDto);
+            case "userCar" -> BenchmarkData.listOf(size, BenchmarkData::userCarDto);
+            case "userHouse" -> BenchmarkData.listOf(size, BenchmarkData::userHouseDto);
+            case "userPassport" -> BenchmarkData.listOf(size, BenchmarkData::userPassportDto);
+            default -> throw new IllegalArgumentException("Unknown dto: " + dto);
+        };
+    }
+
+    @Benchmark
+    public void writeList() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), dtos);
+    }
+}
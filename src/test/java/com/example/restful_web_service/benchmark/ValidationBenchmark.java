@@ -0,0 +1,73 @@
+package com.example.restful_web_service.benchmark;
+
+import com.example.restful_web_service.controller.UserCarController;
+import com.example.restful_web_service.controller.UserController;
+import com.example.restful_web_service.controller.dto.UserCarDto;
+import com.example.restful_web_service.controller.dto.UserDto;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.NdjsonMapper;
+import com.example.restful_web_service.controller.mapper.UserCarMapper;
+import com.example.restful_web_service.controller.mapper.UserHouseMapper;
+import com.example.restful_web_service.controller.mapper.UserMapper;
+import com.example.restful_web_service.controller.mapper.UserPassportMapper;
+import com.example.restful_web_service.controller.mapper.UserProfileMapper;
+import com.example.restful_web_service.controller.validation.RequestValidator;
+import com.example.restful_web_service.entity.User;
+import com.example.restful_web_service.entity.UserCar;
+import com.example.restful_web_service.service.UserCarService;
+import com.example.restful_web_service.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the request validation of {@link UserController#addUser} and {@link UserCarController#createUserCar}
+ * against services that return their input, so only validation and mapping are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.logging.log4j.level=OFF")
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+    private UserController userController;
+    private UserCarController userCarController;
+    private UserDto userDto;
+    private UserCarDto userCarDto;
+
+    @Setup
+    public void setUp() {
+        UserService userService = new UserService(null, null, null, null) {
+            @Override
+            public User saveUser(User user) {
+                return user;
+            }
+        };
+        UserCarService userCarService = new UserCarService(null, null, null, null) {
+            @Override
+            public UserCar createUserCar(UserCar userCar) {
+                return userCar;
+            }
+        };
+        NdjsonMapper ndjsonMapper = new NdjsonMapper(new ObjectMapper());
+        userController = new UserController(userService, new UserMapper(), new CursorMapper(), ndjsonMapper,
+                new RequestValidator(),
+                new UserProfileMapper(new UserPassportMapper(), new UserCarMapper(), new UserHouseMapper()));
+        userCarController = new UserCarController(new UserCarMapper(), new CursorMapper(), userCarService,
+                ndjsonMapper, new RequestValidator());
+        userDto = BenchmarkData.userDto(1);
+        userCarDto = BenchmarkData.userCarDto(1);
+    }
+
+    @Benchmark
+    public UserDto addUser() {
+        return userController.addUser(userDto);
+    }
+
+    @Benchmark
+    public UserCarDto createUserCar() {
+        return userCarController.createUserCar(userCarDto);
+    }
+}
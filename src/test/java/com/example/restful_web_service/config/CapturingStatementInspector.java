@@ -0,0 +1,31 @@
+package com.example.restful_web_service.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link QueryCounter} that also keeps the text of the statements prepared on the current thread between
+ * {@link #capture()} and {@link #captured()}, for tests that check the SQL Hibernate actually generates.
+ */
+public class CapturingStatementInspector extends QueryCounter {
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    public static void capture() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    public static List<String> captured() {
+        List<String> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements == null ? List.of() : statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return super.inspect(sql);
+    }
+}
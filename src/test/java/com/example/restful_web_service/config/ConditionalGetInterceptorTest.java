@@ -0,0 +1,185 @@
+package com.example.restful_web_service.config;
+
+import com.example.restful_web_service.controller.etag.ConditionalGet;
+import com.example.restful_web_service.service.RecordCounter;
+import com.example.restful_web_service.service.TableChangeCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class ConditionalGetInterceptorTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-03-01T10:00:00Z"), ZoneOffset.UTC);
+
+    private ConditionalGetInterceptor conditionalGetInterceptor;
+    @Mock
+    private TableChangeCounter tableChangeCounter;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        conditionalGetInterceptor = new ConditionalGetInterceptor(tableChangeCounter, CLOCK);
+        request = new MockHttpServletRequest("GET", "/users/car");
+        response = new MockHttpServletResponse();
+        Map<RecordCounter.Table, Long> versions = new EnumMap<>(RecordCounter.Table.class);
+        versions.put(RecordCounter.Table.USERS, 3L);
+        versions.put(RecordCounter.Table.USER_CAR, 7L);
+        when(tableChangeCounter.getVersions()).thenReturn(versions);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Test
+    public void setsETagFromTableCounters() throws Exception {
+        assertTrue(conditionalGetInterceptor.preHandle(request, response, handler("cars")));
+        assertEquals("\"user_car.7\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    public void combinesCountersOfSeveralTables() throws Exception {
+        assertTrue(conditionalGetInterceptor.preHandle(request, response, handler("profile")));
+        assertEquals("\"users.3-user_car.7\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    public void tagsDailyHandlersWithTheClocksDate() throws Exception {
+        assertTrue(conditionalGetInterceptor.preHandle(request, response, handler("expiring")));
+        assertEquals("\"user_car.7-2024-03-01\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    public void answersNotModifiedWithoutRunningHandler() throws Exception {
+        request.addHeader("If-None-Match", "\"user_car.7\"");
+
+        assertFalse(conditionalGetInterceptor.preHandle(request, response, handler("cars")));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+    }
+
+    @Test
+    public void runsHandlerWhenTableChanged() throws Exception {
+        request.addHeader("If-None-Match", "\"user_car.6\"");
+
+        assertTrue(conditionalGetInterceptor.preHandle(request, response, handler("cars")));
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+    }
+
+    @Test
+    public void tagsBinaryEncodingsApart() throws Exception {
+        request.addHeader("Accept", "application/cbor");
+        assertTrue(conditionalGetInterceptor.preHandle(request, response, handler("cars")));
+        assertEquals("\"user_car.7-cbor\"", response.getHeader("ETag"));
+
+        MockHttpServletRequest smileRequest = new MockHttpServletRequest("GET", "/users/car");
+        MockHttpServletResponse smileResponse = new MockHttpServletResponse();
+        smileRequest.addHeader("Accept", "application/x-jackson-smile");
+        assertTrue(conditionalGetInterceptor.preHandle(smileRequest, smileResponse, handler("cars")));
+        assertEquals("\"user_car.7-smile\"", smileResponse.getHeader("ETag"));
+    }
+
+    @Test
+    public void keepsJsonTagWhenWildcardIsPreferred() throws Exception {
+        request.addHeader("Accept", "application/cbor;q=0.5, */*");
+
+        assertTrue(conditionalGetInterceptor.preHandle(request, response, handler("cars")));
+        assertEquals("\"user_car.7\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    public void runsHandlerWhenJsonTagIsSentForCbor() throws Exception {
+        request.addHeader("Accept", "application/cbor");
+        request.addHeader("If-None-Match", "\"user_car.7\"");
+
+        assertTrue(conditionalGetInterceptor.preHandle(request, response, handler("cars")));
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+    }
+
+    @Test
+    public void variesByAccept() throws Exception {
+        assertTrue(conditionalGetInterceptor.preHandle(request, response, handler("count")));
+        assertTrue(conditionalGetInterceptor.preHandle(request, response, handler("count")));
+        assertEquals(List.of("Accept"), response.getHeaders("Vary"));
+    }
+
+    @Test
+    public void ignoresHandlersWithoutAnnotation() throws Exception {
+        assertTrue(conditionalGetInterceptor.preHandle(request, response, handler("count")));
+        assertNull(response.getHeader("ETag"));
+        verifyNoInteractions(tableChangeCounter);
+    }
+
+    @Test
+    public void pinsTaggedHandlerToPrimaryUntilCompletion() throws Exception {
+        assertTrue(conditionalGetInterceptor.preHandle(request, response, handler("cars")));
+        assertTrue(ReplicaRoutingDataSource.isPinnedToPrimary());
+
+        conditionalGetInterceptor.afterCompletion(request, response, handler("cars"), null);
+        assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
+    }
+
+    @Test
+    public void releasesPinWhenNotModified() throws Exception {
+        request.addHeader("If-None-Match", "\"user_car.7\"");
+
+        assertFalse(conditionalGetInterceptor.preHandle(request, response, handler("cars")));
+        assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
+    }
+
+    @Test
+    public void keepsPinTakenBeforeHandler() throws Exception {
+        ReplicaRoutingDataSource.pinToPrimary();
+
+        assertTrue(conditionalGetInterceptor.preHandle(request, response, handler("cars")));
+        conditionalGetInterceptor.afterCompletion(request, response, handler("cars"), null);
+        assertTrue(ReplicaRoutingDataSource.isPinnedToPrimary());
+    }
+
+    private HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name));
+    }
+
+    static class Handlers {
+
+        @ConditionalGet(RecordCounter.Table.USER_CAR)
+        public String cars() {
+            return "cars";
+        }
+
+        @ConditionalGet({RecordCounter.Table.USERS, RecordCounter.Table.USER_CAR})
+        public String profile() {
+            return "profile";
+        }
+
+        @ConditionalGet(value = RecordCounter.Table.USER_CAR, daily = true)
+        public String expiring() {
+            return "expiring";
+        }
+
+        public String count() {
+            return "count";
+        }
+    }
+}
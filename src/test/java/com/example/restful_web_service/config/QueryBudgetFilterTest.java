@@ -0,0 +1,67 @@
+package com.example.restful_web_service.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryBudgetFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryBudgetFilter queryBudgetFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private QueryCounter queryCounter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queryBudgetFilter = new QueryBudgetFilter(meterRegistry, 2);
+        request = new MockHttpServletRequest("GET", "/users/car");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/users/car");
+        response = new MockHttpServletResponse();
+        queryCounter = new QueryCounter();
+    }
+
+    @Test
+    public void recordsStatementsOfRequest() throws Exception {
+        queryCounter.inspect("select 1");
+        queryBudgetFilter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                for (int i = 0; i < 3; i++) {
+                    queryCounter.inspect("select * from user_car");
+                }
+            }
+        }));
+
+        DistributionSummary summary = meterRegistry.get("http.server.requests.queries").
+                tag("uri", "/users/car").
+                summary();
+        assertEquals(1, summary.count());
+        assertEquals(3, summary.totalAmount());
+    }
+
+    @Test
+    public void stopsCountingAfterRequest() throws Exception {
+        queryBudgetFilter.doFilter(request, response, new MockFilterChain());
+        queryCounter.inspect("select 1");
+
+        assertEquals(0, QueryCounter.current());
+        assertEquals(0, meterRegistry.get("http.server.requests.queries").summary().totalAmount());
+    }
+
+    @Test
+    public void passesStatementsThroughUnchanged() {
+        assertEquals("select 1", queryCounter.inspect("select 1"));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.restful_web_service.config;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryCounter.start();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        long queries = QueryCounter.stop();
+        AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxQueries.class).ifPresent(maxQueries ->
+                assertTrue(queries <= maxQueries.value(), "Expected at most " + maxQueries.value() +
+                        " queries but " + queries + " were executed"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.restful_web_service.config;
+
+import jakarta.servlet.Servlet;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadYourWritesFilterTest {
+
+    private ReadYourWritesFilter readYourWritesFilter;
+    private MockHttpServletResponse response;
+    private AtomicBoolean pinned;
+    private Servlet servlet;
+
+    @BeforeEach
+    void setUp() {
+        readYourWritesFilter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+        response = new MockHttpServletResponse();
+        pinned = new AtomicBoolean();
+        servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                pinned.set(ReplicaRoutingDataSource.isPinnedToPrimary());
+            }
+        };
+    }
+
+    @Test
+    public void writeRunsOnPrimaryAndHandsOutCookie() throws Exception {
+        readYourWritesFilter.doFilter(new MockHttpServletRequest("PUT", "/users/1"), response,
+                new MockFilterChain(servlet));
+
+        assertTrue(pinned.get());
+        assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals(5, cookie.getMaxAge());
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+    }
+
+    @Test
+    public void readInsideWindowIsPinnedToPrimary() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+                String.valueOf(System.currentTimeMillis() + 5000)));
+
+        readYourWritesFilter.doFilter(request, response, new MockFilterChain(servlet));
+
+        assertTrue(pinned.get());
+        assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
+        assertNull(response.getCookie(ReadYourWritesFilter.COOKIE_NAME));
+    }
+
+    @Test
+    public void readAfterWindowMayUseReplica() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+                String.valueOf(System.currentTimeMillis() - 1)));
+
+        readYourWritesFilter.doFilter(request, response, new MockFilterChain(servlet));
+
+        assertFalse(pinned.get());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.restful_web_service.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica1;
+    @Mock
+    private DataSource replica2;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replica1Connection;
+    @Mock
+    private Connection replica2Connection;
+
+    private final Map<DataSource, Integer> activeConnections = new HashMap<>();
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        activeConnections.put(replica1, 0);
+        activeConnections.put(replica2, 0);
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2),
+                activeConnections::get);
+        replicaRoutingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Test
+    public void readWriteTransactionsUsePrimary() throws SQLException {
+        assertSame(primaryConnection, replicaRoutingDataSource.getConnection());
+        verifyNoInteractions(replica1, replica2);
+    }
+
+    @Test
+    public void readOnlyTransactionsUseLeastLoadedReplica() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        activeConnections.put(replica1, 3);
+        activeConnections.put(replica2, 1);
+
+        assertSame(replica2Connection, replicaRoutingDataSource.getConnection());
+        assertSame(replica2Connection, replicaRoutingDataSource.getConnection());
+        verifyNoInteractions(primary, replica1);
+    }
+
+    @Test
+    public void equallyLoadedReplicasTakeTurns() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Connection first = replicaRoutingDataSource.getConnection();
+        Connection second = replicaRoutingDataSource.getConnection();
+        Connection third = replicaRoutingDataSource.getConnection();
+
+        assertSame(replica1Connection, first);
+        assertSame(replica2Connection, second);
+        assertSame(replica1Connection, third);
+    }
+
+    @Test
+    public void pinnedThreadReadsFromPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReplicaRoutingDataSource.pinToPrimary();
+
+        assertSame(primaryConnection, replicaRoutingDataSource.getConnection());
+        verifyNoInteractions(replica1, replica2);
+    }
+
+    @Test
+    public void onPrimaryReadsFromPrimaryOnlyForTheCall() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, ReplicaRoutingDataSource.onPrimary(this::connection));
+        assertFalse(ReplicaRoutingDataSource.isPinnedToPrimary());
+        assertSame(replica1Connection, replicaRoutingDataSource.getConnection());
+    }
+
+    @Test
+    public void propagatedPinHoldsOnOtherThread() throws InterruptedException {
+        AtomicBoolean pinned = new AtomicBoolean();
+        ReplicaRoutingDataSource.pinToPrimary();
+        Thread thread = new Thread(ReplicaRoutingDataSource.propagatePin(() ->
+                pinned.set(ReplicaRoutingDataSource.isPinnedToPrimary())));
+
+        thread.start();
+        thread.join();
+        assertTrue(pinned.get());
+    }
+
+    private Connection connection() {
+        try {
+            return replicaRoutingDataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
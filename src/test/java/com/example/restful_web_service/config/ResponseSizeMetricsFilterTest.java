@@ -0,0 +1,77 @@
+package com.example.restful_web_service.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseSizeMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseSizeMetricsFilter responseSizeMetricsFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        responseSizeMetricsFilter = new ResponseSizeMetricsFilter(meterRegistry);
+        request = new MockHttpServletRequest("GET", "/users/car/LM7657689723223");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/users/car/{vinCode}");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    public void recordsBytesWrittenToOutputStream() throws Exception {
+        responseSizeMetricsFilter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.getOutputStream().write(new byte[1500]);
+                resp.getOutputStream().write(7);
+            }
+        }));
+
+        DistributionSummary summary = meterRegistry.get("http.server.response.size").
+                tag("uri", "/users/car/{vinCode}").
+                tag("status", "200").
+                summary();
+        assertEquals(1, summary.count());
+        assertEquals(1501, summary.totalAmount());
+        assertEquals(1501, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void recordsBytesWrittenThroughWriter() throws Exception {
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        responseSizeMetricsFilter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.getWriter().write("Київ");
+            }
+        }));
+
+        assertEquals(8, meterRegistry.get("http.server.response.size").summary().totalAmount());
+        assertEquals("Київ", response.getContentAsString());
+    }
+
+    @Test
+    public void tagsUnmappedRequestsAsUnknown() throws Exception {
+        request.removeAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        responseSizeMetricsFilter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(0, meterRegistry.get("http.server.response.size").tag("uri", "UNKNOWN").summary().
+                totalAmount());
+    }
+}
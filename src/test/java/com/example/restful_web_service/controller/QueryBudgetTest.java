@@ -0,0 +1,95 @@
+package com.example.restful_web_service.controller;
+
+import com.example.restful_web_service.config.MaxQueries;
+import com.example.restful_web_service.controller.dto.UserCarDto;
+import com.example.restful_web_service.controller.dto.UserHouseDto;
+import com.example.restful_web_service.controller.dto.UserProfileDto;
+import com.example.restful_web_service.entity.User;
+import com.example.restful_web_service.entity.UserCar;
+import com.example.restful_web_service.entity.UserHouse;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the list endpoints against N+1 queries: every test seeds one user owning several cars and houses, clears
+ * the persistence context so nothing is served from it, and bounds the statements a single controller call may
+ * issue. The fixtures are rolled back after each test.
+ */
+@SpringBootTest
+@Transactional
+class QueryBudgetTest {
+    private static final int ROWS = 5;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private UserController userController;
+    @Autowired
+    private UserCarController userCarController;
+    @Autowired
+    private UserHouseController userHouseController;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assumeTrue("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()),
+                    "Query budgets are checked against PostgreSQL");
+        }
+        user = new User(null, "Budget", 30, "budget@example.com", "+380509998877");
+        entityManager.persist(user);
+        for (int i = 0; i < ROWS; i++) {
+            UserCar userCar = new UserCar(null, "Budget", "budget" + i + "@example.com", "BMW", 2020, "X5",
+                    "BUDGETVIN0000" + i);
+            userCar.setUser(user);
+            entityManager.persist(userCar);
+            UserHouse userHouse = new UserHouse(null, "Budget", "+38050111223" + i, "Ukraine", "Kyiv",
+                    "Budget street", 9000 + i, i);
+            userHouse.setUser(user);
+            entityManager.persist(userHouse);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @MaxQueries(1)
+    public void getAllInformationUserCarDoesNotLoadUsers() {
+        List<UserCarDto> userCars = userCarController.getAllInformationUserCar(null, ROWS).getContent();
+
+        assertEquals(ROWS, userCars.size());
+    }
+
+    @Test
+    @MaxQueries(1)
+    public void getAllInformationUserHouseDoesNotLoadUsers() {
+        List<UserHouseDto> userHouses = userHouseController.getAllInformationUserHouse(null, ROWS).getContent();
+
+        assertEquals(ROWS, userHouses.size());
+    }
+
+    @Test
+    @MaxQueries(3)
+    public void getUserProfileLoadsEachCollectionOnce() {
+        UserProfileDto profile = userController.getUserProfile(user.getId());
+
+        assertEquals(ROWS, profile.getUserCars().size());
+        assertEquals(ROWS, profile.getUserHouses().size());
+    }
+}
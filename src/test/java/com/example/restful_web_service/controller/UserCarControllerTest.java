@@ -1,24 +1,43 @@
 package com.example.restful_web_service.controller;
 
+import com.example.restful_web_service.controller.dto.CursorPageDto;
+import com.example.restful_web_service.controller.dto.GroupCountDto;
 import com.example.restful_web_service.controller.dto.UserCarDto;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.NdjsonMapper;
 import com.example.restful_web_service.controller.mapper.UserCarMapper;
+import com.example.restful_web_service.controller.validation.RequestValidator;
 import com.example.restful_web_service.entity.UserCar;
 import com.example.restful_web_service.service.UserCarService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -31,40 +50,151 @@ class UserCarControllerTest {
     @Mock
     private UserCarMapper userCarMapper;
 
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private ServletWebRequest webRequest;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userCarController = new UserCarController(userCarMapper, userCarService);
+        request = new MockHttpServletRequest("GET", "/");
+        response = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(request, response);
+        userCarController = new UserCarController(userCarMapper, new CursorMapper(), userCarService,
+                new NdjsonMapper(new ObjectMapper()), new RequestValidator());
     }
 
     @Test
     public void getAllInformationUserCar() {
-        List<UserCar> userCars = new ArrayList<>();
-        userCars.add(new UserCar(1, "John", "john@gmail.com",
-                "Toyota", 2000, "Corolla", "LM7657689723223"));
-        userCars.add(new UserCar(2, "Andrew", "andrew@gmail.com",
-                "Toyota", 2005, "Land Cruises", "LM7657589723223"));
-        when(userCarService.getAllInformationUserCar()).thenReturn(userCars);
-
         List<UserCarDto> userCarDto = new ArrayList<>();
         userCarDto.add(new UserCarDto(1, "John", "john@gmail.com",
                 "Toyota", 2000, "Corolla", "LM7657689723223"));
         userCarDto.add(new UserCarDto(2, "Andrew", "andrew@gmail.com",
                 "Toyota", 2005, "Land Cruises", "LM7657589723223"));
-        when(userCarMapper.toDto(userCars.get(0))).thenReturn(userCarDto.get(0));
-        when(userCarMapper.toDto(userCars.get(1))).thenReturn(userCarDto.get(1));
+        when(userCarService.getUserCarsAfterId(0, 101)).thenReturn(userCarDto);
 
-        List<UserCarDto> response = userCarController.getAllInformationUserCar();
+        CursorPageDto<UserCarDto> response = userCarController.getAllInformationUserCar(null, 100);
 
-        assertEquals(userCarDto, response);
+        assertEquals(userCarDto, response.getContent());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    public void getAllInformationUserCarReturnsNextCursor() {
+        CursorMapper cursorMapper = new CursorMapper();
+        UserCarDto userCarDto = new UserCarDto(5, "John", "john@gmail.com", "Toyota", 2000, "Corolla",
+                "LM7657689723223");
+        when(userCarService.getUserCarsAfterId(4, 2)).thenReturn(List.of(userCarDto,
+                new UserCarDto(6, "Andrew", "andrew@gmail.com", "Toyota", 2005, "Land Cruises", "LM7657589723223")));
+
+        CursorPageDto<UserCarDto> response = userCarController.getAllInformationUserCar(cursorMapper.toCursor(4), 1);
+
+        assertEquals(List.of(userCarDto), response.getContent());
+        assertEquals(5, cursorMapper.toId(response.getNextCursor()));
     }
 
     @Test
     public void getAllInformationUserCarEmptyList() {
-        when(userCarService.getAllInformationUserCar()).thenReturn(Collections.emptyList());
+        when(userCarService.getUserCarsAfterId(0, 101)).thenReturn(Collections.emptyList());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userCarController.getAllInformationUserCar(null, 100));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
+
+    @Test
+    public void getAllInformationUserCarInvalidLimit() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userCarController.getAllInformationUserCar(null, 1001));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(userCarService);
+    }
+
+    @Test
+    public void exportAllInformationUserCar() throws IOException {
+        UserCar userCar = new UserCar(1, "John", "john@gmail.com", "BMW", 2020, "X5", "WBA12345");
+        UserCarDto userCarDto = new UserCarDto(1, "John", "john@gmail.com", "BMW", 2020, "X5", "WBA12345");
+        doAnswer(invocation -> {
+            Consumer<UserCar> consumer = invocation.getArgument(0);
+            consumer.accept(userCar);
+            return null;
+        }).when(userCarService).exportAllInformationUserCar(any());
+        when(userCarMapper.toDto(userCar)).thenReturn(userCarDto);
+
+        ResponseEntity<StreamingResponseBody> response = userCarController.exportAllInformationUserCar();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("{\"id\":1,\"userName\":\"John\",\"userEmail\":\"john@gmail.com\",\"brandCar\":\"BMW\","
+                + "\"graduationYear\":2020,\"model\":\"X5\",\"carVinCode\":\"WBA12345\"}\n", outputStream.toString());
+    }
+
+    @Test
+    public void getUserCarCount() {
+        when(userCarService.getUserCarCount()).thenReturn(3L);
+
+        assertEquals(3L, userCarController.getUserCarCount(false));
+        verify(userCarService, never()).getApproximateUserCarCount();
+    }
+
+    @Test
+    public void getUserCarCountApproximate() {
+        when(userCarService.getApproximateUserCarCount()).thenReturn(3000L);
+
+        assertEquals(3000L, userCarController.getUserCarCount(true));
+        verify(userCarService, never()).getUserCarCount();
+    }
+
+    @Test
+    public void getUserCarCountEmpty() {
+        when(userCarService.getUserCarCount()).thenReturn(0L);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userCarController.getAllInformationUserCar());
+                userCarController.getUserCarCount(false));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
+
+    @Test
+    public void getUserCarCountByBrand() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("Toyota", 3L);
+        counts.put("BMW", 1L);
+        when(userCarService.getUserCarCountByBrand()).thenReturn(counts);
+
+        List<GroupCountDto> response = userCarController.getUserCarCountByBrand();
+
+        assertThat(response).containsExactly(new GroupCountDto("Toyota", 3L), new GroupCountDto("BMW", 1L));
+    }
+
+    @Test
+    public void getUserCarCountByBrandEmpty() {
+        when(userCarService.getUserCarCountByBrand()).thenReturn(Collections.emptyMap());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userCarController.getUserCarCountByBrand());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
+
+    @Test
+    public void getUserCarCountByGraduationYear() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("2005", 2L);
+        counts.put("2000", 1L);
+        when(userCarService.getUserCarCountByGraduationYear()).thenReturn(counts);
+
+        List<GroupCountDto> response = userCarController.getUserCarCountByGraduationYear();
+
+        assertThat(response).containsExactly(new GroupCountDto("2005", 2L), new GroupCountDto("2000", 1L));
+    }
+
+    @Test
+    public void getUserCarCountByGraduationYearEmpty() {
+        when(userCarService.getUserCarCountByGraduationYear()).thenReturn(Collections.emptyMap());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userCarController.getUserCarCountByGraduationYear());
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
@@ -78,16 +208,28 @@ class UserCarControllerTest {
                 "Toyota", 2000, "Corolla", "LM7657689723223");
         when(userCarMapper.toDto(userCar)).thenReturn(userCarDto);
 
-        UserCarDto response = userCarController.getUserCarByVinCode("LM7657689723223");
+        UserCarDto response = userCarController.getUserCarByVinCode("LM7657689723223", webRequest);
 
         assertEquals(userCarDto, response);
     }
 
+    @Test
+    public void getUserCarByVinCodeNotModified() {
+        UserCar userCar = new UserCar(1, "John", "john@gmail.com",
+                "Toyota", 2000, "Corolla", "LM7657689723223");
+        when(userCarService.getUserCarByVinCode("LM7657689723223")).thenReturn(userCar);
+        request.addHeader("If-None-Match", "\"1.0\"");
+
+        assertNull(userCarController.getUserCarByVinCode("LM7657689723223", webRequest));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        verifyNoInteractions(userCarMapper);
+    }
+
     @Test
     public void getUserCarByVinCodeEmptyList() {
         String vinCode = "";
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userCarController.getUserCarByVinCode(vinCode));
+                userCarController.getUserCarByVinCode(vinCode, webRequest));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
@@ -95,8 +237,9 @@ class UserCarControllerTest {
     public void getUserCarByVinCodeInvalidCharacters() {
         String vinCode = "LM7657689723223@";
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userCarController.getUserCarByVinCode(vinCode));
+                userCarController.getUserCarByVinCode(vinCode, webRequest));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+        verify(userCarService, never()).getUserCarByVinCode(vinCode);
     }
 
     @Test
@@ -109,7 +252,7 @@ class UserCarControllerTest {
         when(userCarService.getUserCarByGraduationYear(2000)).thenReturn(Optional.of(userCar));
         when(userCarMapper.toDto(userCar)).thenReturn(userCarDto);
 
-        UserCarDto actualUserCarDto = userCarController.getUserCarByGraduationYear(2000);
+        UserCarDto actualUserCarDto = userCarController.getUserCarByGraduationYear(2000, webRequest);
 
         assertEquals(userCarDto, actualUserCarDto);
     }
@@ -119,28 +262,24 @@ class UserCarControllerTest {
         when(userCarService.getUserCarByGraduationYear(2000)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userCarController.getUserCarByGraduationYear(2000));
+                userCarController.getUserCarByGraduationYear(2000, webRequest));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
     @Test
     public void getUserCarByGraduationYearInvalidCharacter() {
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userCarController.getUserCarByGraduationYear(20000));
+                userCarController.getUserCarByGraduationYear(20000, webRequest));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
     @Test
     public void getUserCarByUserNameAndEmail() {
-        List<UserCar> userCars = new ArrayList<>();
-        userCars.add(new UserCar(1, "John", "john@gmail.com",
-                "Toyota", 2000, "Corolla", "LM7657689723223"));
         List<UserCarDto> userCarDto = new ArrayList<>();
         userCarDto.add(new UserCarDto(1, "John", "john@gmail.com",
                 "Toyota", 2000, "Corolla", "LM7657689723223"));
 
-        when(userCarService.getUserByUserNameAndEmail("John", "john@gmail.com")).thenReturn(userCars);
-        when(userCarMapper.toDto(userCars.get(0))).thenReturn(userCarDto.get(0));
+        when(userCarService.getUserByUserNameAndEmail("John", "john@gmail.com")).thenReturn(userCarDto);
 
         List<UserCarDto> response = userCarController.
                 getUserCarByUserNameAndEmail("John", "john@gmail.com");
@@ -175,15 +314,11 @@ class UserCarControllerTest {
 
     @Test
     public void getUserCarByBrandCarAndModel() {
-        List<UserCar> userCars = new ArrayList<>();
-        userCars.add(new UserCar(1, "John", "john@gmail.com",
-                "Toyota", 2000, "Corolla", "LM7657689723223"));
         List<UserCarDto> userCarDto = new ArrayList<>();
         userCarDto.add(new UserCarDto(1, "John", "john@gmail.com",
                 "Toyota", 2000, "Corolla", "LM7657689723223"));
 
-        when(userCarService.getUserCarByBrandCarAndModel("Toyota", "Corolla")).thenReturn(userCars);
-        when(userCarMapper.toDto(userCars.get(0))).thenReturn(userCarDto.get(0));
+        when(userCarService.getUserCarByBrandCarAndModel("Toyota", "Corolla")).thenReturn(userCarDto);
 
         List<UserCarDto> response = userCarController.getUserCarByBrandCarAndModel("Toyota", "Corolla");
 
@@ -307,11 +442,70 @@ class UserCarControllerTest {
 
         UserCar userCar = new UserCar(1, "John", "john@gmail.com",
                 "Toyota", 2000, "Corolla", "LM7657689723223");
-        when(userCarService.updateUserCarInformation(vinCode, userCarDto)).thenReturn(userCar);
+        when(userCarService.updateUserCarInformation(vinCode, userCarDto, "*")).thenReturn(Optional.of(userCar));
 
-        UserCarDto response = userCarController.updateUserCarInformation(vinCode, userCarDto);
+        UserCarDto result = userCarController.updateUserCarInformation(vinCode, userCarDto, null, null, response);
 
-        assertEquals(userCarMapper.toDto(userCar), response);
+        assertEquals(userCarMapper.toDto(userCar), result);
+    }
+
+    @Test
+    public void updateUserCarInformationIfMatch() {
+        String vinCode = "LM7657689723223";
+        UserCarDto userCarDto = new UserCarDto(1, "John", "john@gmail.com",
+                "Toyota", 2000, "Corolla", "LM7657689723223");
+        UserCar userCar = new UserCar(1, "John", "john@gmail.com",
+                "Toyota", 2000, "Corolla", "LM7657689723223");
+        userCar.setVersion(4);
+        when(userCarService.updateUserCarInformation(vinCode, userCarDto, "1.3")).thenReturn(Optional.of(userCar));
+
+        userCarController.updateUserCarInformation(vinCode, userCarDto, "\"1.3\"", null, response);
+
+        verify(userCarService, times(1)).updateUserCarInformation(vinCode, userCarDto, "1.3");
+        assertEquals("\"1.4\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    public void updateUserCarInformationIfMatchCbor() {
+        String vinCode = "LM7657689723223";
+        UserCarDto userCarDto = new UserCarDto(1, "John", "john@gmail.com",
+                "Toyota", 2000, "Corolla", "LM7657689723223");
+        UserCar userCar = new UserCar(1, "John", "john@gmail.com",
+                "Toyota", 2000, "Corolla", "LM7657689723223");
+        userCar.setVersion(4);
+        when(userCarService.updateUserCarInformation(vinCode, userCarDto, "1.3")).thenReturn(Optional.of(userCar));
+
+        userCarController.updateUserCarInformation(vinCode, userCarDto, "\"1.3-cbor\"", "application/cbor", response);
+
+        verify(userCarService, times(1)).updateUserCarInformation(vinCode, userCarDto, "1.3");
+        assertEquals("\"1.4-cbor\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    public void updateUserCarInformationPreconditionFailed() {
+        String vinCode = "LM7657689723223";
+        UserCarDto userCarDto = new UserCarDto(1, "John", "john@gmail.com",
+                "Toyota", 2000, "Corolla", "LM7657689723223");
+        when(userCarService.updateUserCarInformation(vinCode, userCarDto, "1.3")).
+                thenThrow(new OptimisticLockingFailureException("User car was modified"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userCarController.updateUserCarInformation(vinCode, userCarDto, "\"1.3\"", null, response));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
+        verifyNoInteractions(userCarMapper);
+    }
+
+    @Test
+    public void updateUserCarInformationNotFound() {
+        String vinCode = "LM7657689723223";
+        UserCarDto userCarDto = new UserCarDto(1, "John", "john@gmail.com",
+                "Toyota", 2000, "Corolla", "LM7657689723223");
+
+        when(userCarService.updateUserCarInformation(vinCode, userCarDto, "*")).thenReturn(Optional.empty());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userCarController.updateUserCarInformation(vinCode, userCarDto, null, null, response));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
     @Test
@@ -320,7 +514,7 @@ class UserCarControllerTest {
         UserCarDto userCarDto = new UserCarDto(1, "John", "john@gmail.com",
                 "Toyota", 2000, "Corolla", "LM7657689723223");
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userCarController.updateUserCarInformation(vinCode, userCarDto));
+                userCarController.updateUserCarInformation(vinCode, userCarDto, null, null, response));
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
@@ -335,25 +529,35 @@ class UserCarControllerTest {
         userCarDto.setModel("Corolla@");
 
         assertThrows(ResponseStatusException.class, () ->
-                userCarController.updateUserCarInformation(vinCode, userCarDto));
+                userCarController.updateUserCarInformation(vinCode, userCarDto, null, null, response));
     }
 
     @Test
     public void deleteUserCarInformation() {
         String vinCode = "LM7657689723223";
-        UserCar userCar = new UserCar(1, "John", "john@gmail.com",
-                "Toyota", 2000, "Corolla", "LM7657689723223");
 
-        when(userCarService.getUserCarByVinCode(vinCode)).thenReturn(userCar);
+        when(userCarService.deleteUserCarInformation(vinCode)).thenReturn(true);
 
         String expectedResponse = "User car with VIN Code: " + vinCode + " successful deleted";
         String actualResponse = userCarController.deleteUserCarInformation(vinCode);
 
-        verify(userCarService, times(1)).deleteUserCarInformation(userCar);
+        verify(userCarService, times(1)).deleteUserCarInformation(vinCode);
+        verify(userCarService, never()).getUserCarByVinCode(vinCode);
 
         assertEquals(expectedResponse, actualResponse);
     }
 
+    @Test
+    public void deleteUserCarInformationNotFound() {
+        String vinCode = "LM7657689723223";
+
+        when(userCarService.deleteUserCarInformation(vinCode)).thenReturn(false);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userCarController.deleteUserCarInformation(vinCode));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
+
     @Test
     public void deleteUserCarInvalidVinCode() {
         String vinCode = "LM7657689723223@";
@@ -1,21 +1,54 @@
 package com.example.restful_web_service.controller;
 
+import com.example.restful_web_service.controller.dto.BulkResultDto;
+import com.example.restful_web_service.controller.dto.CursorPageDto;
+import com.example.restful_web_service.controller.dto.UserCarDto;
 import com.example.restful_web_service.controller.dto.UserDto;
+import com.example.restful_web_service.controller.dto.UserHouseDto;
+import com.example.restful_web_service.controller.dto.UserProfileDto;
+import com.example.restful_web_service.controller.enums.BulkResultStatus;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.NdjsonMapper;
+import com.example.restful_web_service.controller.mapper.UserCarMapper;
+import com.example.restful_web_service.controller.mapper.UserHouseMapper;
 import com.example.restful_web_service.controller.mapper.UserMapper;
+import com.example.restful_web_service.controller.mapper.UserPassportMapper;
+import com.example.restful_web_service.controller.mapper.UserProfileMapper;
+import com.example.restful_web_service.controller.validation.RequestValidator;
 import com.example.restful_web_service.entity.User;
+import com.example.restful_web_service.entity.UserCar;
+import com.example.restful_web_service.entity.UserHouse;
+import com.example.restful_web_service.entity.UserPassport;
+import com.example.restful_web_service.repository.specification.UserFilter;
+import com.example.restful_web_service.repository.specification.UserSortField;
 import com.example.restful_web_service.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -27,78 +60,179 @@ class UserControllerTest {
     @Mock
     private UserMapper userMapper;
 
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private ServletWebRequest webRequest;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userController = new UserController(userService, userMapper);
+        request = new MockHttpServletRequest("GET", "/");
+        response = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(request, response);
+        userController = new UserController(userService, userMapper, new CursorMapper(),
+                new NdjsonMapper(new ObjectMapper()), new RequestValidator(),
+                new UserProfileMapper(new UserPassportMapper(), new UserCarMapper(), new UserHouseMapper()));
     }
 
     @Test
     public void getAllUser() {
-        List<User> userList = new ArrayList<>();
-        userList.add(new User(1, "John", 25, "john@gmail.com", "+0977035432"));
-        userList.add(new User(2, "Max", 27, "max@gmail.com", "+0971035432"));
-        when(userService.getAllUser()).thenReturn(userList);
-
         List<UserDto> userDtoList = new ArrayList<>();
         userDtoList.add(new UserDto(1, "John", 25, "john@gmail.com", "+0977035432"));
         userDtoList.add(new UserDto(2, "Max", 27, "max@gmail.com", "+0971035432"));
-        when(userMapper.toDto(userList.get(0))).thenReturn(userDtoList.get(0));
-        when(userMapper.toDto(userList.get(1))).thenReturn(userDtoList.get(1));
+        when(userService.getUsersAfterId(0, 101)).thenReturn(userDtoList);
+
+        CursorPageDto<UserDto> response = userController.getAllUser(null, 100);
+        assertEquals(userDtoList, response.getContent());
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void getAllUserReturnsNextCursor() {
+        CursorMapper cursorMapper = new CursorMapper();
+        UserDto userDto = new UserDto(3, "John", 25, "john@gmail.com", "+0977035432");
+        List<UserDto> userDtoList = new ArrayList<>();
+        userDtoList.add(userDto);
+        userDtoList.add(new UserDto(4, "Max", 27, "max@gmail.com", "+0971035432"));
+        when(userService.getUsersAfterId(2, 2)).thenReturn(userDtoList);
+
+        CursorPageDto<UserDto> response = userController.getAllUser(cursorMapper.toCursor(2), 1);
+        assertEquals(List.of(userDto), response.getContent());
+        assertEquals(3, cursorMapper.toId(response.getNextCursor()));
+    }
+
+    @Test
+    public void exportAllUser() throws IOException {
+        User user = new User(1, "John", 25, "john@gmail.com", "+0977035432");
+        UserDto userDto = new UserDto(1, "John", 25, "john@gmail.com", "+0977035432");
+        doAnswer(invocation -> {
+            Consumer<User> consumer = invocation.getArgument(0);
+            consumer.accept(user);
+            return null;
+        }).when(userService).exportAllUser(any());
+        when(userMapper.toDto(user)).thenReturn(userDto);
 
-        List<UserDto> response = userController.getAllUser();
-        assertEquals(userDtoList, response);
+        ResponseEntity<StreamingResponseBody> response = userController.exportAllUser();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("{\"id\":1,\"name\":\"John\",\"age\":25,\"email\":\"john@gmail.com\",\"phone\":\"+0977035432\"}\n",
+                outputStream.toString());
     }
 
     @Test
     public void getAllUserNotFound() {
-        when(userService.getAllUser()).thenReturn(Collections.emptyList());
+        when(userService.getUsersAfterId(0, 101)).thenReturn(Collections.emptyList());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userController.getAllUser());
+                userController.getAllUser(null, 100));
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
     @Test
-    public void getAllUserSorted() {
-        User user = new User(1, "John", 25, "john@gmail.com", "+0977035432");
-        User user1 = new User(2, "Max", 27, "max@gmail.com", "+0971035432");
-        User user2 = new User(3, "Den", 21, "den@gmail.com", "+0977654321");
+    public void getAllUserInvalidLimit() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userController.getAllUser(null, 0));
 
-        List<User> userList = Arrays.asList(user, user1, user2);
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(userService);
+    }
 
-        UserDto userDto = new UserDto(1, "John", 25, "john@gmail.com", "+0977035432");
-        UserDto userDto1 = new UserDto(2, "Max", 27, "max@gmail.com", "+0971035432");
-        UserDto userDto2 = new UserDto(3, "Den", 21, "den@gmail.com", "+0977654321");
+    @Test
+    public void getAllUserInvalidCursor() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userController.getAllUser("not-a-cursor", 100));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    public void getAllUserSorted() {
+        UserDto userDto = new UserDto(3, "Den", 21, "den@gmail.com", "+0977654321");
+        UserDto userDto1 = new UserDto(1, "John", 25, "john@gmail.com", "+0977035432");
+        UserDto userDto2 = new UserDto(2, "Max", 27, "max@gmail.com", "+0971035432");
         List<UserDto> userDtoList = Arrays.asList(userDto, userDto1, userDto2);
 
-        when(userService.getAllUsersSorted()).thenReturn(userList);
-        when(userMapper.toDto(userList.get(0))).thenReturn(userDtoList.get(0));
-        when(userMapper.toDto(userList.get(1))).thenReturn(userDtoList.get(1));
-        when(userMapper.toDto(userList.get(2))).thenReturn(userDtoList.get(2));
+        when(userService.getUsersByFilter(any(UserFilter.class), eq(101))).thenReturn(userDtoList);
 
-        List<UserDto> result = userController.getAllUsersSorted();
+        CursorPageDto<UserDto> result = userController.getAllUsersSorted(null, 100);
 
-        assertThat(result).isEqualTo(userDtoList);
+        assertThat(result.getContent()).isEqualTo(userDtoList);
+        assertThat(result.getNextCursor()).isNull();
+        ArgumentCaptor<UserFilter> filter = ArgumentCaptor.forClass(UserFilter.class);
+        verify(userService).getUsersByFilter(filter.capture(), eq(101));
+        assertEquals(UserSortField.NAME, filter.getValue().getSortField());
+        assertEquals(Sort.Direction.ASC, filter.getValue().getDirection());
+        assertNull(filter.getValue().getAfterId());
+    }
+
+    @Test
+    public void getAllUserSortedContinuesAfterCursor() {
+        CursorMapper cursorMapper = new CursorMapper();
+        List<UserDto> userDtoList = new ArrayList<>();
+        userDtoList.add(new UserDto(1, "John", 25, "john@gmail.com", "+0977035432"));
+        userDtoList.add(new UserDto(2, "Max", 27, "max@gmail.com", "+0971035432"));
+        when(userService.getUsersByFilter(any(UserFilter.class), eq(2))).thenReturn(userDtoList);
+
+        CursorPageDto<UserDto> result = userController.getAllUsersSorted(cursorMapper.toCursor(3, "Den"), 1);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(1, cursorMapper.toId(result.getNextCursor()));
+        assertEquals("John", cursorMapper.toSortValue(result.getNextCursor()));
+        ArgumentCaptor<UserFilter> filter = ArgumentCaptor.forClass(UserFilter.class);
+        verify(userService).getUsersByFilter(filter.capture(), eq(2));
+        assertEquals(3, filter.getValue().getAfterId());
+        assertEquals("Den", filter.getValue().getAfterValue());
     }
 
     @Test
     public void getAllUserSortedNotFound() {
-        when(userService.getAllUsersSorted()).thenReturn(Collections.emptyList());
+        when(userService.getUsersByFilter(any(UserFilter.class), eq(101))).thenReturn(Collections.emptyList());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userController.getAllUsersSorted());
+                userController.getAllUsersSorted(null, 100));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
+    @Test
+    public void getAllUserSortedInvalidCursor() {
+        String cursor = new CursorMapper().toCursor(3);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userController.getAllUsersSorted(cursor, 100));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    public void getAllUserSortedInvalidLimit() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userController.getAllUsersSorted(null, 0));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(userService);
+    }
+
     @Test
     public void getUserCount() {
         Long expectedCount = 5L;
         when(userService.getUserCount()).thenReturn(expectedCount);
 
-        Long actualCount = userController.getUserCount();
+        Long actualCount = userController.getUserCount(false);
         assertEquals(expectedCount, actualCount);
+        verify(userService, never()).getApproximateUserCount();
+    }
+
+    @Test
+    public void getApproximateUserCount() {
+        when(userService.getApproximateUserCount()).thenReturn(1000L);
+
+        assertEquals(1000L, userController.getUserCount(true));
+        verify(userService, never()).getUserCount();
     }
 
     @Test
@@ -107,7 +241,7 @@ class UserControllerTest {
         when(userService.getUserCount()).thenReturn(userCount);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userController.getUserCount());
+                userController.getUserCount(false));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
@@ -120,8 +254,38 @@ class UserControllerTest {
         when(userService.getUserById(1)).thenReturn(Optional.of(user));
         when(userMapper.toDto(user)).thenReturn(expectedUserDto);
 
-        UserDto actualUserDto = userController.getUserById(1);
+        UserDto actualUserDto = userController.getUserById(1, webRequest);
         assertEquals(expectedUserDto, actualUserDto);
+        assertEquals("\"1.0\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    public void getUserByIdNotModified() {
+        User user = new User(1, "John", 25, "john@gmail.com", "+0977035432");
+        user.setVersion(3);
+        when(userService.getUserById(1)).thenReturn(Optional.of(user));
+        request.addHeader("If-None-Match", "\"1.3\"");
+
+        UserDto actualUserDto = userController.getUserById(1, webRequest);
+
+        assertNull(actualUserDto);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        verifyNoInteractions(userMapper);
+    }
+
+    @Test
+    public void getUserByIdModifiedSinceVersion() {
+        User user = new User(1, "John", 25, "john@gmail.com", "+0977035432");
+        user.setVersion(4);
+        UserDto expectedUserDto = new UserDto(1, "John", 25, "john@gmail.com", "+0977035432");
+        when(userService.getUserById(1)).thenReturn(Optional.of(user));
+        when(userMapper.toDto(user)).thenReturn(expectedUserDto);
+        request.addHeader("If-None-Match", "\"1.3\"");
+
+        UserDto actualUserDto = userController.getUserById(1, webRequest);
+
+        assertEquals(expectedUserDto, actualUserDto);
+        assertEquals("\"1.4\"", response.getHeader("ETag"));
     }
 
     @Test
@@ -129,58 +293,163 @@ class UserControllerTest {
         when(userService.getUserById(1)).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userController.getUserById(1));
+                userController.getUserById(1, webRequest));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
     @Test
-    public void getUserByFilter() {
-        List<User> usersByFilter = new ArrayList<>();
-        usersByFilter.add(new User(1, "John", 25, "john@gmail.com", "+380977035432"));
-        usersByFilter.add(new User(2, "Max", 27, "max@gmail.com", "+380971035432"));
+    public void getUserProfile() {
+        User user = new User(1, "John", 25, "john@gmail.com", "+0977035432");
+        UserPassport userPassport = new UserPassport(1, "John", "Ken", "Male", LocalDate.of(1985, 1, 15),
+                "American", LocalDate.of(2022, 1, 12), LocalDate.of(2032, 1, 12), 123456789);
+        UserCar userCar = new UserCar(1, "John", "john@gmail.com", "Toyota", 2000, "Corolla", "LM7657689723223");
+        UserHouse userHouse = new UserHouse(1, "John", "+0977035432", "Ukraine", "Kyiv", "Khreshchatyk", 1, 2);
+        user.setUserPassport(userPassport);
+        user.setUserCars(List.of(userCar));
+        user.setUserHouses(List.of(userHouse));
+
+        when(userService.getUserProfile(1)).thenReturn(Optional.of(user));
+
+        UserProfileDto result = userController.getUserProfile(1);
+
+        assertThat(result.getId()).isEqualTo(1);
+        assertThat(result.getUserPassport().getPassportNumber()).isEqualTo(123456789);
+        assertThat(result.getUserPassport().getDateOfExpire()).isEqualTo("12/01/2032");
+        assertThat(result.getUserCars()).extracting(UserCarDto::getCarVinCode).containsExactly("LM7657689723223");
+        assertThat(result.getUserHouses()).extracting(UserHouseDto::getTown).containsExactly("Kyiv");
+        verify(userService).getUserProfile(1);
+    }
+
+    @Test
+    public void getUserProfileNotFound() {
+        when(userService.getUserProfile(1)).thenReturn(Optional.empty());
 
-        when(userService.getUsersByFilter("John", 25, null, null)).thenReturn(usersByFilter);
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userController.getUserProfile(1));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
 
+    @Test
+    public void getUserByFilter() {
         List<UserDto> userDtoList = new ArrayList<>();
         userDtoList.add(new UserDto(1, "John", 25, "john@gmail.com", "+380977035432"));
         userDtoList.add(new UserDto(2, "Max", 27, "max@gmail.com", "+380971035432"));
-        when(userMapper.toDto(usersByFilter.get(0))).thenReturn(userDtoList.get(0));
-        when(userMapper.toDto(usersByFilter.get(1))).thenReturn(userDtoList.get(1));
 
-        List<UserDto> response = userController.getUserByFilter("John", 25, null, null);
+        when(userService.getUsersByFilter(any(UserFilter.class), eq(101))).thenReturn(userDtoList);
+
+        CursorPageDto<UserDto> response = userController.getUserByFilter("John", null, 25, null, null, null, null,
+                "any", "id", "asc", null, 100);
 
-        assertThat(response).isEqualTo(userDtoList);
-        verify(userService).getUsersByFilter("John", 25, null, null);
+        assertThat(response.getContent()).isEqualTo(userDtoList);
+        assertThat(response.getNextCursor()).isNull();
+        ArgumentCaptor<UserFilter> filter = ArgumentCaptor.forClass(UserFilter.class);
+        verify(userService).getUsersByFilter(filter.capture(), eq(101));
+        assertEquals("John", filter.getValue().getName());
+        assertEquals(25, filter.getValue().getAge());
+        assertThat(filter.getValue().getEmail()).isNull();
+        assertThat(filter.getValue().isMatchAll()).isFalse();
+    }
+
+    @Test
+    public void getUserByFilterSortedPage() {
+        List<UserDto> usersByFilter = new ArrayList<>();
+        usersByFilter.add(new UserDto(4, "John", 25, "john@gmail.com", "+380977035432"));
+        usersByFilter.add(new UserDto(2, "Johnny", 27, "johnny@gmail.com", "+380971035432"));
+
+        when(userService.getUsersByFilter(any(UserFilter.class), eq(2))).thenReturn(usersByFilter);
+
+        CursorMapper cursorMapper = new CursorMapper();
+        CursorPageDto<UserDto> response = userController.getUserByFilter(null, "Jo", null, 20, 30, null, null,
+                "all", "name", "desc", cursorMapper.toCursor(7, "Kate"), 1);
+
+        assertEquals(1, response.getContent().size());
+        assertEquals(4, cursorMapper.toId(response.getNextCursor()));
+        assertEquals("John", cursorMapper.toSortValue(response.getNextCursor()));
+        ArgumentCaptor<UserFilter> filter = ArgumentCaptor.forClass(UserFilter.class);
+        verify(userService).getUsersByFilter(filter.capture(), eq(2));
+        assertEquals("Jo", filter.getValue().getNamePrefix());
+        assertEquals(20, filter.getValue().getMinAge());
+        assertEquals(30, filter.getValue().getMaxAge());
+        assertThat(filter.getValue().isMatchAll()).isTrue();
+        assertEquals(UserSortField.NAME, filter.getValue().getSortField());
+        assertEquals(Sort.Direction.DESC, filter.getValue().getDirection());
+        assertEquals(7, filter.getValue().getAfterId());
+        assertEquals("Kate", filter.getValue().getAfterValue());
     }
 
     @Test
     public void getUserByFilterInvalidName() {
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userController.getUserByFilter("J0hn", 15, "john@gmail.com", "+380977035432"));
+                userController.getUserByFilter("J0hn", null, 15, null, null, "john@gmail.com", "+380977035432",
+                        "any", "id", "asc", null, 100));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+        verify(userService, never()).getUsersByFilter(any(), any());
     }
 
     @Test
     public void getUserByFilterInvalidAge() {
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userController.getUserByFilter("John", 150, "john@gmail.com", "+380977035432"));
+                userController.getUserByFilter("John", null, 150, null, null, "john@gmail.com", "+380977035432",
+                        "any", "id", "asc", null, 100));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
+
+    @Test
+    public void getUserByFilterInvalidAgeRange() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userController.getUserByFilter(null, null, null, 40, 30, null, null,
+                        "any", "id", "asc", null, 100));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+        verify(userService, never()).getUsersByFilter(any(), any());
     }
 
     @Test
     public void getUserByFilterInvalidEmail() {
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userController.getUserByFilter("John", 25, "john@!gmail.com", "+380977035432"));
+                userController.getUserByFilter("John", null, 25, null, null, "john@!gmail.com", "+380977035432",
+                        "any", "id", "asc", null, 100));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
     @Test
     public void getUserByFilterInvalidPhone() {
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userController.getUserByFilter("John", 25, "john@gmail.com", "380977035432"));
+                userController.getUserByFilter("John", null, 25, null, null, "john@gmail.com", "380977035432",
+                        "any", "id", "asc", null, 100));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
+    @Test
+    public void getUserByFilterInvalidSort() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userController.getUserByFilter("John", null, null, null, null, null, null,
+                        "any", "phone", "asc", null, 100));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(userService, never()).getUsersByFilter(any(), any());
+    }
+
+    @Test
+    public void getUserByFilterCursorOfAnotherSort() {
+        String nameCursor = new CursorMapper().toCursor(4, "John");
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userController.getUserByFilter(null, null, null, null, null, null, null,
+                        "any", "age", "asc", nameCursor, 100));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(userService, never()).getUsersByFilter(any(), any());
+    }
+
+    @Test
+    public void getUserByFilterCursorWithoutSortValue() {
+        String idCursor = new CursorMapper().toCursor(4);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userController.getUserByFilter(null, null, null, null, null, null, null,
+                        "any", "email", "asc", idCursor, 100));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verify(userService, never()).getUsersByFilter(any(), any());
+    }
+
     @Test
     public void addUser() {
         UserDto userDto = new UserDto(1, "John", 25, "john@gmail.com", "+0977035432");
@@ -241,38 +510,136 @@ class UserControllerTest {
     }
 
     @Test
-    public void updateUser() {
-        UserDto userDto = new UserDto(1, "John", 25, "john@!gmail.com", "+0977035432");
-        User user = new User(1, "John", 25, "john@!gmail.com", "+0977035432");
+    public void addUsers() {
+        UserDto validDto = new UserDto(null, "John", 25, "john@gmail.com", "+0977035432");
+        UserDto invalidDto = new UserDto(null, "John123", 25, "john123@gmail.com", "+0977035433");
+        UserDto duplicateDto = new UserDto(null, "Jane", 30, "john@gmail.com", "+0977035434");
+        UserDto existingDto = new UserDto(null, "Jack", 35, "jack@gmail.com", "+0977035435");
+        User user = new User(null, "John", 25, "john@gmail.com", "+0977035432");
+        User existingUser = new User(null, "Jack", 35, "jack@gmail.com", "+0977035435");
+
+        when(userMapper.toEntity(validDto)).thenReturn(user);
+        when(userMapper.toEntity(existingDto)).thenReturn(existingUser);
+        when(userService.getExistingEmails(anyList())).thenReturn(Set.of("jack@gmail.com"));
+        when(userService.getExistingPhones(anyList())).thenReturn(Set.of());
+        when(userService.saveAllUsers(List.of(user))).thenAnswer(invocation -> {
+            user.setId(7);
+            return List.of(user);
+        });
+
+        List<BulkResultDto> result = userController.addUsers(List.of(validDto, invalidDto, duplicateDto, existingDto));
+
+        assertThat(result).hasSize(4);
+        assertThat(result.get(0).getStatus()).isEqualTo(BulkResultStatus.CREATED);
+        assertThat(result.get(0).getId()).isEqualTo(7);
+        assertThat(result.get(1).getStatus()).isEqualTo(BulkResultStatus.REJECTED);
+        assertThat(result.get(1).getError()).isEqualTo("Invalid name characters: John123");
+        assertThat(result.get(2).getStatus()).isEqualTo(BulkResultStatus.REJECTED);
+        assertThat(result.get(2).getError()).isEqualTo("Duplicate email in request: john@gmail.com");
+        assertThat(result.get(3).getStatus()).isEqualTo(BulkResultStatus.REJECTED);
+        assertThat(result.get(3).getError()).isEqualTo("Email already exists: jack@gmail.com");
+
+        verify(userService).saveAllUsers(List.of(user));
+    }
 
-        Optional<User> optionalUser = Optional.of(user);
+    @Test
+    public void addUsersRejectsMissingFields() {
+        UserDto validDto = new UserDto(null, "John", 25, "john@gmail.com", "+0977035432");
+        UserDto withoutPhone = new UserDto(null, "Jane", 30, "jane@gmail.com", null);
+        UserDto withoutAge = new UserDto(null, "Jack", null, "jack@gmail.com", "+0977035435");
+        User user = new User(null, "John", 25, "john@gmail.com", "+0977035432");
+
+        when(userMapper.toEntity(validDto)).thenReturn(user);
+        when(userService.getExistingEmails(anyList())).thenReturn(Set.of());
+        when(userService.getExistingPhones(anyList())).thenReturn(Set.of());
+        when(userService.saveAllUsers(List.of(user))).thenAnswer(invocation -> {
+            user.setId(7);
+            return List.of(user);
+        });
+
+        List<BulkResultDto> result = userController.addUsers(List.of(validDto, withoutPhone, withoutAge));
+
+        assertThat(result.get(0).getStatus()).isEqualTo(BulkResultStatus.CREATED);
+        assertThat(result.get(1).getStatus()).isEqualTo(BulkResultStatus.REJECTED);
+        assertThat(result.get(1).getError()).isEqualTo("Phone number is required");
+        assertThat(result.get(2).getStatus()).isEqualTo(BulkResultStatus.REJECTED);
+        assertThat(result.get(2).getError()).isEqualTo("Age is required");
+        verify(userService).saveAllUsers(List.of(user));
+    }
 
-        when(userService.getUserById(1)).thenReturn(optionalUser);
+    @Test
+    public void addUsersRejectsRowsTakenConcurrently() {
+        UserDto firstDto = new UserDto(null, "John", 25, "john@gmail.com", "+0977035432");
+        UserDto secondDto = new UserDto(null, "Jane", 30, "jane@gmail.com", "+0977035433");
+        User first = new User(null, "John", 25, "john@gmail.com", "+0977035432");
+        User second = new User(null, "Jane", 30, "jane@gmail.com", "+0977035433");
+
+        when(userMapper.toEntity(firstDto)).thenReturn(first);
+        when(userMapper.toEntity(secondDto)).thenReturn(second);
+        when(userService.getExistingEmails(anyList())).thenReturn(Set.of());
+        when(userService.getExistingPhones(anyList())).thenReturn(Set.of());
+        when(userService.saveAllUsers(List.of(first, second))).thenAnswer(invocation -> {
+            first.setId(7);
+            return List.of(first);
+        });
+
+        List<BulkResultDto> result = userController.addUsers(List.of(firstDto, secondDto));
+
+        assertThat(result.get(0).getStatus()).isEqualTo(BulkResultStatus.CREATED);
+        assertThat(result.get(0).getId()).isEqualTo(7);
+        assertThat(result.get(1).getStatus()).isEqualTo(BulkResultStatus.REJECTED);
+        assertThat(result.get(1).getId()).isNull();
+        assertThat(result.get(1).getError()).isEqualTo("Email or phone number already exists");
+    }
+
+    @Test
+    public void addUsersEmpty() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userController.addUsers(List.of()));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+        verify(userService, never()).saveAllUsers(anyList());
+    }
+
+    @Test
+    public void updateUser() {
+        UserDto userDto = new UserDto(1, "Mike", 30, "mike@gmail.com", "+0977135432");
 
         UserDto updateUserDto = new UserDto(1, "Mike", 30, "mike@gmail.com", "+0977135432");
         User updateUser = new User(1, "Mike", 30, "mike@gmail.com", "+0977135432");
 
-        when(userService.updateUser(user, userDto)).thenReturn(updateUser);
+        when(userService.updateUser(1, userDto, "*")).thenReturn(Optional.of(updateUser));
         when(userMapper.toDto(updateUser)).thenReturn(updateUserDto);
 
-        UserDto result = userController.updateUser(1, userDto);
+        UserDto result = userController.updateUser(1, userDto, null, null, response);
 
-        verify(userService, times(1)).getUserById(1);
-        verify(userService, times(1)).updateUser(user, userDto);
+        verify(userService, never()).getUserById(1);
+        verify(userService, times(1)).updateUser(1, userDto, "*");
         verify(userMapper, times(1)).toDto(updateUser);
 
         assertThat(result).isEqualTo(updateUserDto);
     }
 
+    @Test
+    public void updateUserPreconditionFailed() {
+        UserDto userDto = new UserDto(1, "Mike", 30, "mike@gmail.com", "+0977135432");
+        when(userService.updateUser(1, userDto, "1.2")).
+                thenThrow(new OptimisticLockingFailureException("User was modified"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userController.updateUser(1, userDto, "\"1.2\"", null, response));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
+        verifyNoInteractions(userMapper);
+    }
+
     @Test
     public void updateUserNotFound() {
         Integer id = 1;
         UserDto userDto = new UserDto(1, "John", 25, "john@!gmail.com", "+0977035432");
 
-        when(userService.getUserById(id)).thenReturn(Optional.empty());
+        when(userService.updateUser(id, userDto, "*")).thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userController.updateUser(id, userDto));
+                userController.updateUser(id, userDto, null, null, response));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
@@ -280,15 +647,24 @@ class UserControllerTest {
     public void deleteUserByIdSuccess() {
         Integer userId = 1;
 
-        User user = new User(userId, "John", 25, "john@gmail.com", "+0977035432");
-        when(userService.getUserById(userId)).thenReturn(Optional.of(user));
+        when(userService.deleteById(userId)).thenReturn(true);
 
         String expectedResponse = "User with id " + userId + " was successfully deleted";
         String actualResponse = userController.delete(userId);
 
+        verify(userService, never()).getUserById(userId);
         assertEquals(expectedResponse, actualResponse);
     }
 
+    @Test
+    public void deleteUserByIdDoesNotExist() {
+        Integer userId = 1;
+
+        when(userService.deleteById(userId)).thenReturn(false);
+
+        assertEquals("User with id " + userId + " not found", userController.delete(userId));
+    }
+
     @Test
     public void deleteUserByIdNotFound() {
         Integer userId = -1;
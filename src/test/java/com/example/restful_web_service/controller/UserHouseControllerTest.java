@@ -1,22 +1,40 @@
 package com.example.restful_web_service.controller;
 
+import com.example.restful_web_service.controller.dto.CursorPageDto;
+import com.example.restful_web_service.controller.dto.GroupCountDto;
 import com.example.restful_web_service.controller.dto.UserHouseDto;
 import com.example.restful_web_service.controller.enums.SupportedCountries;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.NdjsonMapper;
 import com.example.restful_web_service.controller.mapper.UserHouseMapper;
+import com.example.restful_web_service.controller.validation.RequestValidator;
 import com.example.restful_web_service.entity.UserHouse;
 import com.example.restful_web_service.service.UserHouseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,42 +49,155 @@ class UserHouseControllerTest {
     @Mock
     private UserHouseMapper userHouseMapper;
 
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private ServletWebRequest webRequest;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userHouseController = new UserHouseController(userHouseService, userHouseMapper);
+        request = new MockHttpServletRequest("GET", "/");
+        response = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(request, response);
+        userHouseController = new UserHouseController(userHouseService, userHouseMapper, new CursorMapper(),
+                new NdjsonMapper(new ObjectMapper()), new RequestValidator());
     }
 
     @Test
     public void getAllInformationUserHouse() {
-        List<UserHouse> userHouses = new ArrayList<>();
-        userHouses.add(new UserHouse(1, "John", "+380978657654", "Portugal",
-                "Lissabon", "lissabon", 25, 12));
-        userHouses.add(new UserHouse(1, "John", "+380978657654", "Portugal",
-                "Lissabon", "lissabon", 25, 12));
-
-        when(userHouseService.getAllInformationUserHouse()).thenReturn(userHouses);
-
         List<UserHouseDto> userHouseDto = new ArrayList<>();
         userHouseDto.add(new UserHouseDto(1, "John", "+380978657654", "Portugal",
                 "Lissabon", "lissabon", 25, 12));
         userHouseDto.add(new UserHouseDto(1, "John", "+380978657654", "Portugal",
                 "Lissabon", "lissabon", 25, 12));
 
-        when(userHouseMapper.toDto(userHouses.get(0))).thenReturn(userHouseDto.get(0));
-        when(userHouseMapper.toDto(userHouses.get(1))).thenReturn(userHouseDto.get(1));
+        when(userHouseService.getUserHousesAfterId(0, 101)).thenReturn(userHouseDto);
 
-        List<UserHouseDto> response = userHouseController.getAllInformationUserHouse();
+        CursorPageDto<UserHouseDto> response = userHouseController.getAllInformationUserHouse(null, 100);
 
-        assertEquals(userHouseDto, response);
+        assertEquals(userHouseDto, response.getContent());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    public void getAllInformationUserHouseReturnsNextCursor() {
+        CursorMapper cursorMapper = new CursorMapper();
+        UserHouseDto userHouseDto = new UserHouseDto(7, "John", "+380978657654", "Portugal",
+                "Lissabon", "lissabon", 25, 12);
+        when(userHouseService.getUserHousesAfterId(0, 2)).thenReturn(List.of(userHouseDto,
+                new UserHouseDto(8, "John", "+380978657654", "Portugal", "Lissabon", "lissabon", 25, 13)));
+
+        CursorPageDto<UserHouseDto> response = userHouseController.getAllInformationUserHouse(null, 1);
+
+        assertEquals(List.of(userHouseDto), response.getContent());
+        assertEquals(7, cursorMapper.toId(response.getNextCursor()));
     }
 
     @Test
     public void getAllInformationEmptyList() {
-        when(userHouseService.getAllInformationUserHouse()).thenReturn(Collections.emptyList());
+        when(userHouseService.getUserHousesAfterId(0, 101)).thenReturn(Collections.emptyList());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userHouseController.getAllInformationUserHouse(null, 100));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
+
+    @Test
+    public void getAllInformationUserHouseInvalidCursor() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userHouseController.getAllInformationUserHouse("not-a-cursor", 100));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(userHouseService);
+    }
+
+    @Test
+    public void exportAllInformationUserHouse() throws IOException {
+        UserHouse userHouse = new UserHouse(1, "John", "+380977035432", "Ukraine",
+                "Kyiv", "Khreshchatyk", 1, 2);
+        UserHouseDto userHouseDto = new UserHouseDto(1, "John", "+380977035432", "Ukraine",
+                "Kyiv", "Khreshchatyk", 1, 2);
+        doAnswer(invocation -> {
+            Consumer<UserHouse> consumer = invocation.getArgument(0);
+            consumer.accept(userHouse);
+            return null;
+        }).when(userHouseService).exportAllInformationUserHouse(any());
+        when(userHouseMapper.toDto(userHouse)).thenReturn(userHouseDto);
+
+        ResponseEntity<StreamingResponseBody> response = userHouseController.exportAllInformationUserHouse();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("{\"id\":1,\"userName\":\"John\",\"userPhone\":\"+380977035432\",\"country\":\"Ukraine\","
+                + "\"town\":\"Kyiv\",\"address\":\"Khreshchatyk\",\"houseNumber\":1,\"flatNumber\":2}\n",
+                outputStream.toString());
+    }
+
+    @Test
+    public void getUserHouseCount() {
+        when(userHouseService.getUserHouseCount()).thenReturn(3L);
+
+        assertEquals(3L, userHouseController.getUserHouseCount(false));
+        verify(userHouseService, never()).getApproximateUserHouseCount();
+    }
+
+    @Test
+    public void getUserHouseCountApproximate() {
+        when(userHouseService.getApproximateUserHouseCount()).thenReturn(3000L);
+
+        assertEquals(3000L, userHouseController.getUserHouseCount(true));
+        verify(userHouseService, never()).getUserHouseCount();
+    }
+
+    @Test
+    public void getUserHouseCountEmpty() {
+        when(userHouseService.getUserHouseCount()).thenReturn(0L);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userHouseController.getUserHouseCount(false));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
+
+    @Test
+    public void getUserHouseCountByCountry() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("Ukraine", 5L);
+        counts.put("Portugal", 2L);
+        when(userHouseService.getUserHouseCountByCountry()).thenReturn(counts);
+
+        List<GroupCountDto> response = userHouseController.getUserHouseCountByCountry();
+
+        assertThat(response).containsExactly(new GroupCountDto("Ukraine", 5L), new GroupCountDto("Portugal", 2L));
+    }
+
+    @Test
+    public void getUserHouseCountByCountryEmpty() {
+        when(userHouseService.getUserHouseCountByCountry()).thenReturn(Collections.emptyMap());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userHouseController.getUserHouseCountByCountry());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
+
+    @Test
+    public void getUserHouseCountByTown() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("Kyiv", 4L);
+        counts.put("Lisbon", 2L);
+        when(userHouseService.getUserHouseCountByTown()).thenReturn(counts);
+
+        List<GroupCountDto> response = userHouseController.getUserHouseCountByTown();
+
+        assertThat(response).containsExactly(new GroupCountDto("Kyiv", 4L), new GroupCountDto("Lisbon", 2L));
+    }
+
+    @Test
+    public void getUserHouseCountByTownEmpty() {
+        when(userHouseService.getUserHouseCountByTown()).thenReturn(Collections.emptyMap());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userHouseController.getAllInformationUserHouse());
+                userHouseController.getUserHouseCountByTown());
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
@@ -83,7 +214,7 @@ class UserHouseControllerTest {
         when(userHouseMapper.toDto(userHouse)).thenReturn(userHouseDto);
 
         UserHouseDto actualUserDto = userHouseController.
-                getInformationByHouseNumberAndFlatNumber(25, 12);
+                getInformationByHouseNumberAndFlatNumber(25, 12, webRequest);
 
         assertEquals(userHouseDto, actualUserDto);
     }
@@ -94,7 +225,7 @@ class UserHouseControllerTest {
                 thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userHouseController.getInformationByHouseNumberAndFlatNumber(25, 12));
+                userHouseController.getInformationByHouseNumberAndFlatNumber(25, 12, webRequest));
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
@@ -102,7 +233,7 @@ class UserHouseControllerTest {
     @Test
     public void getInformationByHouseAndFlatNumberIsNull() {
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userHouseController.getInformationByHouseNumberAndFlatNumber(null, null));
+                userHouseController.getInformationByHouseNumberAndFlatNumber(null, null, webRequest));
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
@@ -110,22 +241,17 @@ class UserHouseControllerTest {
     @Test
     public void getInformationByHouseAndFlatNumberIsLessThan0() {
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userHouseController.getInformationByHouseNumberAndFlatNumber(-1, -1));
+                userHouseController.getInformationByHouseNumberAndFlatNumber(-1, -1, webRequest));
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
     @Test
     public void getHouseInTown() {
-        List<UserHouse> userHouses = new ArrayList<>();
-        userHouses.add(new UserHouse(1, "John", "+380978657654", "Portugal",
-                "Lissabon", "lissabon", 25, 12));
-        when(userHouseService.getHouseInTown("Lissabon")).thenReturn(userHouses);
-
         List<UserHouseDto> userHouseDto = new ArrayList<>();
         userHouseDto.add(new UserHouseDto(1, "John", "+380978657654", "Portugal",
                 "Lissabon", "lissabon", 25, 12));
-        when(userHouseMapper.toDto(userHouses.get(0))).thenReturn(userHouseDto.get(0));
+        when(userHouseService.getHouseInTown("Lissabon")).thenReturn(userHouseDto);
 
         List<UserHouseDto> response = userHouseController.getHouseInTown("Lissabon");
 
@@ -154,16 +280,11 @@ class UserHouseControllerTest {
     public void getHouseInCountry() {
         String country = SupportedCountries.PORTUGAL.name();
 
-        List<UserHouse> userHouses = new ArrayList<>();
-        userHouses.add(new UserHouse(1, "John", "+380978657654", "Portugal",
-                "Lissabon", "lissabon", 25, 12));
-        when(userHouseService.getUserHousesInCountry(country)).thenReturn(userHouses);
-
         List<UserHouseDto> userHouseDto = new ArrayList<>();
         userHouseDto.add(new UserHouseDto(1, "John", "+380978657654", "Portugal",
                 "Lissabon", "lissabon", 25, 12));
 
-        when(userHouseMapper.toDto(userHouses.get(0))).thenReturn(userHouseDto.get(0));
+        when(userHouseService.getUserHousesInCountry(country)).thenReturn(userHouseDto);
 
         List<UserHouseDto> response = userHouseController.getHouseInCountry(country);
 
@@ -298,23 +419,33 @@ class UserHouseControllerTest {
         UserHouseDto userHouseDto = new UserHouseDto(1, "John",
                 "+380978657654", "Portugal",
                 "Lissabon", "lissabon", 25, 12);
-        UserHouse userHouse = new UserHouse(1, "John",
-                "+380978657654", "Portugal",
-                "Lissabon", "lissabon", 25, 12);
         UserHouse userHouseUpdate = new UserHouse(1, "Denis",
                 "+380978657554", "Ukraine",
                 "Kyiv", "Chreshatik", 21, 11);
 
-        when(userHouseService.getInformationByHouseNumberAndFlatNumber(houseNumber, flatNumber)).
-                thenReturn(Optional.of(userHouse));
-        when(userHouseService.updateUserHouse(userHouse, userHouseDto)).thenReturn(userHouseUpdate);
+        when(userHouseService.updateUserHouse(houseNumber, flatNumber, userHouseDto, "*")).
+                thenReturn(Optional.of(userHouseUpdate));
         when(userHouseMapper.toDto(userHouseUpdate)).thenReturn(userHouseDto);
 
-        UserHouseDto updatedUserHouseDto = userHouseController.updateUserHouse(houseNumber, flatNumber, userHouseDto);
+        UserHouseDto updatedUserHouseDto = userHouseController.updateUserHouse(houseNumber, flatNumber, userHouseDto,
+                null, null, response);
 
         assertEquals(userHouseDto, updatedUserHouseDto);
     }
 
+    @Test
+    public void updateUserHousePreconditionFailed() {
+        UserHouseDto userHouseDto = new UserHouseDto(1, "John",
+                "+380978657654", "Portugal",
+                "Lissabon", "lissabon", 25, 12);
+        when(userHouseService.updateUserHouse(25, 12, userHouseDto, "1.0")).
+                thenThrow(new OptimisticLockingFailureException("User house was modified"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userHouseController.updateUserHouse(25, 12, userHouseDto, "\"1.0\"", null, response));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
+    }
+
     @Test
     public void updateUserHouseDoesNotFound() {
         Integer houseNumber = 25;
@@ -323,11 +454,11 @@ class UserHouseControllerTest {
         UserHouseDto userHouseDto = new UserHouseDto(1, "John",
                 "+380978657654", "Portugal",
                 "Lissabon", "lissabon", 25, 12);
-        when(userHouseService.getInformationByHouseNumberAndFlatNumber(houseNumber, flatNumber)).
+        when(userHouseService.updateUserHouse(houseNumber, flatNumber, userHouseDto, "*")).
                 thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userHouseController.updateUserHouse(houseNumber, flatNumber, userHouseDto));
+                userHouseController.updateUserHouse(houseNumber, flatNumber, userHouseDto, null, null, response));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
@@ -340,7 +471,7 @@ class UserHouseControllerTest {
                 "Lissabon", "lissabon", houseNumber, flatNumber);
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userHouseController.updateUserHouse(houseNumber, flatNumber, userHouseDto));
+                userHouseController.updateUserHouse(houseNumber, flatNumber, userHouseDto, null, null, response));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
@@ -355,7 +486,7 @@ class UserHouseControllerTest {
         userHouseDto.setCountry("USA");
 
         assertThrows(ResponseStatusException.class, () ->
-                userHouseController.updateUserHouse(houseNumber, flatNumber, userHouseDto));
+                userHouseController.updateUserHouse(houseNumber, flatNumber, userHouseDto, null, null, response));
     }
 
     @Test
@@ -363,18 +494,13 @@ class UserHouseControllerTest {
         Integer houseNumber = 25;
         Integer flatNumber = 12;
 
-        UserHouse userHouse = new UserHouse(1, "John",
-                "+380978657654", "Portugal",
-                "Lissabon", "lissabon", 25, 12);
-
-        when(userHouseService.getInformationByHouseNumberAndFlatNumber(houseNumber, flatNumber)).
-                thenReturn(Optional.of(userHouse));
+        when(userHouseService.deleteUserHouse(houseNumber, flatNumber)).thenReturn(true);
 
         String expectedResponse = "User house with house number: " + houseNumber + " and flat number: " + flatNumber
                 + " was successful deleted";
         String actualResponse = userHouseController.deleteUserHouse(houseNumber, flatNumber);
 
-        verify(userHouseService, times(1)).deleteUserHouse(userHouse);
+        verify(userHouseService, times(1)).deleteUserHouse(houseNumber, flatNumber);
 
         assertEquals(expectedResponse, actualResponse);
     }
@@ -391,8 +517,8 @@ class UserHouseControllerTest {
 
     @Test
     public void deleteUserHouseEmptyList() {
-        List<UserHouse> userHouses = new ArrayList<>();
-        when(userHouseService.getAllInformationUserHouse()).thenReturn(userHouses);
+        List<UserHouseDto> userHouses = new ArrayList<>();
+        when(userHouseService.getUserHousesAfterId(0, 101)).thenReturn(userHouses);
 
         Integer houseNumber = 1;
         Integer flatNumber = 2;
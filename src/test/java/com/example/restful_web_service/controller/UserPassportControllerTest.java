@@ -1,21 +1,37 @@
 package com.example.restful_web_service.controller;
 
+import com.example.restful_web_service.controller.dto.CursorPageDto;
 import com.example.restful_web_service.controller.dto.UserPassportDto;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.NdjsonMapper;
 import com.example.restful_web_service.controller.mapper.UserPassportMapper;
+import com.example.restful_web_service.controller.validation.RequestValidator;
 import com.example.restful_web_service.entity.UserPassport;
 import com.example.restful_web_service.service.UserPassportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -31,23 +47,22 @@ class UserPassportControllerTest {
     @Mock
     private UserPassportMapper userPassportMapper;
 
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private ServletWebRequest webRequest;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userPassportController = new UserPassportController(userPassportMapper, userPassportService);
+        request = new MockHttpServletRequest("GET", "/");
+        response = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(request, response);
+        userPassportController = new UserPassportController(userPassportMapper, new CursorMapper(),
+                userPassportService, new NdjsonMapper(new ObjectMapper()), new RequestValidator());
     }
 
     @Test
     public void getAllInformation() {
-        List<UserPassport> userPassports = new ArrayList<>();
-        userPassports.add(new UserPassport(1, "John", "Ken", "Male",
-                "15/01/1985", "American",
-                "12/01/2022", "12/01/2032", 123456789));
-        userPassports.add(new UserPassport(2, "Max", "Ken", "Male",
-                "15/01/1986", "Ukrainian",
-                "12/02/2022", "12/02/2032", 123456789));
-        when(userPassportService.getAllInformation()).thenReturn(userPassports);
-
         List<UserPassportDto> userDtoList = new ArrayList<>();
         userDtoList.add(new UserPassportDto(1, "John", "Ken", "Male",
                 "15/01/1985", "American",
@@ -56,27 +71,105 @@ class UserPassportControllerTest {
                 "15.01.1986", "Ukrainian",
                 "12/02/2022", "12/02/2032", 123456789));
 
-        when(userPassportMapper.toDto(userPassports.get(0))).thenReturn(userDtoList.get(0));
-        when(userPassportMapper.toDto(userPassports.get(1))).thenReturn(userDtoList.get(1));
+        when(userPassportService.getPassportsAfterId(0, 101)).thenReturn(userDtoList);
 
-        List<UserPassportDto> response = userPassportController.getAllInformation();
-        assertEquals(userDtoList, response);
+        CursorPageDto<UserPassportDto> response = userPassportController.getAllInformation(null, 100);
+        assertEquals(userDtoList, response.getContent());
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void getAllInformationReturnsNextCursor() {
+        CursorMapper cursorMapper = new CursorMapper();
+        UserPassportDto userPassportDto = new UserPassportDto(11, "John", "Ken", "Male", "15/01/1985",
+                "American", "12/01/2022", "12/01/2032", 123456789);
+        when(userPassportService.getPassportsAfterId(10, 3)).thenReturn(List.of(userPassportDto,
+                new UserPassportDto(12, "Max", "Ken", "Male", "15/01/1986", "Ukrainian", "12/02/2022",
+                        "12/02/2032", 123456788),
+                new UserPassportDto(13, "Ann", "Ken", "Female", "15/01/1987", "Ukrainian", "12/03/2022",
+                        "12/03/2032", 123456787)));
+
+        CursorPageDto<UserPassportDto> response = userPassportController.getAllInformation(
+                cursorMapper.toCursor(10), 2);
+
+        assertEquals(2, response.getContent().size());
+        assertEquals(12, cursorMapper.toId(response.getNextCursor()));
     }
 
     @Test
     public void getAllInformationNotFound() {
-        when(userPassportService.getAllInformation()).thenReturn(Collections.emptyList());
+        when(userPassportService.getPassportsAfterId(0, 101)).thenReturn(Collections.emptyList());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userPassportController.getAllInformation());
+                userPassportController.getAllInformation(null, 100));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
     @Test
-    public void getPassportInformationByNumber() {
+    public void getAllInformationInvalidLimit() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userPassportController.getAllInformation(null, 0));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(userPassportService);
+    }
+
+    @Test
+    public void exportAllInformation() throws IOException {
         UserPassport userPassport = new UserPassport(1, "John", "Ken", "Male",
+                LocalDate.of(1985, 1, 15), "American",
+                LocalDate.of(2022, 1, 12), LocalDate.of(2032, 1, 12), 123456789);
+        UserPassportDto userPassportDto = new UserPassportDto(1, "John", "Ken", "Male",
                 "15/01/1985", "American",
                 "12/01/2022", "12/01/2032", 123456789);
+        doAnswer(invocation -> {
+            Consumer<UserPassport> consumer = invocation.getArgument(0);
+            consumer.accept(userPassport);
+            return null;
+        }).when(userPassportService).exportAllInformation(any());
+        when(userPassportMapper.toDto(userPassport)).thenReturn(userPassportDto);
+
+        ResponseEntity<StreamingResponseBody> response = userPassportController.exportAllInformation();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertThat(outputStream.toString()).
+                startsWith("{\"id\":1,\"name\":\"John\"").
+                contains("\"passportNumber\":123456789").
+                endsWith("}\n");
+    }
+
+    @Test
+    public void getUserPassportCount() {
+        when(userPassportService.getUserPassportCount()).thenReturn(3L);
+
+        assertEquals(3L, userPassportController.getUserPassportCount(false));
+        verify(userPassportService, never()).getApproximateUserPassportCount();
+    }
+
+    @Test
+    public void getUserPassportCountApproximate() {
+        when(userPassportService.getApproximateUserPassportCount()).thenReturn(3000L);
+
+        assertEquals(3000L, userPassportController.getUserPassportCount(true));
+        verify(userPassportService, never()).getUserPassportCount();
+    }
+
+    @Test
+    public void getUserPassportCountEmpty() {
+        when(userPassportService.getUserPassportCount()).thenReturn(0L);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userPassportController.getUserPassportCount(false));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
+
+    @Test
+    public void getPassportInformationByNumber() {
+        UserPassport userPassport = new UserPassport(1, "John", "Ken", "Male",
+                LocalDate.of(1985, 1, 15), "American",
+                LocalDate.of(2022, 1, 12), LocalDate.of(2032, 1, 12), 123456789);
         UserPassportDto userPassportDto = new UserPassportDto(1, "John", "Ken", "Male",
                 "15/01/1985", "American",
                 "12/01/2022", "12/01/2032", 123456789);
@@ -84,7 +177,7 @@ class UserPassportControllerTest {
                 thenReturn(Optional.of(userPassport));
         when(userPassportMapper.toDto(userPassport)).thenReturn(userPassportDto);
 
-        UserPassportDto actualUserDto = userPassportController.getPassportInformationByNumber(123456789);
+        UserPassportDto actualUserDto = userPassportController.getPassportInformationByNumber(123456789, webRequest);
         assertEquals(userPassportDto, actualUserDto);
     }
 
@@ -93,23 +186,17 @@ class UserPassportControllerTest {
         when(userPassportService.getPassportInformationByNumber(123456789)).
                 thenReturn(Optional.empty());
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userPassportController.getPassportInformationByNumber(123456789));
+                userPassportController.getPassportInformationByNumber(123456789, webRequest));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
     @Test
     public void getPassportInformationByNationality() {
-        List<UserPassport> userPassports = new ArrayList<>();
-        userPassports.add(new UserPassport(1, "John", "Ken", "Male",
-                "15/01/1985", "American",
-                "12/01/2022", "12/01/2032", 123456789));
-        when(userPassportService.getPassportInformationByNationality("American")).thenReturn(userPassports);
-
         List<UserPassportDto> userPassportDto = new ArrayList<>();
         userPassportDto.add(new UserPassportDto(1, "John", "Ken", "Male",
                 "15/01/1985", "American",
                 "12/01/2022", "12/01/2032", 123456789));
-        when(userPassportMapper.toDto(userPassports.get(0))).thenReturn(userPassportDto.get(0));
+        when(userPassportService.getPassportInformationByNationality("American")).thenReturn(userPassportDto);
 
         List<UserPassportDto> response = userPassportController.getPassportInformationByNationality("American");
         assertEquals(userPassportDto, response);
@@ -129,6 +216,7 @@ class UserPassportControllerTest {
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
                 userPassportController.getPassportInformationByNationality(invalidNationality));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+        verify(userPassportService, never()).getPassportInformationByNationality(invalidNationality);
     }
 
     @Test
@@ -141,59 +229,81 @@ class UserPassportControllerTest {
 
     @Test
     public void getValidPassport() {
-        UserPassport expiredPassport = new UserPassport();
-        expiredPassport.setDateOfExpire("01.01.2020");
-
-        UserPassport validPassport = new UserPassport();
-        validPassport.setDateOfExpire("01.01.2024");
+        UserPassportDto validPassportDto = new UserPassportDto();
 
-        List<UserPassport> passports = new ArrayList<>();
-        passports.add(expiredPassport);
-        passports.add(validPassport);
+        when(userPassportService.getValidPassports(0, 100)).thenReturn(List.of(validPassportDto));
 
-        when(userPassportService.getAllInformation()).thenReturn(passports);
-
-        List<UserPassportDto> result = userPassportController.getValidPassport();
+        List<UserPassportDto> result = userPassportController.getValidPassport(0, 100);
 
         assertEquals(1, result.size());
-        assertEquals(userPassportMapper.toDto(validPassport), result.get(0));
+        assertEquals(validPassportDto, result.get(0));
+        verify(userPassportService, never()).getPassportsAfterId(any(), any());
     }
 
     @Test
     public void getValidPassportReturnsEmptyList() {
-        when(userPassportService.getAllInformation()).thenReturn(Collections.emptyList());
+        when(userPassportService.getValidPassports(0, 100)).thenReturn(Collections.emptyList());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userPassportController.getValidPassport());
+                userPassportController.getValidPassport(0, 100));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
     @Test
-    public void getExpiredPassport() {
-        UserPassport expiredPassport = new UserPassport();
-        expiredPassport.setDateOfExpire("01.01.2020");
+    public void getValidPassportInvalidPageSize() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userPassportController.getValidPassport(0, 0));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+        verifyNoInteractions(userPassportService);
+    }
 
-        UserPassport validPassport = new UserPassport();
-        validPassport.setDateOfExpire("01.01.2024");
+    @Test
+    public void getExpiringPassport() {
+        UserPassportDto expiringPassportDto = new UserPassportDto();
 
-        List<UserPassport> passports = new ArrayList<>();
+        when(userPassportService.getExpiringPassports(30, 0, 100)).thenReturn(List.of(expiringPassportDto));
 
-        passports.add(expiredPassport);
-        passports.add(validPassport);
+        List<UserPassportDto> result = userPassportController.getExpiringPassport(30, 0, 100);
 
-        when(userPassportService.getAllInformation()).thenReturn(passports);
+        assertEquals(1, result.size());
+        assertEquals(expiringPassportDto, result.get(0));
+    }
 
-        List<UserPassportDto> result = userPassportController.getExpiredPassport();
+    @Test
+    public void getExpiringPassportNotFound() {
+        when(userPassportService.getExpiringPassports(30, 0, 100)).thenReturn(Collections.emptyList());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userPassportController.getExpiringPassport(30, 0, 100));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
+
+    @Test
+    public void getExpiringPassportInvalidDays() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userPassportController.getExpiringPassport(-1, 0, 100));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+        verifyNoInteractions(userPassportService);
+    }
+
+    @Test
+    public void getExpiredPassport() {
+        UserPassportDto expiredPassportDto = new UserPassportDto();
+
+        when(userPassportService.getExpiredPassports(1, 50)).thenReturn(List.of(expiredPassportDto));
+
+        List<UserPassportDto> result = userPassportController.getExpiredPassport(1, 50);
 
         assertEquals(1, result.size());
-        assertEquals(userPassportMapper.toDto(expiredPassport), result.get(0));
+        assertEquals(expiredPassportDto, result.get(0));
+        verify(userPassportService, never()).getPassportsAfterId(any(), any());
     }
 
     @Test
     public void getExpiredPassportIsEmpty() {
-        when(userPassportService.getAllInformation()).thenReturn(Collections.emptyList());
+        when(userPassportService.getExpiredPassports(0, 100)).thenReturn(Collections.emptyList());
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userPassportController.getExpiredPassport());
+                userPassportController.getExpiredPassport(0, 100));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
@@ -203,8 +313,8 @@ class UserPassportControllerTest {
                 "15/01/1985", "American",
                 "12/01/2022", "12/01/2032", 123456789);
         UserPassport userPassport = new UserPassport(1, "John", "Ken", "Male",
-                "15/01/1985", "American",
-                "12/01/2022", "12/01/2032", 123456789);
+                LocalDate.of(1985, 1, 15), "American",
+                LocalDate.of(2022, 1, 12), LocalDate.of(2032, 1, 12), 123456789);
 
         when(userPassportMapper.toEntity(userPassportDto)).thenReturn(userPassport);
         when(userPassportService.save(userPassport)).thenReturn(userPassport);
@@ -322,26 +432,38 @@ class UserPassportControllerTest {
                 "15.01.1985", "American",
                 "12/01/2022", "12/01/2032", 123456789);
 
-        UserPassport userPassport = new UserPassport(1, "John", "Ken", "Male",
-                "15.01.1985", "American",
-                "12/01/2022", "12/01/2032", passportNumber);
-
         UserPassport userPassportUpdated = new UserPassport(1, "Denis", "Den", "Male",
-                "15.02.1985", "Ukrainian",
-                "12/02/2022", "12/02/2032", passportNumber);
+                LocalDate.of(1985, 2, 15), "Ukrainian",
+                LocalDate.of(2022, 2, 12), LocalDate.of(2032, 2, 12), passportNumber);
 
-        when(userPassportService.getPassportInformationByNumber(passportNumber))
-                .thenReturn(Optional.of(userPassport));
-        when(userPassportService.updateUserPassport(userPassport, userPassportDto))
-                .thenReturn(userPassportUpdated);
+        when(userPassportMapper.toEntity(userPassportDto)).thenReturn(userPassportUpdated);
+        when(userPassportService.updateUserPassport(passportNumber, userPassportUpdated, "*"))
+                .thenReturn(Optional.of(userPassportUpdated));
         when(userPassportMapper.toDto(userPassportUpdated)).thenReturn(userPassportDto);
 
         UserPassportDto updatedUserPassportDto = userPassportController.
-                updateUserPassport(passportNumber, userPassportDto);
+                updateUserPassport(passportNumber, userPassportDto, null, null, response);
 
         assertEquals(userPassportDto, updatedUserPassportDto);
     }
 
+    @Test
+    public void updateUserPassportPreconditionFailed() {
+        Integer passportNumber = 123456789;
+        UserPassportDto userPassportDto = new UserPassportDto(1, "John", "Ken", "Male",
+                "15.01.1985", "American",
+                "12/01/2022", "12/01/2032", 123456789);
+        UserPassport userPassportUpdated = new UserPassport();
+
+        when(userPassportMapper.toEntity(userPassportDto)).thenReturn(userPassportUpdated);
+        when(userPassportService.updateUserPassport(passportNumber, userPassportUpdated, "1.0"))
+                .thenThrow(new OptimisticLockingFailureException("User passport was modified"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                userPassportController.updateUserPassport(passportNumber, userPassportDto, "\"1.0\"", null, response));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
+    }
+
     @Test
     public void updateUserNotFound() {
         Integer passportNumber = 123456789;
@@ -349,10 +471,14 @@ class UserPassportControllerTest {
                 "15.01.1985", "American",
                 "12/01/2022", "12/01/2032", 123456789);
 
-        when(userPassportService.getPassportInformationByNumber(passportNumber)).thenReturn(Optional.empty());
+        UserPassport userPassportUpdated = new UserPassport();
+
+        when(userPassportMapper.toEntity(userPassportDto)).thenReturn(userPassportUpdated);
+        when(userPassportService.updateUserPassport(passportNumber, userPassportUpdated, "*"))
+                .thenReturn(Optional.empty());
 
         ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
-                userPassportController.updateUserPassport(passportNumber, userPassportDto));
+                userPassportController.updateUserPassport(passportNumber, userPassportDto, null, null, response));
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
     }
 
@@ -360,8 +486,8 @@ class UserPassportControllerTest {
     public void delete() {
         Integer passportNumber = 123456789;
         UserPassport userPassport = new UserPassport(1, "John", "Ken", "Male",
-                "15.01.1985", "American",
-                "12/01/2022", "12/01/2032", passportNumber);
+                LocalDate.of(1985, 1, 15), "American",
+                LocalDate.of(2022, 1, 12), LocalDate.of(2032, 1, 12), passportNumber);
 
         when(userPassportService.getPassportInformationByNumber(passportNumber)).
                 thenReturn(Optional.of(userPassport));
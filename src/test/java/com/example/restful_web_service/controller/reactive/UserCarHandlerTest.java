@@ -0,0 +1,119 @@
+package com.example.restful_web_service.controller.reactive;
+
+import com.example.restful_web_service.controller.dto.UserCarDto;
+import com.example.restful_web_service.controller.mapper.CursorMapper;
+import com.example.restful_web_service.controller.mapper.UserCarMapper;
+import com.example.restful_web_service.controller.validation.RequestValidator;
+import com.example.restful_web_service.entity.UserCar;
+import com.example.restful_web_service.repository.reactive.ReactiveUserCarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class UserCarHandlerTest {
+
+    private UserCarHandler userCarHandler;
+    @Mock
+    private ReactiveUserCarRepository userCarRepository;
+    @Mock
+    private UserCarMapper userCarMapper;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userCarHandler = new UserCarHandler(userCarRepository, userCarMapper, new CursorMapper(),
+                new RequestValidator());
+    }
+
+    @Test
+    public void getUserCarByVinCode() {
+        UserCar userCar = new UserCar(1, "John", "john@gmail.com",
+                "Toyota", 2000, "Corolla", "LM7657689723223");
+        when(userCarRepository.getUserCarByCarVinCode("LM7657689723223")).thenReturn(Mono.just(userCar));
+        when(userCarMapper.toDto(userCar)).thenReturn(new UserCarDto(1, "John", "john@gmail.com",
+                "Toyota", 2000, "Corolla", "LM7657689723223"));
+
+        ServerResponse response = userCarHandler.getUserCarByVinCode(MockServerRequest.builder().
+                pathVariable("vinCode", "LM7657689723223").build()).block();
+
+        assertEquals(HttpStatus.OK, response.statusCode());
+        verify(userCarMapper).toDto(userCar);
+    }
+
+    @Test
+    public void getUserCarByVinCodeNotFound() {
+        when(userCarRepository.getUserCarByCarVinCode("LM7657689723223")).thenReturn(Mono.empty());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userCarHandler.getUserCarByVinCode(MockServerRequest.builder().
+                        pathVariable("vinCode", "LM7657689723223").build()).block());
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    public void getUserCarByVinCodeInvalid() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userCarHandler.getUserCarByVinCode(MockServerRequest.builder().
+                        pathVariable("vinCode", "LM76'; drop").build()));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(userCarRepository);
+    }
+
+    @Test
+    public void getAllInformationUserCarNotFound() {
+        when(userCarRepository.findByIdGreaterThanOrderByIdAsc(0, 101)).thenReturn(Flux.empty());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userCarHandler.getAllInformationUserCar(MockServerRequest.builder().build()).block());
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+
+    @Test
+    public void getAllInformationUserCarInvalidCursor() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userCarHandler.getAllInformationUserCar(MockServerRequest.builder().
+                        queryParam("cursor", "not-a-cursor").build()));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(userCarRepository);
+    }
+
+    @Test
+    public void getUserCarByBrandCarAndModelNdjson() {
+        when(userCarRepository.getUserCarByBrandCarAndModel("Toyota", "Corolla")).thenReturn(Flux.empty());
+
+        ServerResponse response = userCarHandler.getUserCarByBrandCarAndModel(MockServerRequest.builder().
+                pathVariable("brandCar", "Toyota").
+                pathVariable("model", "Corolla").
+                header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE).build()).block();
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.headers().getContentType());
+    }
+
+    @Test
+    public void deleteUserCarInformationNotFound() {
+        when(userCarRepository.deleteByCarVinCode("LM7657689723223")).thenReturn(Mono.just(0L));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userCarHandler.deleteUserCarInformation(MockServerRequest.builder().
+                        pathVariable("vinCode", "LM7657689723223").build()).block());
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+    }
+}
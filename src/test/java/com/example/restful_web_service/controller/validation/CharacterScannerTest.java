@@ -0,0 +1,75 @@
+package com.example.restful_web_service.controller.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CharacterScannerTest {
+    private static final String ALPHABET = "aZ09 -_+.@/\t\nßЖ𝐀!";
+    private static final String NARROW_ALPHABET = "+09 a.@/";
+    private static final List<String> SAMPLES = List.of("", "John", "Jean-Luc", "john@gmail.com", "a@b", "@b", "a@",
+            "a@@b", "+0977035432", "+097 703 5432", "+ 0977035432", "+09  77035432", "+0977035432 ", "+123456",
+            "+1234567", "+123456789012345", "+1234567890123456", "Ford Focus", "Kyiv\n", "12/01/2032", "1/01/2032",
+            "Українець", "Ukrainian -", "WF0XXXGCDX", "snake_case");
+
+    @Test
+    public void stringScannersMatchRegex() {
+        assertSameAsRegex("[a-zA-Z\\-]+", CharacterScanner::isLettersOrHyphen);
+        assertSameAsRegex("[A-Za-z\\-\\s]*$", CharacterScanner::isLettersHyphenOrWhitespace);
+        assertSameAsRegex("^[A-Za-z0-9]+$", CharacterScanner::isAlphanumeric);
+        assertSameAsRegex("[a-zA-Z0-9_]+$", CharacterScanner::isWordCharacters);
+        assertSameAsRegex("^[a-zA-Z\\s]+$", CharacterScanner::isLettersOrWhitespace);
+        assertSameAsRegex("^[a-zA-Z0-9\\s]+$", CharacterScanner::isAlphanumericOrWhitespace);
+        assertSameAsRegex("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$", CharacterScanner::isEmail);
+        assertSameAsRegex("^\\+(?:[0-9] ?){6,14}[0-9]$", CharacterScanner::isPhone);
+        assertSameAsRegex("^[\\p{L} -]+$", CharacterScanner::isNationality);
+        assertSameAsRegex("\\d{2}/\\d{2}/\\d{4}", CharacterScanner::isDate);
+    }
+
+    @Test
+    public void integerScannersMatchRegex() {
+        assertSameAsRegex("[0-9]+", CharacterScanner::isNonNegative);
+        assertSameAsRegex("^\\d{4}$", CharacterScanner::isFourDigits);
+        assertSameAsRegex("\\d{9}", CharacterScanner::isNineDigits);
+    }
+
+    private void assertSameAsRegex(String regex, Predicate<String> scanner) {
+        for (String sample : SAMPLES) {
+            assertEquals(sample.matches(regex), scanner.test(sample), regex + " on '" + sample + "'");
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String sample = randomString(random);
+            assertEquals(sample.matches(regex), scanner.test(sample), regex + " on '" + sample + "'");
+        }
+    }
+
+    private void assertSameAsRegex(String regex, IntPredicate scanner) {
+        int[] samples = {Integer.MIN_VALUE, -1000, -1, 0, 1, 25, 119, 999, 1000, 2023, 9999, 10000, 99_999_999,
+                100_000_000, 123_456_789, 999_999_999, 1_000_000_000, Integer.MAX_VALUE};
+        for (int sample : samples) {
+            assertEquals(Integer.toString(sample).matches(regex), scanner.test(sample), regex + " on " + sample);
+        }
+    }
+
+    private String randomString(Random random) {
+        String alphabet = random.nextBoolean() ? ALPHABET : NARROW_ALPHABET;
+        StringBuilder builder = new StringBuilder(random.nextBoolean() ? "+" : "");
+        int length = random.nextInt(18);
+        for (int i = 0; i < length; i++) {
+            int index = random.nextInt(alphabet.length());
+            char c = alphabet.charAt(index);
+            if (Character.isHighSurrogate(c) && index + 1 < alphabet.length()) {
+                builder.append(c).append(alphabet.charAt(index + 1));
+            } else if (!Character.isLowSurrogate(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
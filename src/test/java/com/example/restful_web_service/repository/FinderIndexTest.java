@@ -0,0 +1,195 @@
+package com.example.restful_web_service.repository;
+
+import com.example.restful_web_service.config.CapturingStatementInspector;
+import com.example.restful_web_service.repository.specification.UserFilter;
+import com.example.restful_web_service.repository.specification.UserSortField;
+import com.example.restful_web_service.repository.specification.UserSpecifications;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that every repository finder is backed by an index created by the Flyway migrations. Each finder is
+ * called through its repository, the statement Hibernate generates for it is captured and explained with the same
+ * values bound, listed in placeholder order. Sequential scans are disabled for the transaction, so the planner
+ * falls back to one only when no usable index exists, whatever the size of the tables. Writes are rolled back.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.example.restful_web_service.config.CapturingStatementInspector")
+@Transactional
+class FinderIndexTest {
+    private static final LocalDate TODAY = LocalDate.of(2024, 1, 1);
+    private static final Pageable PAGE = PageRequest.of(0, 100, Sort.by("dateOfExpire", "id"));
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserCarRepository userCarRepository;
+    @Autowired
+    private UserHouseRepository userHouseRepository;
+    @Autowired
+    private UserPassportRepository userPassportRepository;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DataSourceUtils.getConnection(dataSource);
+        assumeTrue("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()),
+                "EXPLAIN plans are only checked against PostgreSQL");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("set local enable_seqscan = off");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+
+    static Stream<Arguments> finders() {
+        return Stream.of(
+                finder("UserSpecifications any of name, age, email, phone", test -> test.filterUsers(filter -> {
+                    filter.setName("John");
+                    filter.setAge(30);
+                    filter.setEmail("john@gmail.com");
+                    filter.setPhone("+380501234567");
+                }), "John", 30, "john@gmail.com", "+380501234567", 101),
+                finder("UserSpecifications.nameStartsWith", test -> test.filterUsers(filter ->
+                        filter.setNamePrefix("Jo")), "Jo%", 101),
+                finder("UserSpecifications.ageBetween sorted by age", test -> test.filterUsers(filter -> {
+                    filter.setMinAge(20);
+                    filter.setMaxAge(30);
+                    filter.setSortField(UserSortField.AGE);
+                }), 20, 30, 101),
+                finder("UserSpecifications.after name", test -> test.filterUsers(filter -> {
+                    filter.setSortField(UserSortField.NAME);
+                    filter.setAfterValue("John");
+                    filter.setAfterId(10);
+                }), "John", "John", 10, 101),
+                finder("UserSpecifications.after email descending", test -> test.filterUsers(filter -> {
+                    filter.setSortField(UserSortField.EMAIL);
+                    filter.setDirection(Sort.Direction.DESC);
+                    filter.setAfterValue("john@gmail.com");
+                    filter.setAfterId(10);
+                }), "john@gmail.com", "john@gmail.com", 10, 101),
+                finder("UserCarRepository.getUserCarByCarVinCode", test ->
+                        test.userCarRepository.getUserCarByCarVinCode("LM7657689723223"), "LM7657689723223"),
+                finder("UserCarRepository.findDtosByUserNameAndUserEmail", test ->
+                        test.userCarRepository.findDtosByUserNameAndUserEmail("John", "john@gmail.com"),
+                        "John", "john@gmail.com"),
+                finder("UserCarRepository.findDtosByBrandCarAndModel", test ->
+                        test.userCarRepository.findDtosByBrandCarAndModel("Toyota", "Corolla"), "Toyota", "Corolla"),
+                finder("UserCarRepository.getUserCarByGraduationYear", test ->
+                        test.userCarRepository.getUserCarByGraduationYear(1900), 1900),
+                finder("UserCarRepository.updateByCarVinCode", test ->
+                        test.userCarRepository.updateByCarVinCode("LM7657689723223", "John", "john@gmail.com",
+                                "Toyota", "Corolla", 2000, "*"),
+                        "John", "john@gmail.com", "Toyota", "Corolla", 2000, "LM7657689723223", "*", "*"),
+                finder("UserCarRepository.deleteByCarVinCode", test ->
+                        test.userCarRepository.deleteByCarVinCode("LM7657689723223"), "LM7657689723223"),
+                finder("UserHouseRepository.getUserHouseByHouseNumberAndFlatNumber", test ->
+                        test.userHouseRepository.getUserHouseByHouseNumberAndFlatNumber(10, 5), 10, 5),
+                finder("UserHouseRepository.updateByHouseNumberAndFlatNumber", test ->
+                        test.userHouseRepository.updateByHouseNumberAndFlatNumber(10, 5, "John", "+380501234567",
+                                "Ukraine", "Kyiv", "Khreshchatyk", 10, 5, "*"),
+                        "John", "+380501234567", "Ukraine", "Kyiv", "Khreshchatyk", 10, 5, 10, 5, "*", "*"),
+                finder("UserHouseRepository.deleteByHouseNumberAndFlatNumber", test ->
+                        test.userHouseRepository.deleteByHouseNumberAndFlatNumber(10, 5), 10, 5),
+                finder("UserHouseRepository.findDtosByTown", test ->
+                        test.userHouseRepository.findDtosByTown("Kyiv"), "Kyiv"),
+                finder("UserHouseRepository.findDtosByCountry", test ->
+                        test.userHouseRepository.findDtosByCountry("Ukraine"), "Ukraine"),
+                finder("UserPassportRepository.getUserPassportByPassportNumber", test ->
+                        test.userPassportRepository.getUserPassportByPassportNumber(123456789), 123456789),
+                finder("UserPassportRepository.findDtosByNationality", test ->
+                        test.userPassportRepository.findDtosByNationality("Ukrainian"), "Ukrainian"),
+                finder("UserPassportRepository.findValidDtos", test ->
+                        test.userPassportRepository.findValidDtos(PAGE), 0, 100),
+                finder("UserPassportRepository.findExpiredDtos", test ->
+                        test.userPassportRepository.findExpiredDtos(PAGE), 0, 100),
+                finder("UserPassportRepository.findExpiringDtos", test ->
+                        test.userPassportRepository.findExpiringDtos(TODAY.plusDays(30), PAGE),
+                        TODAY.plusDays(30), 0, 100),
+                finder("UserPassportRepository.markExpiredBefore", test ->
+                        test.userPassportRepository.markExpiredBefore(TODAY), TODAY));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finders")
+    void finderUsesIndex(String finder, Consumer<FinderIndexTest> call, Object[] parameters) throws SQLException {
+        CapturingStatementInspector.capture();
+        call.accept(this);
+        List<String> statements = CapturingStatementInspector.captured();
+
+        assertThat(statements).as(finder).hasSize(1);
+        String plan = explain(statements.get(0), parameters);
+        assertThat(plan).as(finder).doesNotContain("Seq Scan").containsIgnoringCase("Index");
+    }
+
+    /**
+     * Lookups PostgreSQL runs itself for the ON DELETE CASCADE foreign keys and their checks, so there is no
+     * application statement to capture.
+     */
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "user_car by owner | select * from user_car where user_car_id = 1",
+            "user_house by owner | select * from user_house where user_house_id = 1",
+            "users by passport | select * from users where user_passport_id = 1"
+    })
+    void foreignKeyUsesIndex(String lookup, String query) throws SQLException {
+        String plan = explain(query, new Object[0]);
+
+        assertThat(plan).as(lookup).doesNotContain("Seq Scan").containsIgnoringCase("Index");
+    }
+
+    private static Arguments finder(String name, Consumer<FinderIndexTest> call, Object... parameters) {
+        return Arguments.of(name, call, parameters);
+    }
+
+    private void filterUsers(Consumer<UserFilter> criteria) {
+        UserFilter filter = new UserFilter();
+        criteria.accept(filter);
+        userRepository.findAllDtos(UserSpecifications.matching(filter), UserSpecifications.sort(filter), 101);
+    }
+
+    private String explain(String query, Object[] parameters) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement("explain " + query)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.restful_web_service.service;
+
+import com.example.restful_web_service.repository.GroupCount;
+import com.example.restful_web_service.repository.UserCarRepository;
+import com.example.restful_web_service.repository.UserHouseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class GroupStatisticsTest {
+
+    private GroupStatistics groupStatistics;
+    @Mock
+    private UserHouseRepository userHouseRepository;
+    @Mock
+    private UserCarRepository userCarRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        groupStatistics = new GroupStatistics(userHouseRepository, userCarRepository);
+        when(userCarRepository.countByBrandCar()).thenReturn(List.of(count("Toyota", 2L), count("BMW", 1L)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void loadsOnceThenAppliesIncrementsAfterCommit() {
+        assertEquals(Map.of("Toyota", 2L, "BMW", 1L), groupStatistics.get(GroupStatistics.Group.CAR_BRAND));
+        TransactionSynchronizationManager.initSynchronization();
+
+        groupStatistics.increment(GroupStatistics.Group.CAR_BRAND, "BMW");
+        assertEquals(1L, groupStatistics.get(GroupStatistics.Group.CAR_BRAND).get("BMW"));
+
+        commit();
+        assertEquals(2L, groupStatistics.get(GroupStatistics.Group.CAR_BRAND).get("BMW"));
+        verify(userCarRepository, times(1)).countByBrandCar();
+    }
+
+    @Test
+    public void dropsIncrementThatRacedALoad() {
+        TransactionSynchronizationManager.initSynchronization();
+        groupStatistics.increment(GroupStatistics.Group.CAR_BRAND, "Toyota");
+        when(userCarRepository.countByBrandCar()).thenReturn(List.of(count("Toyota", 3L), count("BMW", 1L)));
+        groupStatistics.get(GroupStatistics.Group.CAR_BRAND);
+
+        commit();
+
+        assertEquals(3L, groupStatistics.get(GroupStatistics.Group.CAR_BRAND).get("Toyota"));
+        verify(userCarRepository, times(2)).countByBrandCar();
+    }
+
+    @Test
+    public void doesNotPublishLoadInvalidatedWhileRunning() {
+        when(userCarRepository.countByBrandCar()).thenAnswer(invocation -> {
+            groupStatistics.invalidate(GroupStatistics.Group.CAR_BRAND);
+            return List.of(count("Toyota", 2L));
+        });
+
+        assertEquals(Map.of("Toyota", 2L), groupStatistics.get(GroupStatistics.Group.CAR_BRAND));
+        groupStatistics.get(GroupStatistics.Group.CAR_BRAND);
+
+        verify(userCarRepository, times(2)).countByBrandCar();
+    }
+
+    @Test
+    public void reloadDropsLoadedStatistics() {
+        groupStatistics.get(GroupStatistics.Group.CAR_BRAND);
+
+        groupStatistics.reload();
+        groupStatistics.get(GroupStatistics.Group.CAR_BRAND);
+
+        verify(userCarRepository, times(2)).countByBrandCar();
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static GroupCount count(String name, Long total) {
+        return new GroupCount() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
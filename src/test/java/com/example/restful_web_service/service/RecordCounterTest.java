@@ -0,0 +1,77 @@
+package com.example.restful_web_service.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RecordCounterTest {
+
+    private RecordCounter recordCounter;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        recordCounter = new RecordCounter(jdbcTemplate);
+        when(jdbcTemplate.queryForObject("select count(*) from users", Long.class)).thenReturn(10L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void countsOnceThenServesFromMemory() {
+        assertEquals(10L, recordCounter.get(RecordCounter.Table.USERS));
+        recordCounter.add(RecordCounter.Table.USERS, 2);
+        recordCounter.add(RecordCounter.Table.USERS, -1);
+
+        assertEquals(11L, recordCounter.get(RecordCounter.Table.USERS));
+        verify(jdbcTemplate, times(1)).queryForObject("select count(*) from users", Long.class);
+    }
+
+    @Test
+    public void appliesChangesOnlyAfterCommit() {
+        recordCounter.get(RecordCounter.Table.USERS);
+        TransactionSynchronizationManager.initSynchronization();
+
+        recordCounter.add(RecordCounter.Table.USERS, 5);
+        assertEquals(10L, recordCounter.get(RecordCounter.Table.USERS));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(15L, recordCounter.get(RecordCounter.Table.USERS));
+    }
+
+    @Test
+    public void reconcileResetsToDatabaseCount() {
+        recordCounter.get(RecordCounter.Table.USERS);
+        recordCounter.add(RecordCounter.Table.USERS, 7);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(12L);
+
+        recordCounter.reconcile();
+
+        assertEquals(12L, recordCounter.get(RecordCounter.Table.USERS));
+    }
+
+    @Test
+    public void approximateFallsBackToExactCountWhenNeverAnalyzed() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(Object[].class))).thenReturn(-1L);
+
+        assertEquals(10L, recordCounter.getApproximate(RecordCounter.Table.USERS));
+    }
+}
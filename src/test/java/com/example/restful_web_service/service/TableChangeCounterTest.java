@@ -0,0 +1,63 @@
+package com.example.restful_web_service.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the change-log triggers against the migrated schema. Writes are rolled back.
+ */
+@SpringBootTest
+@Transactional
+class TableChangeCounterTest {
+
+    @Autowired
+    private TableChangeCounter tableChangeCounter;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void countsEveryStatementThatChangedRows() {
+        Map<RecordCounter.Table, Long> before = tableChangeCounter.getVersions();
+
+        jdbcTemplate.update("insert into users (age, email, name, phone) values " +
+                "(30, 'change.log.1@example.com', 'Change Log', '+70000000001'), " +
+                "(31, 'change.log.2@example.com', 'Change Log', '+70000000002')");
+        jdbcTemplate.update("update users set age = age + 1 where email like 'change.log.%'");
+        jdbcTemplate.update("delete from users where email = 'change.log.1@example.com'");
+        Map<RecordCounter.Table, Long> after = tableChangeCounter.getVersions();
+
+        assertEquals(before.get(RecordCounter.Table.USERS) + 3, after.get(RecordCounter.Table.USERS));
+        assertEquals(before.get(RecordCounter.Table.USER_CAR), after.get(RecordCounter.Table.USER_CAR));
+    }
+
+    @Test
+    public void ignoresStatementsThatChangedNothing() {
+        Map<RecordCounter.Table, Long> before = tableChangeCounter.getVersions();
+
+        jdbcTemplate.update("update users set age = age where id = -1");
+        jdbcTemplate.update("delete from user_car where id = -1");
+
+        assertEquals(before, tableChangeCounter.getVersions());
+    }
+
+    @Test
+    public void compactionKeepsTheVersions() {
+        jdbcTemplate.update("delete from user_house where id = (select max(id) from user_house)");
+        jdbcTemplate.update("insert into user_passport (date_of_birth, date_of_issue, name, nationality, " +
+                "passport_number, sex, surname) values ('2000-01-01', '2020-01-01', 'Change', 'RU', 999999999, " +
+                "'MALE', 'Log')");
+        Map<RecordCounter.Table, Long> before = tableChangeCounter.getVersions();
+
+        tableChangeCounter.compact();
+
+        assertEquals(before, tableChangeCounter.getVersions());
+        assertEquals(0L, jdbcTemplate.queryForObject("select count(*) from table_change_log", Long.class));
+    }
+}